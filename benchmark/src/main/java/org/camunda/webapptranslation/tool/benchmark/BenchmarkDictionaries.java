@@ -0,0 +1,126 @@
+package org.camunda.webapptranslation.tool.benchmark;
+
+/* -------------------------------------------------------------------- */
+/*                                                                      */
+/* Benchmark dictionaries                                               */
+/*                                                                      */
+/* Build dictionaries close to the webapps ones: keys are grouped in    */
+/* sections (labels.BUTTON_SAVE), values are short sentences and many   */
+/* sentences are shared between keys and between applications. Some    */
+/* values are numbers or lists of strings (monthsShort).                */
+/* The content only depends on the seed: every run gets the same data.  */
+/*                                                                      */
+/* -------------------------------------------------------------------- */
+
+import org.camunda.webapptranslation.tool.app.AppDictionary;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+public class BenchmarkDictionaries {
+
+    private static final String[] WORDS = {"the", "process", "instance", "task", "user", "group", "deployment", "definition",
+            "variable", "incident", "job", "filter", "save", "cancel", "delete", "open", "close", "select", "all", "none",
+            "date", "time", "name", "value", "type", "error", "success", "warning", "failed", "running", "suspended",
+            "activity", "decision", "case", "batch", "tenant", "authorization", "resource", "permission", "is", "was",
+            "could", "not", "be", "loaded", "updated", "created", "of", "for", "with"};
+    private static final String[] SECTIONS = {"labels", "actions", "messages", "dialogs", "errors", "filters", "tooltips", "tables"};
+    private static final String[] MONTHS = {"Jan", "Feb", "Mar", "Apr", "May", "Jun", "Jul", "Aug", "Sep", "Oct", "Nov", "Dec"};
+
+    /**
+     * A quarter of the sentences are shared between keys
+     */
+    private static final int SENTENCES_PER_KEY = 4;
+
+    private final Random random;
+    private final List<String> listSentences = new ArrayList<>();
+
+    /**
+     * @param seed   seed of the random generator
+     * @param nbKeys number of keys of the reference dictionary
+     */
+    public BenchmarkDictionaries(long seed, int nbKeys) {
+        this.random = new Random(seed);
+        int nbSentences = Math.max(1, nbKeys / SENTENCES_PER_KEY);
+        for (int i = 0; i < nbSentences; i++)
+            listSentences.add(getSentence());
+    }
+
+    /**
+     * Build a reference dictionary. The same application index always returns the same keys. Short keys
+     * (SAVE_PROCESS in labels.SAVE_PROCESS) are drawn from a pool shared by all applications, like in the webapps.
+     *
+     * @param folder           folder of the dictionary
+     * @param language         language of the dictionary
+     * @param applicationIndex index of the application, used to build the keys
+     * @param nbKeys           number of keys
+     * @return the dictionary
+     */
+    public AppDictionary getReferenceDictionary(File folder, String language, int applicationIndex, int nbKeys) {
+        Random keyRandom = new Random(applicationIndex);
+        AppDictionary dictionary = new AppDictionary(folder, language);
+        for (int i = 0; i < nbKeys; i++) {
+            String key;
+            do {
+                key = getKey(keyRandom, nbKeys);
+            } while (dictionary.exist(key));
+            int kind = keyRandom.nextInt(100);
+            if (kind < 3)
+                dictionary.addKey(key, (long) keyRandom.nextInt(1000));
+            else if (kind < 5)
+                dictionary.addKey(key, Arrays.asList(MONTHS));
+            else
+                dictionary.addKey(key, listSentences.get(keyRandom.nextInt(listSentences.size())));
+        }
+        return dictionary;
+    }
+
+    /**
+     * Build a translation of the reference dictionary: all values are translated, and some keys are missing.
+     *
+     * @param reference      the reference dictionary
+     * @param folder         folder of the dictionary
+     * @param language       language of the translation
+     * @param missingPercent percentage of the reference keys which are not translated
+     * @return the dictionary
+     */
+    public AppDictionary getTranslation(AppDictionary reference, File folder, String language, int missingPercent) {
+        AppDictionary dictionary = new AppDictionary(folder, language);
+        reference.getDictionary().forEach((key, value) -> {
+            if (random.nextInt(100) < missingPercent)
+                return;
+            dictionary.addKey(key, value instanceof String ? "[" + language + "] " + value : value);
+        });
+        return dictionary;
+    }
+
+    private String getKey(Random keyRandom, int nbShortKeys) {
+        StringBuilder key = new StringBuilder();
+        key.append(SECTIONS[keyRandom.nextInt(SECTIONS.length)]).append('.');
+        // a third of the keys are in a sub-section
+        if (keyRandom.nextInt(3) == 0)
+            key.append(WORDS[keyRandom.nextInt(WORDS.length)]).append('.');
+        int shortKey = keyRandom.nextInt(nbShortKeys);
+        key.append(WORDS[shortKey % WORDS.length].toUpperCase())
+                .append('_')
+                .append(WORDS[(shortKey / WORDS.length) % WORDS.length].toUpperCase());
+        if (shortKey >= WORDS.length * WORDS.length)
+            key.append('_').append(shortKey / (WORDS.length * WORDS.length));
+        return key.toString();
+    }
+
+    private String getSentence() {
+        int nbWords = 1 + random.nextInt(12);
+        StringBuilder sentence = new StringBuilder();
+        for (int i = 0; i < nbWords; i++) {
+            if (i > 0)
+                sentence.append(' ');
+            sentence.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        sentence.setCharAt(0, Character.toUpperCase(sentence.charAt(0)));
+        return sentence.toString();
+    }
+}
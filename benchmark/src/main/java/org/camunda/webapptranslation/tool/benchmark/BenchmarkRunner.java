@@ -0,0 +1,34 @@
+package org.camunda.webapptranslation.tool.benchmark;
+
+/* -------------------------------------------------------------------- */
+/*                                                                      */
+/* Benchmark runner                                                     */
+/*                                                                      */
+/* Run the benchmarks with the GC profiler: each result comes with the  */
+/* allocation rate and the bytes allocated per operation.              */
+/* Arguments are the JMH ones:                                          */
+/*   java -jar target/benchmarks.jar Encyclopedia -p nbKeys=1000        */
+/*                                                                      */
+/* -------------------------------------------------------------------- */
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+        OptionsBuilder optionsBuilder = new OptionsBuilder();
+        optionsBuilder.parent(commandLineOptions);
+        // without any include, all benchmarks of this module run
+        if (commandLineOptions.getIncludes().isEmpty())
+            optionsBuilder.include(BenchmarkRunner.class.getPackage().getName() + ".*");
+        Options options = optionsBuilder.addProfiler(GCProfiler.class).build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,68 @@
+package org.camunda.webapptranslation.tool.benchmark;
+
+/* -------------------------------------------------------------------- */
+/*                                                                      */
+/* Compare a dictionary to its reference                                */
+/*                                                                      */
+/* -------------------------------------------------------------------- */
+
+import org.camunda.webapptranslation.tool.app.AppDictionary;
+import org.camunda.webapptranslation.tool.operation.Operation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CheckKeysBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int nbKeys;
+
+    /**
+     * Percentage of the reference keys missing in the translation
+     */
+    @Param({"10"})
+    public int missingPercent;
+
+    private AppDictionary referenceDictionary;
+    private AppDictionary dictionary;
+    private final CheckKeysOperation operation = new CheckKeysOperation();
+
+    @Setup
+    public void setup() {
+        File folder = new File(".");
+        BenchmarkDictionaries benchmarkDictionaries = new BenchmarkDictionaries(1, nbKeys);
+        referenceDictionary = benchmarkDictionaries.getReferenceDictionary(folder, "en", 0, nbKeys);
+        dictionary = benchmarkDictionaries.getTranslation(referenceDictionary, folder, "fr", missingPercent);
+    }
+
+    @Benchmark
+    public Operation.DictionaryStatus checkKeys() {
+        return operation.check(dictionary, referenceDictionary);
+    }
+
+    /**
+     * checkKeys() is reserved to operations
+     */
+    private static class CheckKeysOperation extends Operation {
+        private DictionaryStatus check(AppDictionary dictionary, AppDictionary referenceDictionary) {
+            return checkKeys(dictionary, referenceDictionary);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package org.camunda.webapptranslation.tool.benchmark;
+
+/* -------------------------------------------------------------------- */
+/*                                                                      */
+/* Read / write a dictionary file                                       */
+/*                                                                      */
+/* -------------------------------------------------------------------- */
+
+import org.camunda.webapptranslation.tool.app.AppDictionary;
+import org.camunda.webapptranslation.tool.app.AppDictionarySerialize;
+import org.camunda.webapptranslation.tool.report.ReportBuffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DictionarySerializeBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int nbKeys;
+
+    private Path workFolder;
+    private ByteBuffer content;
+    private AppDictionary dictionaryToWrite;
+    private final ReportBuffer report = new ReportBuffer();
+
+    @Setup
+    public void setup() throws IOException {
+        workFolder = Files.createTempDirectory("benchmark-serialize");
+        File readFolder = Files.createDirectory(workFolder.resolve("read")).toFile();
+        File writeFolder = Files.createDirectory(workFolder.resolve("write")).toFile();
+
+        BenchmarkDictionaries benchmarkDictionaries = new BenchmarkDictionaries(1, nbKeys);
+        AppDictionary reference = benchmarkDictionaries.getReferenceDictionary(readFolder, "en", 0, nbKeys);
+        if (!reference.write(report))
+            throw new IllegalStateException("Can't write the dictionary in [" + readFolder + "]");
+        content = AppDictionarySerialize.readContent(reference.getFile());
+        dictionaryToWrite = benchmarkDictionaries.getReferenceDictionary(writeFolder, "en", 0, nbKeys);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(workFolder)) {
+            paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    /**
+     * Parse the content of the file: the file is already in memory
+     */
+    @Benchmark
+    public AppDictionary read() {
+        AppDictionary dictionary = new AppDictionary(workFolder.toFile(), "en");
+        dictionary.read(content.duplicate(), report);
+        return dictionary;
+    }
+
+    /**
+     * Write the dictionary, as the completion does: the previous file is renamed in a backup file
+     */
+    @Benchmark
+    public boolean write() {
+        return dictionaryToWrite.write(report);
+    }
+}
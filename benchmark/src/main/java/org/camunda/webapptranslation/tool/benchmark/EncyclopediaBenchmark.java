@@ -0,0 +1,87 @@
+package org.camunda.webapptranslation.tool.benchmark;
+
+/* -------------------------------------------------------------------- */
+/*                                                                      */
+/* Build the encyclopedia of a language, and search in it               */
+/*                                                                      */
+/* -------------------------------------------------------------------- */
+
+import org.camunda.webapptranslation.tool.app.AppDictionary;
+import org.camunda.webapptranslation.tool.operation.Encyclopedia;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EncyclopediaBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int nbKeys;
+
+    /**
+     * Number of applications (cockpit, admin, tasklist...) registered in the encyclopedia
+     */
+    @Param({"8"})
+    public int nbApplications;
+
+    private final List<AppDictionary> listDictionaries = new ArrayList<>();
+    private final List<String> listKeys = new ArrayList<>();
+    private Encyclopedia encyclopedia;
+
+    @Setup
+    public void setup() {
+        File folder = new File(".");
+        BenchmarkDictionaries benchmarkDictionaries = new BenchmarkDictionaries(1, nbKeys);
+        for (int i = 0; i < nbApplications; i++) {
+            AppDictionary reference = benchmarkDictionaries.getReferenceDictionary(folder, "en", i, nbKeys);
+            listDictionaries.add(benchmarkDictionaries.getTranslation(reference, folder, "fr", 10));
+            if (i == 0)
+                listKeys.addAll(reference.getDictionary().keySet());
+        }
+        encyclopedia = registerAll();
+    }
+
+    /**
+     * Register all dictionaries of the language, then freeze the encyclopedia
+     */
+    @Benchmark
+    public Encyclopedia registerDictionary() {
+        return registerAll();
+    }
+
+    /**
+     * Search the translations of all keys of one application
+     */
+    @Benchmark
+    public void getTranslationsByKey(Blackhole blackhole) {
+        for (String key : listKeys)
+            blackhole.consume(encyclopedia.getTranslationsByKey(key));
+    }
+
+    private Encyclopedia registerAll() {
+        Encyclopedia result = new Encyclopedia("fr");
+        for (AppDictionary dictionary : listDictionaries)
+            result.registerDictionary(dictionary);
+        result.freeze();
+        return result;
+    }
+}
@@ -0,0 +1,97 @@
+package org.camunda.webapptranslation.tool.benchmark;
+
+/* -------------------------------------------------------------------- */
+/*                                                                      */
+/* Translate all missing keys of a dictionary with Google Translate,    */
+/* against the FakeTranslateServer started in process: no network and   */
+/* no API key are needed. The latency and the throttling of the server  */
+/* measure the pipeline, not the service.                               */
+/*                                                                      */
+/* -------------------------------------------------------------------- */
+
+import org.camunda.webapptranslation.tool.app.AppDictionary;
+import org.camunda.webapptranslation.tool.generator.FakeTranslateServer;
+import org.camunda.webapptranslation.tool.generator.TranslateServerParams;
+import org.camunda.webapptranslation.tool.operation.ProposalGoogleTranslate;
+import org.camunda.webapptranslation.tool.report.ReportBuffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GoogleTranslateBenchmark {
+
+    @Param({"1000"})
+    public int nbKeys;
+
+    /**
+     * Mean latency of the server, in milliseconds
+     */
+    @Param({"0", "50"})
+    public int latencyMs;
+
+    /**
+     * Percentage of the requests throttled by the server
+     */
+    @Param({"0", "10"})
+    public int throttleRatio;
+
+    @Param({"1", "4"})
+    public int maxInFlight;
+
+    private final ReportBuffer report = new ReportBuffer();
+    private final List<String> listKeys = new ArrayList<>();
+    private FakeTranslateServer server;
+    private ProposalGoogleTranslate proposalGoogleTranslate;
+    private AppDictionary referenceDictionary;
+    private AppDictionary dictionary;
+
+    @Setup
+    public void setup() {
+        File folder = new File(".");
+        server = new FakeTranslateServer(new TranslateServerParams()
+                .set(0, latencyMs, TranslateServerParams.LATENCY.EXPONENTIAL, 0, throttleRatio, 0, 1));
+        if (!server.start(report))
+            throw new IllegalStateException("Can't start the FakeTranslateServer");
+
+        BenchmarkDictionaries benchmarkDictionaries = new BenchmarkDictionaries(1, nbKeys);
+        referenceDictionary = benchmarkDictionaries.getReferenceDictionary(folder, "en", 0, nbKeys);
+        dictionary = new AppDictionary(folder, "fr");
+        listKeys.addAll(referenceDictionary.getDictionary().keySet());
+
+        // no limit: each invocation translates all sentences again
+        proposalGoogleTranslate = new ProposalGoogleTranslate("BENCHMARK", Integer.MAX_VALUE / 2, null, maxInFlight, 10, server.getHost(), null);
+        proposalGoogleTranslate.begin(report);
+    }
+
+    @TearDown
+    public void tearDown() {
+        proposalGoogleTranslate.end(report);
+        server.stop();
+    }
+
+    @Benchmark
+    public void translateDictionary(Blackhole blackhole) {
+        blackhole.consume(proposalGoogleTranslate.calculatePropositions(listKeys, dictionary, referenceDictionary, null, report));
+    }
+}
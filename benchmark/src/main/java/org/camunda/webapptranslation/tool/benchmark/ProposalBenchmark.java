@@ -0,0 +1,90 @@
+package org.camunda.webapptranslation.tool.benchmark;
+
+/* -------------------------------------------------------------------- */
+/*                                                                      */
+/* Calculate the propositions for all missing keys of a dictionary      */
+/*                                                                      */
+/* -------------------------------------------------------------------- */
+
+import org.camunda.webapptranslation.tool.app.AppDictionary;
+import org.camunda.webapptranslation.tool.operation.EncyclopediaUniversal;
+import org.camunda.webapptranslation.tool.operation.Proposal;
+import org.camunda.webapptranslation.tool.operation.ProposalSameKey;
+import org.camunda.webapptranslation.tool.operation.ProposalSameTranslation;
+import org.camunda.webapptranslation.tool.report.ReportBuffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProposalBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int nbKeys;
+
+    @Param({"8"})
+    public int nbApplications;
+
+    private final ReportBuffer report = new ReportBuffer();
+    private final Proposal proposalSameKey = new ProposalSameKey();
+    private final Proposal proposalSameTranslation = new ProposalSameTranslation();
+    private final List<String> listMissingKeys = new ArrayList<>();
+    private EncyclopediaUniversal encyclopediaUniversal;
+    private AppDictionary referenceDictionary;
+    private AppDictionary dictionary;
+
+    @Setup
+    public void setup() {
+        File folder = new File(".");
+        BenchmarkDictionaries benchmarkDictionaries = new BenchmarkDictionaries(1, nbKeys);
+        encyclopediaUniversal = new EncyclopediaUniversal("en");
+        for (int i = 0; i < nbApplications; i++) {
+            AppDictionary reference = benchmarkDictionaries.getReferenceDictionary(folder, "en", i, nbKeys);
+            AppDictionary translation = benchmarkDictionaries.getTranslation(reference, folder, "fr", 10);
+            encyclopediaUniversal.registerDictionary(reference);
+            encyclopediaUniversal.registerDictionary(translation);
+            if (i == 0) {
+                referenceDictionary = reference;
+                dictionary = translation;
+            }
+        }
+        encyclopediaUniversal.freeze();
+        for (String key : referenceDictionary.getDictionary().keySet()) {
+            if (!dictionary.exist(key))
+                listMissingKeys.add(key);
+        }
+        proposalSameKey.begin(report);
+        proposalSameTranslation.begin(report);
+    }
+
+    @Benchmark
+    public void sameKey(Blackhole blackhole) {
+        for (String key : listMissingKeys)
+            blackhole.consume(proposalSameKey.calculateProposition(key, dictionary, referenceDictionary, encyclopediaUniversal, report));
+    }
+
+    @Benchmark
+    public void sameTranslation(Blackhole blackhole) {
+        for (String key : listMissingKeys)
+            blackhole.consume(proposalSameTranslation.calculateProposition(key, dictionary, referenceDictionary, encyclopediaUniversal, report));
+    }
+}
@@ -24,6 +24,53 @@ public class SynchroParams {
     private REPORT report = REPORT.STDOUT;
     private String googleAPIKey;
     private int limitNumberGoogleTranslation = 100;
+    /**
+     * If not null, machine translations are kept in this file from one run to the next
+     */
+    private File translationMemoryFile = null;
+    private int translationMemorySize = 100000;
+    /**
+     * Requests to Google sent at the same time, and retries of a request on a quota or transient error
+     */
+    private int googleMaxInFlight = 4;
+    private int googleMaxRetries = 3;
+    /**
+     * When the limit is reached, these languages are translated first, the first one is the most important
+     */
+    private List<String> languagePriority = new ArrayList<>();
+    /**
+     * If not null, translation requests go to this host instead of Google
+     */
+    private String googleHost = null;
+    /**
+     * If not null, parsed dictionaries are saved in this file, and reused on the next run when files did not change
+     */
+    private File snapshotFile = null;
+    /**
+     * If not null, incremental mode: the manifest of the previous run is in this file
+     */
+    private File incrementalManifestFile = null;
+    /**
+     * Number of threads used for the detection and the completion. 0 means one thread per processor
+     */
+    private int parallelism = 1;
+    /**
+     * If not null, metrics of the run are written in this file
+     */
+    private File metricsFile = null;
+    private METRICS_FORMAT metricsFormat = METRICS_FORMAT.JSON;
+    /**
+     * If not null, the coverage of each (application, language) is written in this file at the end of the detection
+     */
+    private File coverageFile = null;
+    /**
+     * Time slot of the run, in milliseconds. 0 is no deadline.
+     */
+    private long deadlineMs = 0;
+    /**
+     * If not null, decisions of the completion are journaled in this file, to resume an interrupted run
+     */
+    private File journalFile = null;
 
     /**
      * Static to be use in lambda
@@ -72,6 +119,79 @@ public class SynchroParams {
 
                 }
                 i += 2;
+            } else if (("--translationMemory".equals(args[i])) && i < args.length - 1) {
+                translationMemoryFile = new File(args[i + 1]);
+                i += 2;
+            } else if (("--translationMemorySize".equals(args[i])) && i < args.length - 1) {
+                try {
+                    translationMemorySize = Integer.parseInt(args[i + 1]);
+                } catch (Exception e) {
+                    print("--translationMemorySize <number>");
+                }
+                // an empty memory evicts every translation, and close() writes it: the file would be wiped
+                if (translationMemorySize < 1)
+                    msgErrors.add("--translationMemorySize <number> expected, at least 1, [" + args[i + 1] + "] found");
+                i += 2;
+            } else if (("--languagePriority".equals(args[i])) && i < args.length - 1) {
+                languagePriority = new ArrayList<>();
+                for (String language : args[i + 1].split(",")) {
+                    if (!language.isBlank())
+                        languagePriority.add(language.trim());
+                }
+                i += 2;
+            } else if (("--googleHost".equals(args[i])) && i < args.length - 1) {
+                googleHost = args[i + 1];
+                i += 2;
+            } else if (("--googleMaxInFlight".equals(args[i])) && i < args.length - 1) {
+                try {
+                    googleMaxInFlight = Integer.parseInt(args[i + 1]);
+                } catch (Exception e) {
+                    print("--googleMaxInFlight <number>");
+                }
+                i += 2;
+            } else if (("--googleMaxRetries".equals(args[i])) && i < args.length - 1) {
+                try {
+                    googleMaxRetries = Integer.parseInt(args[i + 1]);
+                } catch (Exception e) {
+                    print("--googleMaxRetries <number>");
+                }
+                i += 2;
+            } else if (("--journal".equals(args[i])) && i < args.length - 1) {
+                journalFile = new File(args[i + 1]);
+                i += 2;
+            } else if (("--snapshot".equals(args[i])) && i < args.length - 1) {
+                snapshotFile = new File(args[i + 1]);
+                i += 2;
+            } else if (("--incremental".equals(args[i])) && i < args.length - 1) {
+                incrementalManifestFile = new File(args[i + 1]);
+                i += 2;
+            } else if (("--parallelism".equals(args[i])) && i < args.length - 1) {
+                try {
+                    parallelism = Integer.parseInt(args[i + 1]);
+                    if (parallelism <= 0)
+                        parallelism = Runtime.getRuntime().availableProcessors();
+                } catch (Exception e) {
+                    print("--parallelism <number>");
+                }
+                i += 2;
+            } else if (("--metrics-out".equals(args[i])) && i < args.length - 1) {
+                metricsFile = new File(args[i + 1]);
+                i += 2;
+            } else if (("--metrics-format".equals(args[i])) && i < args.length - 1) {
+                try {
+                    metricsFormat = METRICS_FORMAT.valueOf(args[i + 1]);
+                } catch (Exception e) {
+                    print("--metrics-format <" + METRICS_FORMAT.JSON + "|" + METRICS_FORMAT.PROMETHEUS + "> accepted");
+                }
+                i += 2;
+            } else if (("--coverage-out".equals(args[i])) && i < args.length - 1) {
+                coverageFile = new File(args[i + 1]);
+                i += 2;
+            } else if (("--deadline".equals(args[i])) && i < args.length - 1) {
+                deadlineMs = getDurationMs(args[i + 1]);
+                if (deadlineMs <= 0)
+                    msgErrors.add("--deadline <duration> expected, like 90s, 45m or 2h, [" + args[i + 1] + "] found");
+                i += 2;
             } else if ("-u".equals(args[i]) || "--usage".equals(args[i])) {
                 usage = true;
                 i++;
@@ -163,6 +283,62 @@ public class SynchroParams {
         return limitNumberGoogleTranslation;
     }
 
+    public File getTranslationMemoryFile() {
+        return translationMemoryFile;
+    }
+
+    public int getTranslationMemorySize() {
+        return translationMemorySize;
+    }
+
+    public int getGoogleMaxInFlight() {
+        return googleMaxInFlight;
+    }
+
+    public int getGoogleMaxRetries() {
+        return googleMaxRetries;
+    }
+
+    public String getGoogleHost() {
+        return googleHost;
+    }
+
+    public List<String> getLanguagePriority() {
+        return languagePriority;
+    }
+
+    public File getSnapshotFile() {
+        return snapshotFile;
+    }
+
+    public File getIncrementalManifestFile() {
+        return incrementalManifestFile;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public File getMetricsFile() {
+        return metricsFile;
+    }
+
+    public METRICS_FORMAT getMetricsFormat() {
+        return metricsFormat;
+    }
+
+    public File getCoverageFile() {
+        return coverageFile;
+    }
+
+    public long getDeadlineMs() {
+        return deadlineMs;
+    }
+
+    public File getJournalFile() {
+        return journalFile;
+    }
+
     /**
      * print the current options detected
      */
@@ -176,9 +352,30 @@ public class SynchroParams {
         if (getGoogleAPIKey() != null) {
             print(" GoogleAPIKey: " + getGoogleAPIKey());
             print(" Maximum number of Google  translation: " + getLimitNumberGoogleTranslation());
+            if (getTranslationMemoryFile() != null)
+                print(" Translation memory: " + getTranslationMemoryFile() + " (maximum " + getTranslationMemorySize() + " translations)");
+            if (getGoogleHost() != null)
+                print(" Google host: " + getGoogleHost());
+            print(" Google requests in flight: " + getGoogleMaxInFlight() + ", retries: " + getGoogleMaxRetries());
+            if (!getLanguagePriority().isEmpty())
+                print(" Language priority: " + String.join(",", getLanguagePriority()));
         }
         if (getOnlyCompleteOneLanguage() != null)
             print(" Only one language: " + getOnlyCompleteOneLanguage());
+        if (getJournalFile() != null)
+            print(" Completion journal: " + getJournalFile());
+        if (getSnapshotFile() != null)
+            print(" Snapshot: " + getSnapshotFile());
+        if (getIncrementalManifestFile() != null)
+            print(" Incremental, manifest: " + getIncrementalManifestFile());
+        if (getParallelism() > 1)
+            print(" Parallelism: " + getParallelism());
+        if (getMetricsFile() != null)
+            print(" Metrics: " + getMetricsFile() + " (" + getMetricsFormat() + ")");
+        if (getCoverageFile() != null)
+            print(" Coverage: " + getCoverageFile());
+        if (getDeadlineMs() > 0)
+            print(" Deadline: " + (getDeadlineMs() / 1000) + " s");
 
         print(" Report: " + getReport());
 
@@ -199,7 +396,21 @@ public class SynchroParams {
                 + "'. With " + COMPLETION.TRANSLATION + ", dictionary are exploded to get a good translation. Default is " + COMPLETION.NO);
         print(" -g|--googleAPIKey <GoogleAPIKey>: Give a Google API Key to translate the missing keys");
         print(" --limiteGoogleAPIKey <Number of Translation>: Set the limit. Default is 100");
+        print(" --translationMemory <file>: Google translations are kept in this file. A sentence already translated by a previous run is not sent again, and does not count in the limit");
+        print(" --translationMemorySize <number>: maximum number of translations in the translation memory, at least 1, the least recently used are removed. Default is 100000");
+        print(" --languagePriority <language,language...>: when the limit is lower than the sentences to translate, these languages are translated first, in this order. Then sentences missing in the most applications are translated first");
+        print(" --googleHost <url>: send the translation requests to this host instead of Google, like http://localhost:8099 for the FakeTranslateServer");
+        print(" --googleMaxInFlight <number>: maximum number of requests sent to Google at the same time. The number is reduced when Google throttles or slows down. Default is 4");
+        print(" --googleMaxRetries <number>: number of retries of a request on a quota or transient error, with an exponential backoff. Default is 3");
         print(" -l|--language <language>: if set, only this language is analysed / completed");
+        print(" --incremental <manifestFile>: the manifest keeps the content hash of all dictionaries. Detection and completion are skipped for dictionaries where the reference and the translation did not change since the previous run");
+        print(" --journal <file>: with " + COMPLETION.TRANSLATION + ", each proposition decided by the completion is appended to this file. When the run is interrupted, the next run replays it: keys already decided are not asked again to the proposals. The file is removed when all dictionaries are written");
+        print(" --snapshot <file>: parsed dictionaries are saved in this file. On the next run, dictionaries whose file did not change are loaded from the snapshot");
+        print(" --parallelism <number>: number of threads to detect and complete dictionaries. 0 uses all processors. Default is 1");
+        print(" --metrics-out <file>: metrics of the run (files, keys, propositions, Google requests, timers) are written in this file");
+        print(" --metrics-format <" + METRICS_FORMAT.JSON + "|" + METRICS_FORMAT.PROMETHEUS + ">: format of the metrics file. Default is " + METRICS_FORMAT.JSON);
+        print(" --coverage-out <file>: at the end of the detection, the coverage of each application and language (percentage of reference keys present) is written in this CSV file");
+        print(" --deadline <duration>: time slot of the run, like 90s, 45m or 2h (seconds without unit). In the last 20% of the slot, no more requests are sent to Google: missing keys are marked to translate, and all dictionaries are written before the end of the slot");
 
         print(" -r|--report  <" + REPORT.STDOUT + "|" + REPORT.LOGGER + ">");
         print(" TranslationFolder is the root folder which contains all translations (cloned from https://github.com/camunda/camunda-webapp-translations)");
@@ -212,6 +423,26 @@ public class SynchroParams {
     }
 
 
+    /**
+     * Get a duration from the string
+     *
+     * @param durationSt duration as a String: a number followed by s, m or h. Seconds without unit.
+     * @return the duration in milliseconds, -1 if the string is not a duration
+     */
+    private long getDurationMs(String durationSt) {
+        long unitMs = 1000;
+        String number = durationSt.trim();
+        if (number.endsWith("h") || number.endsWith("m") || number.endsWith("s")) {
+            unitMs = number.endsWith("h") ? 3600000 : number.endsWith("m") ? 60000 : 1000;
+            number = number.substring(0, number.length() - 1);
+        }
+        try {
+            return Long.parseLong(number) * unitMs;
+        } catch (Exception e) {
+            return -1;
+        }
+    }
+
     /**
      * Get the File folder from the string
      *
@@ -236,4 +467,6 @@ public class SynchroParams {
     public enum COMPLETION {NO, KEYS, TRANSLATION}
 
     public enum REPORT {STDOUT, LOGGER}
+
+    public enum METRICS_FORMAT {JSON, PROMETHEUS}
 }
@@ -7,8 +7,14 @@ package org.camunda.webapptranslation.tool;
 /*                                                                      */
 /* -------------------------------------------------------------------- */
 
+import org.camunda.webapptranslation.tool.app.AppExecutor;
+import org.camunda.webapptranslation.tool.app.AppMetricsExport;
 import org.camunda.webapptranslation.tool.app.AppPilot;
 import org.camunda.webapptranslation.tool.app.AppTimeTracker;
+import org.camunda.webapptranslation.tool.app.DictionaryRepository;
+import org.camunda.webapptranslation.tool.app.DictionarySnapshot;
+import org.camunda.webapptranslation.tool.app.RunDeadline;
+import org.camunda.webapptranslation.tool.app.RunManifest;
 import org.camunda.webapptranslation.tool.operation.*;
 import org.camunda.webapptranslation.tool.report.ReportInt;
 import org.camunda.webapptranslation.tool.report.ReportLogger;
@@ -36,6 +42,8 @@ public class SynchroTranslation {
         }
 
         synchroParams.printOptions();
+        // the time slot starts with the run
+        RunDeadline runDeadline = synchroParams.getDeadlineMs() > 0 ? new RunDeadline(synchroParams.getDeadlineMs()) : null;
 
         // get the report
         final ReportInt report;
@@ -55,63 +63,142 @@ public class SynchroTranslation {
             report.severe(SynchroTranslation.class, "No folder detected containing a file for the language [" + synchroParams.getReferenceLanguage() + "]");
             return;
         }
+        // All phases share the same parsed dictionaries
+        DictionaryRepository dictionaryRepository = new DictionaryRepository();
+        DictionarySnapshot dictionarySnapshot = null;
+        if (synchroParams.getSnapshotFile() != null) {
+            dictionarySnapshot = new DictionarySnapshot(synchroParams.getSnapshotFile(), dictionaryRepository.getSegments());
+            dictionarySnapshot.load(report);
+            dictionaryRepository.setSnapshot(dictionarySnapshot);
+        }
+        RunManifest runManifest = null;
+        if (synchroParams.getIncrementalManifestFile() != null) {
+            runManifest = new RunManifest(synchroParams.getIncrementalManifestFile(), dictionaryRepository);
+            runManifest.load(report);
+        }
+        final RunManifest pilotRunManifest = runManifest;
+
         // Build Application Pilot per folder
         List<AppPilot> listAppPilot = new ArrayList<>();
-        listApplications.forEach(application -> listAppPilot.add(new AppPilot(application, synchroParams.getReferenceLanguage())));
+        listApplications.forEach(application -> listAppPilot.add(new AppPilot(application, synchroParams.getReferenceLanguage(), dictionaryRepository, pilotRunManifest)));
 
         // Optimize is a pilot by itself
         WebApplication applicationOptimize = new WebApplication();
         applicationOptimize.applicationName = "Optimize";
         applicationOptimize.translationFolder = new File(synchroParams.getOptimizeFolder() + File.separator + "localisation");
         applicationOptimize.referenceFolder = new File(synchroParams.getOptimizeFolder() + File.separator + "localisation");
-        listAppPilot.add(new AppPilot(applicationOptimize, synchroParams.getReferenceLanguage()));
+        listAppPilot.add(new AppPilot(applicationOptimize, synchroParams.getReferenceLanguage(), dictionaryRepository, runManifest));
 
         // Collect the list of expected languages
         Set<String> expectedLanguage = new HashSet<>();
         listAppPilot.forEach(pilot -> expectedLanguage.addAll(pilot.getLanguages()));
         listAppPilot.forEach(pilot -> pilot.setExpectedLanguage(expectedLanguage));
 
+        // Each (application, language) is a task: they run in parallel on the executor
+        AppExecutor appExecutor = new AppExecutor(synchroParams.getParallelism());
+
         // ---------- Detection
         if (synchroParams.getDetection() != SynchroParams.DETECTION.NO) {
             report.info(SynchroTranslation.class, "=================================== Detection ===================================");
-            listAppPilot.forEach(pilot -> pilot.detection(synchroParams, report));
+            if (runDeadline != null)
+                report.info(SynchroTranslation.class, runDeadline.getStatus());
+            CoverageMatrix coverageMatrix = new CoverageMatrix();
+            listAppPilot.forEach(pilot -> pilot.detection(appExecutor, coverageMatrix, synchroParams, report));
+            appExecutor.flush(report);
+            if (synchroParams.getCoverageFile() != null)
+                coverageMatrix.save(synchroParams.getCoverageFile(), report);
         }
 
         // ---------- Completion
         if (synchroParams.getCompletion() != SynchroParams.COMPLETION.NO) {
             report.info(SynchroTranslation.class, "=================================== Completion ===================================");
+            if (runDeadline != null)
+                report.info(SynchroTranslation.class, runDeadline.getStatus());
             EncyclopediaUniversal encyclopediaUniversal = new EncyclopediaUniversal(synchroParams.getReferenceLanguage());
 
             // Build the list of proposal objects
             List<Proposal> listProposals = new ArrayList<>();
+            ProposalGoogleTranslate googleTranslate = null;
+            ProposalCache machineTranslation = null;
+            CompletionJournal completionJournal = null;
             if (synchroParams.getCompletion() == SynchroParams.COMPLETION.TRANSLATION) {
                 List<Proposal> listAllProposal = new ArrayList<Proposal>();
-                listAllProposal.add(new ProposalSameKey());
-                listAllProposal.add(new ProposalSameTranslation());
-                if (synchroParams.getGoogleAPIKey() != null)
+                // the same proposition is asked by multiple applications: each proposal is behind a cache
+                listAllProposal.add(new ProposalCache(new ProposalSameKey()));
+                listAllProposal.add(new ProposalCache(new ProposalSameTranslation()));
+                if (synchroParams.getGoogleAPIKey() != null) {
 
-                    listAllProposal.add(new ProposalGoogleTranslate(synchroParams.getGoogleAPIKey(), synchroParams.getLimitNumberGoogleTranslation()));
+                    googleTranslate = new ProposalGoogleTranslate(synchroParams.getGoogleAPIKey(),
+                            synchroParams.getLimitNumberGoogleTranslation(),
+                            synchroParams.getTranslationMemoryFile() == null ? null
+                                    : new TranslationMemory(synchroParams.getTranslationMemoryFile(), synchroParams.getTranslationMemorySize()),
+                            synchroParams.getGoogleMaxInFlight(),
+                            synchroParams.getGoogleMaxRetries(),
+                            synchroParams.getGoogleHost(),
+                            runDeadline);
+                    machineTranslation = new ProposalCache(googleTranslate);
+                    listAllProposal.add(machineTranslation);
+                }
 
                 listAllProposal.forEach(proposal -> {
                     if (proposal.begin(report)) {
                         listProposals.add(proposal);
                     }
                 });
+                // propositions decided are journaled: an interrupted run resumes from them
+                if (synchroParams.getJournalFile() != null) {
+                    completionJournal = new CompletionJournal(synchroParams.getJournalFile());
+                    if (!completionJournal.open(report))
+                        completionJournal = null;
+                }
 
             }
 
-            listAppPilot.forEach(pilot -> pilot.completeEncyclopedia(encyclopediaUniversal, synchroParams, report));
-            // Do the completion now
-            listAppPilot.forEach(pilot -> pilot.completion(encyclopediaUniversal, listProposals, synchroParams, report));
+            final CompletionJournal pilotCompletionJournal = completionJournal;
+
+            listAppPilot.forEach(pilot -> pilot.completeEncyclopedia(encyclopediaUniversal, appExecutor, synchroParams, report));
+            appExecutor.flush(report);
+            encyclopediaUniversal.freeze();
+            // a sentence missing in many dictionaries is translated one time: translations are in the cache for the completion
+            if (machineTranslation != null && listProposals.contains(machineTranslation)) {
+                MachineTranslationPlan machineTranslationPlan = new MachineTranslationPlan(machineTranslation,
+                        synchroParams.getReferenceLanguage(),
+                        synchroParams.getLimitNumberGoogleTranslation(),
+                        googleTranslate::getRemainingTranslations,
+                        synchroParams.getLanguagePriority());
+                listAppPilot.forEach(pilot -> pilot.planMachineTranslation(machineTranslationPlan, encyclopediaUniversal, listProposals, pilotCompletionJournal, appExecutor, synchroParams, report));
+                appExecutor.flush(report);
+                machineTranslationPlan.dispatch(encyclopediaUniversal, report);
+            }
+            // Do the completion now. In the reserve of the deadline, it continues without machine translation.
+            if (runDeadline != null)
+                report.info(SynchroTranslation.class, runDeadline.getStatus());
+            listAppPilot.forEach(pilot -> pilot.completion(encyclopediaUniversal, listProposals, runDeadline, pilotCompletionJournal, appExecutor, synchroParams, report));
+            appExecutor.flush(report);
+            if (completionJournal != null) {
+                report.info(SynchroTranslation.class, completionJournal.getStatistics());
+                completionJournal.close(report);
+            }
 
             listProposals.forEach(proposal -> proposal.end(report));
         }
 
+        appExecutor.shutdown();
+
+        if (dictionarySnapshot != null)
+            dictionarySnapshot.save(report);
+        if (runManifest != null)
+            runManifest.save(report);
+        if (runDeadline != null)
+            report.info(SynchroTranslation.class, runDeadline.getStatus());
+
         // report statistics
         String timeTrackerInfo = AppTimeTracker.getAllTimeTracker().values().stream()
                 .map(AppTimeTracker::getInformations)
                 .collect(Collectors.joining(", "));
         System.out.println("Time tracker: " + timeTrackerInfo);
+        if (synchroParams.getMetricsFile() != null)
+            new AppMetricsExport(synchroParams.getMetricsFile(), synchroParams.getMetricsFormat()).save(report);
         System.out.println("The end");
     }
 
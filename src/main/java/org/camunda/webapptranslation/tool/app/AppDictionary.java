@@ -9,8 +9,8 @@ package org.camunda.webapptranslation.tool.app;
 import org.camunda.webapptranslation.tool.report.ReportInt;
 
 import java.io.File;
+import java.nio.ByteBuffer;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.Map;
 
 
@@ -37,21 +37,42 @@ public class AppDictionary {
      * "doy": 4
      * }
      * }
+     * Keys are stored flat ("labels.APP_VENDOR", "week.dow") in a trie: the hierarchy is kept in memory, and
+     * iterations return keys in the hierarchy order.
      */
-    private Map<String, Object> dictionary;
+    private DictionaryTrie dictionary;
+    /**
+     * Segments of keys, shared with the other dictionaries of the run
+     */
+    private final DictionarySegments segments;
     /**
      * marker to know if the dictionary is modified or not
      */
     private boolean dictionaryIsModified = false;
+    /**
+     * Ordinals of keys, built on demand, and rebuilt when keys change
+     */
+    private DictionaryKeyIndex keyIndex = null;
+    private int keyIndexModificationCount;
 
     /**
      * @param folder   folder where the dictionary is located
      * @param language language for this dictionary
      */
     public AppDictionary(File folder, String language) {
+        this(folder, language, new DictionarySegments());
+    }
+
+    /**
+     * @param folder   folder where the dictionary is located
+     * @param language language for this dictionary
+     * @param segments table of segments of the run (see DictionaryRepository)
+     */
+    public AppDictionary(File folder, String language, DictionarySegments segments) {
         this.folder = folder;
         this.language = language;
-        this.dictionary = new HashMap<>();
+        this.segments = segments;
+        this.dictionary = new DictionaryTrie(segments);
     }
 
 
@@ -79,12 +100,41 @@ public class AppDictionary {
     /* -------------------------------------------------------------------- */
     public boolean read(ReportInt report) {
         AppDictionarySerialize serialize = new AppDictionarySerialize(this);
-        dictionary = new HashMap<>();
+        dictionary = new DictionaryTrie(segments);
+        keyIndex = null;
         boolean status = serialize.read(report);
         dictionaryIsModified = false;
         return status;
     }
 
+    /**
+     * Read the dictionary from the content of the file, already loaded
+     *
+     * @param content content of the file
+     * @param report  report used to report any error
+     * @return true if the content was read without error
+     */
+    public boolean read(ByteBuffer content, ReportInt report) {
+        AppDictionarySerialize serialize = new AppDictionarySerialize(this);
+        dictionary = new DictionaryTrie(segments);
+        keyIndex = null;
+        boolean status = serialize.read(content, report);
+        dictionaryIsModified = false;
+        return status;
+    }
+
+    /**
+     * Copy the dictionary. Keys of the copy can be added or removed without any impact on this dictionary.
+     *
+     * @return a copy of this dictionary
+     */
+    public AppDictionary copy() {
+        AppDictionary copyDictionary = new AppDictionary(folder, language, segments);
+        copyDictionary.dictionary = new DictionaryTrie(dictionary);
+        copyDictionary.dictionaryIsModified = dictionaryIsModified;
+        return copyDictionary;
+    }
+
     /**
      * Write the dictionary
      *
@@ -115,6 +165,13 @@ public class AppDictionary {
         this.dictionaryIsModified = true;
     }
 
+    /**
+     * The dictionary is now identical to its file (it was rebuilt from a snapshot of the file)
+     */
+    void resetModified() {
+        this.dictionaryIsModified = false;
+    }
+
 
 
     /* -------------------------------------------------------------------- */
@@ -155,6 +212,39 @@ public class AppDictionary {
         return (dictionary != null && dictionary.containsKey(key));
     }
 
+    /**
+     * Return the type of the value. The value is not materialized: use it when the content is not needed.
+     *
+     * @param key key to check
+     * @return the type, null if the key does not exist
+     */
+    public DictionaryValue.ValueType getValueType(String key) {
+        return dictionary == null ? null : dictionary.getValueType(key);
+    }
+
+    /**
+     * Compare this dictionary with the reference, in one pass on both dictionaries
+     *
+     * @param referenceDictionary reference dictionary
+     * @param listener            receive the differences
+     */
+    public void compareWithReference(AppDictionary referenceDictionary, DictionaryTrie.ComparisonListener listener) {
+        DictionaryTrie.compare(referenceDictionary.dictionary, dictionary, listener);
+    }
+
+    /**
+     * Return the ordinals of the keys. The reference dictionary is shared between tasks: the index is built one time.
+     *
+     * @return the index of keys
+     */
+    public synchronized DictionaryKeyIndex getKeyIndex() {
+        if (keyIndex == null || keyIndexModificationCount != dictionary.getModificationCount()) {
+            keyIndex = new DictionaryKeyIndex(dictionary);
+            keyIndexModificationCount = dictionary.getModificationCount();
+        }
+        return keyIndex;
+    }
+
     public Map<String, Object> getDictionary() {
         if (dictionary == null)
             return Collections.emptyMap();
@@ -7,18 +7,27 @@ package org.camunda.webapptranslation.tool.app;
 /* -------------------------------------------------------------------- */
 
 import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonWriter;
 import org.camunda.webapptranslation.tool.report.ReportInt;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
 
 public class AppDictionarySerialize {
 
-    private static final String UTF8_BOM = "\uFEFF";
+    private static final byte[] UTF8_BOM = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+    /**
+     * Adapter used to write values (String, Long, Double, List...)
+     */
+    private static final TypeAdapter<Object> VALUE_ADAPTER = new Gson().getAdapter(Object.class);
     private final AppDictionary appDictionary;
 
     protected AppDictionarySerialize(AppDictionary appDictionary) {
@@ -26,35 +35,76 @@ public class AppDictionarySerialize {
     }
 
     /**
+     * Read the content of a dictionary file. The file is loaded in one operation through its channel.
+     *
+     * @param file file to read
+     * @return the content of the file, ready to be read
+     * @throws IOException in case of error
+     */
+    public static ByteBuffer readContent(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            ByteBuffer content = ByteBuffer.allocate((int) channel.size());
+            while (content.hasRemaining() && channel.read(content) != -1) {
+                // read until the buffer is full
+            }
+            content.flip();
+            AppMetrics.getCounter(AppMetrics.FILES_READ).increment();
+            AppMetrics.getCounter(AppMetrics.BYTES_READ).add(content.remaining());
+            return content;
+        }
+    }
+
+    /**
+     * Read the dictionary from its file
+     *
      * @return true if the dictionary was read without error
      */
     public boolean read(ReportInt report) {
-        // clear the dictionary
         File file = appDictionary.getFile();
+        try {
+            return read(readContent(file), report);
+        } catch (Exception e) {
+            report.severe(AppDictionary.class, String.format(" Error during reading dictionary [%s] file[%s]", appDictionary.getLanguage(), file.getAbsolutePath()), e);
+            return false;
+        }
+    }
 
-        try (FileInputStream fis = new FileInputStream(file);
-             InputStreamReader isr = new InputStreamReader(fis, StandardCharsets.UTF_8);
-             BufferedReader reader = new BufferedReader(isr)
-        ) {
-
-            // Some dictionaries are encoded in BOM UTF8, which is not correct.
-            String str;
-            StringBuilder readerStr = new StringBuilder();
-            while ((str = reader.readLine()) != null) {
-                readerStr.append(str);
+    /**
+     * Read the dictionary from the content of the file. The UTF-8 BOM is skipped, then the JSON is scanned on the
+     * bytes: keys are flattened directly in the dictionary ("labels.APP_VENDOR"), and values stay compact
+     * (see DictionaryValue) until they are read.
+     *
+     * @param content content of the file. Values keep a reference on it: it must not be modified after.
+     * @param report  report used to report any error
+     * @return true if the dictionary was read without error
+     */
+    public boolean read(ByteBuffer content, ReportInt report) {
+        try {
+            byte[] bytes;
+            int offset;
+            int limit;
+            if (content.hasArray()) {
+                bytes = content.array();
+                offset = content.arrayOffset() + content.position();
+                limit = content.arrayOffset() + content.limit();
+            } else {
+                bytes = new byte[content.remaining()];
+                content.duplicate().get(bytes);
+                offset = 0;
+                limit = bytes.length;
             }
+            // Some dictionaries are encoded in BOM UTF8, which is not correct.
+            if (limit - offset >= UTF8_BOM.length
+                    && bytes[offset] == UTF8_BOM[0]
+                    && bytes[offset + 1] == UTF8_BOM[1]
+                    && bytes[offset + 2] == UTF8_BOM[2])
+                offset += UTF8_BOM.length;
 
-            String jsonComplete = readerStr.toString();
-            if (jsonComplete.startsWith(UTF8_BOM))
-                jsonComplete = jsonComplete.substring(1);
-            Gson gson = new Gson();
-            Map<String, Object> dictionaryJson = gson.fromJson(jsonComplete, Map.class);
-            // a empty dictionary return a null JSON
-            if (dictionaryJson != null)
-                convertToFlatList(dictionaryJson, "");
+            // a empty dictionary does not have any key
+            new DictionaryJsonScanner(bytes, offset, limit).scan(appDictionary::addKey);
             return true;
         } catch (Exception e) {
-            report.severe(AppDictionary.class, String.format(" Error during reading dictionary [%s] file[%s]", appDictionary.getLanguage(), file.getAbsolutePath()), e);
+            report.severe(AppDictionary.class, String.format(" Error during reading dictionary [%s] file[%s]", appDictionary.getLanguage(), appDictionary.getFile().getAbsolutePath()), e);
             return false;
         }
     }
@@ -84,87 +134,139 @@ public class AppDictionarySerialize {
             return false;
         }
 
-        // we want to sort the dictionary
+        // we want to sort the dictionary: keys are sorted once, then the hierarchy is streamed.
+        // The dictionary trie already returns keys in this order, then the sort just verifies it.
+        List<Map.Entry<String, Object>> listEntries = new ArrayList<>(appDictionary.getDictionary().entrySet());
+        listEntries.sort(Map.Entry.comparingByKey(AppDictionarySerialize::compareKeys));
 
-        try (FileWriter writer = new FileWriter(file.getAbsolutePath())) {
-            //We can write any JSONArray or JSONObject instance to the file
-            Map<String, Object> dicoJson = convertFromFlatList();
-
-            Gson gson = new GsonBuilder().setPrettyPrinting().create();
-            writer.write(gson.toJson(dicoJson));
-
-            writer.flush();
+        try (JsonWriter jsonWriter = new JsonWriter(Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8))) {
+            // same format as the Gson pretty printing
+            jsonWriter.setIndent("  ");
+            jsonWriter.setHtmlSafe(true);
+            jsonWriter.setSerializeNulls(false);
+            jsonWriter.setLenient(true);
+            writeHierarchy(listEntries, jsonWriter);
+            jsonWriter.flush();
 
         } catch (Exception e) {
-            report.severe(AppDictionary.class, String.format(" Error during writing dictionary [%s] file[%s]", appDictionary.getDictionary(), file.getName()), e);
+            report.severe(AppDictionary.class, String.format(" Error during writing dictionary [%s] file[%s]", appDictionary.getLanguage(), file.getName()), e);
             return false;
         }
+        AppMetrics.getCounter(AppMetrics.FILES_WRITTEN).increment();
         return true;
     }
 
     /* -------------------------------------------------------------------- */
     /*                                                                      */
-    /* internal : transform the hierarchy JSON to a FLAT structure,         */
-    /*  and inverse                                                         */
+    /* internal : transform the FLAT structure to the hierarchy JSON        */
     /*                                                                      */
     /* -------------------------------------------------------------------- */
 
     /**
-     * Get all keys. The dictionary is a hierarchy, like "{labels { APPVENDOR = ""}}. Returns this value as "labels.APPVENDOR"
+     * Write the flat list, sorted by compareKeys(), as a hierarchy. Containers are opened and closed when the
+     * prefix of the key change: "labels.ABORT" then "labels.APP_VENDOR" stay in the same "labels" container.
+     *
+     * @param listEntries sorted entries
+     * @param jsonWriter  writer
+     * @throws IOException in case of error
      */
-    private void convertToFlatList(Map<String, Object> jsonDico, String hierarchy) {
-        for (Map.Entry<String, Object> entry : jsonDico.entrySet()) {
-            if (entry.getValue() instanceof Map) {
-                convertToFlatList((Map<String, Object>) entry.getValue(), hierarchy + entry.getKey() + ".");
-            } else if (entry.getValue() instanceof List) {
-                appDictionary.addKey(hierarchy + entry.getKey(), entry.getValue());
-            } else if (entry.getValue() instanceof Long || entry.getValue() instanceof Integer) {
-                appDictionary.addKey(hierarchy + entry.getKey(), entry.getValue());
-            } else {
-                appDictionary.addKey(hierarchy + entry.getKey(), entry.getValue());
+    private void writeHierarchy(List<Map.Entry<String, Object>> listEntries, JsonWriter jsonWriter) throws IOException {
+        // list of containers currently opened in the writer
+        List<String> openContainers = new ArrayList<>();
+        String previousValueName = null;
+
+        jsonWriter.beginObject();
+        for (Map.Entry<String, Object> entry : listEntries) {
+            String key = entry.getKey();
+            int level = 0;
+            int segmentStart = nextSegmentStart(key, 0);
+            int segmentEnd = segmentEnd(key, segmentStart);
+            // Navigate the containers already opened
+            while (nextSegmentStart(key, segmentEnd) < key.length() && level < openContainers.size()
+                    && isSegment(key, segmentStart, segmentEnd, openContainers.get(level))) {
+                level++;
+                segmentStart = nextSegmentStart(key, segmentEnd);
+                segmentEnd = segmentEnd(key, segmentStart);
+            }
+            // close the containers not used by this key
+            if (level < openContainers.size())
+                previousValueName = null;
+            while (openContainers.size() > level) {
+                openContainers.remove(openContainers.size() - 1);
+                jsonWriter.endObject();
+            }
+            // open the new containers
+            while (nextSegmentStart(key, segmentEnd) < key.length()) {
+                String container = key.substring(segmentStart, segmentEnd);
+                if (container.equals(previousValueName))
+                    throw new IllegalStateException("Key [" + key + "] use the value [" + container + "] as a container");
+                jsonWriter.name(container);
+                jsonWriter.beginObject();
+                openContainers.add(container);
+                previousValueName = null;
+                segmentStart = nextSegmentStart(key, segmentEnd);
+                segmentEnd = segmentEnd(key, segmentStart);
             }
+            previousValueName = key.substring(segmentStart, segmentEnd);
+            jsonWriter.name(previousValueName);
+            VALUE_ADAPTER.write(jsonWriter, entry.getValue());
         }
+        while (!openContainers.isEmpty()) {
+            openContainers.remove(openContainers.size() - 1);
+            jsonWriter.endObject();
+        }
+        jsonWriter.endObject();
     }
 
     /**
-     * Convert the flat list stored in the dictionary, to a hierarchy, to save it in Json
-     * a TreeMap is used to order alphabetically keys
+     * Compare two flat keys as the hierarchy is sorted: segment per segment. "labels.ABORT" is before "labels-old",
+     * because the "labels" container is before the "labels-old" key. Empty segments are ignored.
      *
-     * @return a hierarchy of Map / Keys
+     * @param key1 first key
+     * @param key2 second key
+     * @return the comparison, as String.compareTo()
      */
-    private Map<String, Object> convertFromFlatList() {
-        Map<String, Object> dicoObject = new TreeMap<>();
-        for (Map.Entry<String, Object> entry : appDictionary.getDictionary().entrySet()) {
-            StringTokenizer st = new StringTokenizer(entry.getKey(), ".");
-            List<String> tokens = new ArrayList<>();
-            while (st.hasMoreTokens()) {
-                tokens.add(st.nextToken()); // use already extracted value
+    static int compareKeys(String key1, String key2) {
+        int start1 = nextSegmentStart(key1, 0);
+        int start2 = nextSegmentStart(key2, 0);
+        while (start1 < key1.length() && start2 < key2.length()) {
+            int end1 = segmentEnd(key1, start1);
+            int end2 = segmentEnd(key2, start2);
+            int length = Math.min(end1 - start1, end2 - start2);
+            for (int i = 0; i < length; i++) {
+                char c1 = key1.charAt(start1 + i);
+                char c2 = key2.charAt(start2 + i);
+                if (c1 != c2)
+                    return c1 - c2;
             }
-            Map<String, Object> container = getContainer(tokens, dicoObject);
-            container.put(tokens.get(tokens.size() - 1), entry.getValue());
+            if (end1 - start1 != end2 - start2)
+                return (end1 - start1) - (end2 - start2);
+            start1 = nextSegmentStart(key1, end1);
+            start2 = nextSegmentStart(key2, end2);
         }
-        return dicoObject;
+        return (start1 < key1.length() ? 1 : 0) - (start2 < key2.length() ? 1 : 0);
     }
 
     /**
-     * Get the container according the list of Tokens. Each token is a key in the map
+     * Return the beginning of the next segment, skipping the separators
      *
-     * @param tokens     list of tokens to navigate inside containers
-     * @param dicoObject the root object to navigate in
-     * @return the local container according the tokens list
+     * @param key      flat key
+     * @param position position to start
+     * @return the position of the next segment, key.length() if there is no more segment
      */
-    private Map<String, Object> getContainer(List<String> tokens, Map<String, Object> dicoObject) {
-        Map<String, Object> currentContainer = dicoObject;
-        for (int i = 0; i < tokens.size() - 1; i++) {
-            if (currentContainer.containsKey(tokens.get(i)))
-                currentContainer = (Map<String, Object>) currentContainer.get(tokens.get(i));
-            else {
-                Map<String, Object> subContainer = new TreeMap<>();
-                currentContainer.put(tokens.get(i), subContainer);
-                currentContainer = subContainer;
-            }
-        }
-        return currentContainer;
+    private static int nextSegmentStart(String key, int position) {
+        while (position < key.length() && key.charAt(position) == '.')
+            position++;
+        return position;
+    }
+
+    private static int segmentEnd(String key, int segmentStart) {
+        int end = key.indexOf('.', segmentStart);
+        return end == -1 ? key.length() : end;
+    }
+
+    private static boolean isSegment(String key, int segmentStart, int segmentEnd, String segment) {
+        return segment.length() == segmentEnd - segmentStart && key.startsWith(segment, segmentStart);
     }
 
 }
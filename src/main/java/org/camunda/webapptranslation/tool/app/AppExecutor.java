@@ -0,0 +1,98 @@
+package org.camunda.webapptranslation.tool.app;
+
+/* -------------------------------------------------------------------- */
+/*                                                                      */
+/* Application executor                                                 */
+/*                                                                      */
+/* Run the tasks of the detection and the completion: one task per      */
+/* (application, language). With a parallelism of 1, a task runs        */
+/* immediately in the caller thread. Else, tasks run on a work-stealing */
+/* pool: each task reports in its own buffer, and buffers are flushed   */
+/* in the submission order, so the report is the same as a sequential   */
+/* execution.                                                           */
+/*                                                                      */
+/* -------------------------------------------------------------------- */
+
+import org.camunda.webapptranslation.tool.report.ReportBuffer;
+import org.camunda.webapptranslation.tool.report.ReportInt;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
+
+public class AppExecutor {
+
+    private final int parallelism;
+    private final ForkJoinPool pool;
+    private final List<PendingTask> listPendingTasks = new ArrayList<>();
+
+    /**
+     * @param parallelism number of threads. 1 (or less) executes tasks in the caller thread.
+     */
+    public AppExecutor(int parallelism) {
+        this.parallelism = Math.max(1, parallelism);
+        this.pool = this.parallelism > 1 ? new ForkJoinPool(this.parallelism) : null;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Submit a task. The task receives the report to use: it must not use any other report.
+     *
+     * @param task   task to execute
+     * @param report report of the run
+     */
+    public void submit(Consumer<ReportInt> task, ReportInt report) {
+        if (pool == null) {
+            runTask(task, report);
+            return;
+        }
+        ReportBuffer reportBuffer = new ReportBuffer();
+        ForkJoinTask<?> forkJoinTask = pool.submit(() -> runTask(task, reportBuffer));
+        listPendingTasks.add(new PendingTask(forkJoinTask, reportBuffer));
+    }
+
+    /**
+     * Wait for all tasks submitted, and send their messages to the report, in the submission order. The report of a
+     * task is sent as soon as it and all the tasks submitted before are finished.
+     *
+     * @param report report of the run
+     */
+    public void flush(ReportInt report) {
+        for (PendingTask pendingTask : listPendingTasks) {
+            pendingTask.forkJoinTask.join();
+            pendingTask.reportBuffer.flush(report);
+        }
+        listPendingTasks.clear();
+    }
+
+    /**
+     * Stop the pool. Call flush() before.
+     */
+    public void shutdown() {
+        if (pool != null)
+            pool.shutdown();
+    }
+
+    private static void runTask(Consumer<ReportInt> task, ReportInt report) {
+        try {
+            task.accept(report);
+        } catch (RuntimeException e) {
+            report.severe(AppExecutor.class, "Error during execution", e);
+        }
+    }
+
+    private static class PendingTask {
+        private final ForkJoinTask<?> forkJoinTask;
+        private final ReportBuffer reportBuffer;
+
+        private PendingTask(ForkJoinTask<?> forkJoinTask, ReportBuffer reportBuffer) {
+            this.forkJoinTask = forkJoinTask;
+            this.reportBuffer = reportBuffer;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package org.camunda.webapptranslation.tool.app;
+
+/* -------------------------------------------------------------------- */
+/*                                                                      */
+/* Metrics                                                              */
+/*                                                                      */
+/* Counters of the run (files read, keys checked, propositions...).     */
+/* Like the time trackers, counters are registered by name, and can be  */
+/* incremented from parallel threads without lock. A counter may have   */
+/* one label, to split it per proposal engine for example.              */
+/*                                                                      */
+/* -------------------------------------------------------------------- */
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+public class AppMetrics {
+
+    public static final String FILES_READ = "synchro_files_read_total";
+    public static final String BYTES_READ = "synchro_bytes_read_total";
+    public static final String FILES_WRITTEN = "synchro_files_written_total";
+    public static final String KEYS_CHECKED = "synchro_keys_checked_total";
+    public static final String KEYS_COMPLETED = "synchro_keys_completed_total";
+    public static final String PROPOSAL_HITS = "synchro_proposal_hits_total";
+    public static final String PROPOSAL_MISSES = "synchro_proposal_misses_total";
+    public static final String GOOGLE_REQUESTS = "synchro_google_requests_total";
+    public static final String GOOGLE_CHARACTERS = "synchro_google_characters_total";
+    public static final String GOOGLE_ERRORS = "synchro_google_errors_total";
+    public static final String GOOGLE_RETRIES = "synchro_google_retries_total";
+    public static final String GOOGLE_THROTTLED = "synchro_google_throttled_total";
+    public static final String GOOGLE_DEADLINE_SKIPPED = "synchro_google_deadline_skipped_total";
+    public static final String PROPOSAL_CACHE_HITS = "synchro_proposal_cache_hits_total";
+    public static final String PROPOSAL_CACHE_MISSES = "synchro_proposal_cache_misses_total";
+
+    public static final String LABEL_PROPOSAL = "proposal";
+
+    /**
+     * Description of each counter
+     */
+    private static final Map<String, String> allHelps = Map.ofEntries(
+            Map.entry(FILES_READ, "Dictionary files read from the disk"),
+            Map.entry(BYTES_READ, "Bytes read from dictionary files"),
+            Map.entry(FILES_WRITTEN, "Dictionary files written by the completion"),
+            Map.entry(KEYS_CHECKED, "Reference keys checked against a dictionary"),
+            Map.entry(KEYS_COMPLETED, "Missing keys added by the completion"),
+            Map.entry(PROPOSAL_HITS, "Missing keys where the proposal returned a proposition"),
+            Map.entry(PROPOSAL_MISSES, "Missing keys where the proposal did not return a proposition"),
+            Map.entry(GOOGLE_REQUESTS, "Translation requests sent to Google Translate"),
+            Map.entry(GOOGLE_CHARACTERS, "Characters sent to Google Translate"),
+            Map.entry(GOOGLE_ERRORS, "Translation requests to Google Translate in error"),
+            Map.entry(GOOGLE_RETRIES, "Translation requests to Google Translate sent again after a quota or transient error"),
+            Map.entry(GOOGLE_THROTTLED, "Translation requests to Google Translate refused by the rate limit"),
+            Map.entry(GOOGLE_DEADLINE_SKIPPED, "Sentences not translated by Google Translate because the deadline of the run is near"),
+            Map.entry(PROPOSAL_CACHE_HITS, "Propositions returned by the proposal cache, without calculation"),
+            Map.entry(PROPOSAL_CACHE_MISSES, "Propositions calculated by the proposal, then kept in the cache"));
+
+    /**
+     * Manage multiple counters. The key is the name and the label
+     */
+    private static final Map<String, AppMetrics> allMetrics = new ConcurrentHashMap<>();
+    private final String name;
+    private final String labelName;
+    private final String labelValue;
+    private final LongAdder value = new LongAdder();
+
+    private AppMetrics(String name, String labelName, String labelValue) {
+        this.name = name;
+        this.labelName = labelName;
+        this.labelValue = labelValue;
+    }
+
+    /**
+     * Get a counter by its name. If this not already exist, create it
+     *
+     * @param name name of the counter
+     * @return the counter
+     */
+    public static AppMetrics getCounter(String name) {
+        return allMetrics.computeIfAbsent(name, key -> new AppMetrics(name, null, null));
+    }
+
+    /**
+     * Get a counter by its name and its label. If this not already exist, create it
+     *
+     * @param name       name of the counter
+     * @param labelName  name of the label (proposal)
+     * @param labelValue value of the label (SameKey)
+     * @return the counter
+     */
+    public static AppMetrics getCounter(String name, String labelName, String labelValue) {
+        return allMetrics.computeIfAbsent(name + "{" + labelName + "=" + labelValue + "}", key -> new AppMetrics(name, labelName, labelValue));
+    }
+
+    /**
+     * Get all counters
+     *
+     * @return all counters
+     */
+    public static Map<String, AppMetrics> getAllMetrics() {
+        return allMetrics;
+    }
+
+    public void increment() {
+        value.increment();
+    }
+
+    public void add(long delta) {
+        value.add(delta);
+    }
+
+    public long getValue() {
+        return value.sum();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the description of the counter
+     */
+    public String getHelp() {
+        return allHelps.getOrDefault(name, name);
+    }
+
+    /**
+     * @return the name of the label, null if the counter does not have a label
+     */
+    public String getLabelName() {
+        return labelName;
+    }
+
+    public String getLabelValue() {
+        return labelValue;
+    }
+}
@@ -0,0 +1,180 @@
+package org.camunda.webapptranslation.tool.app;
+
+/* -------------------------------------------------------------------- */
+/*                                                                      */
+/* Metrics export                                                       */
+/*                                                                      */
+/* At the end of the run, write all counters and all time trackers in   */
+/* a file, in JSON or in the Prometheus text exposition format, to be   */
+/* collected by a dashboard.                                            */
+/*                                                                      */
+/* -------------------------------------------------------------------- */
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import org.camunda.webapptranslation.tool.SynchroParams;
+import org.camunda.webapptranslation.tool.report.ReportInt;
+
+import java.io.File;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+public class AppMetricsExport {
+
+    private static final String TIMER_NAME = "synchro_operation_seconds";
+    private static final String TIMER_MAX_NAME = "synchro_operation_max_seconds";
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+    private static final double NANOS_PER_MS = 1_000_000.0;
+
+    private final File metricsFile;
+    private final SynchroParams.METRICS_FORMAT format;
+
+    public AppMetricsExport(File metricsFile, SynchroParams.METRICS_FORMAT format) {
+        this.metricsFile = metricsFile;
+        this.format = format;
+    }
+
+    /**
+     * Write the metrics. The file is replaced only when the new content is completely written.
+     *
+     * @param report report used to report any error
+     * @return true if the metrics are saved
+     */
+    public boolean save(ReportInt report) {
+        File temporaryFile = new File(metricsFile.getAbsolutePath() + ".tmp");
+        try {
+            try (Writer writer = Files.newBufferedWriter(temporaryFile.toPath(), StandardCharsets.UTF_8)) {
+                if (format == SynchroParams.METRICS_FORMAT.PROMETHEUS)
+                    writer.write(getPrometheus());
+                else
+                    writer.write(getJson());
+            }
+            Files.move(temporaryFile.toPath(), metricsFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            report.info(AppMetricsExport.class, "Metrics saved in [" + metricsFile.getAbsolutePath() + "]");
+            return true;
+        } catch (Exception e) {
+            report.severe(AppMetricsExport.class, "Error writing metrics [" + metricsFile.getAbsolutePath() + "]", e);
+            return false;
+        }
+    }
+
+    /* -------------------------------------------------------------------- */
+    /*                                                                      */
+    /* JSON                                                                 */
+    /*                                                                      */
+    /* -------------------------------------------------------------------- */
+
+    private String getJson() {
+        JsonObject root = new JsonObject();
+        root.addProperty("timestamp", Instant.now().toString());
+
+        JsonArray counters = new JsonArray();
+        for (AppMetrics metrics : getSortedMetrics()) {
+            JsonObject counter = new JsonObject();
+            counter.addProperty("name", metrics.getName());
+            if (metrics.getLabelName() != null) {
+                JsonObject labels = new JsonObject();
+                labels.addProperty(metrics.getLabelName(), metrics.getLabelValue());
+                counter.add("labels", labels);
+            }
+            counter.addProperty("value", metrics.getValue());
+            counters.add(counter);
+        }
+        root.add("counters", counters);
+
+        JsonArray timers = new JsonArray();
+        for (AppTimeTracker timeTracker : getSortedTimeTrackers()) {
+            JsonObject timer = new JsonObject();
+            timer.addProperty("name", timeTracker.getName());
+            timer.addProperty("count", timeTracker.getNbOccurences());
+            timer.addProperty("sumMs", timeTracker.getSumOfTimeNs() / NANOS_PER_MS);
+            timer.addProperty("p50Ms", timeTracker.getPercentileNs(50) / NANOS_PER_MS);
+            timer.addProperty("p99Ms", timeTracker.getPercentileNs(99) / NANOS_PER_MS);
+            timer.addProperty("maxMs", timeTracker.getMaxTimeNs() / NANOS_PER_MS);
+            timers.add(timer);
+        }
+        root.add("timers", timers);
+        return new GsonBuilder().setPrettyPrinting().create().toJson(root);
+    }
+
+    /* -------------------------------------------------------------------- */
+    /*                                                                      */
+    /* Prometheus                                                           */
+    /*                                                                      */
+    /* -------------------------------------------------------------------- */
+
+    private String getPrometheus() {
+        StringBuilder result = new StringBuilder();
+        String previousName = null;
+        for (AppMetrics metrics : getSortedMetrics()) {
+            // HELP and TYPE are written once per name, for all labels
+            if (!metrics.getName().equals(previousName)) {
+                result.append("# HELP ").append(metrics.getName()).append(" ").append(metrics.getHelp()).append("\n");
+                result.append("# TYPE ").append(metrics.getName()).append(" counter\n");
+                previousName = metrics.getName();
+            }
+            result.append(metrics.getName());
+            if (metrics.getLabelName() != null)
+                result.append("{").append(getLabel(metrics.getLabelName(), metrics.getLabelValue())).append("}");
+            result.append(" ").append(metrics.getValue()).append("\n");
+        }
+
+        List<AppTimeTracker> listTimeTrackers = getSortedTimeTrackers();
+        if (listTimeTrackers.isEmpty())
+            return result.toString();
+        result.append("# HELP " + TIMER_NAME + " Duration of operations\n");
+        result.append("# TYPE " + TIMER_NAME + " summary\n");
+        for (AppTimeTracker timeTracker : listTimeTrackers) {
+            String label = getLabel("operation", timeTracker.getName());
+            result.append(TIMER_NAME + "{").append(label).append(",quantile=\"0.5\"} ").append(getSeconds(timeTracker.getPercentileNs(50))).append("\n");
+            result.append(TIMER_NAME + "{").append(label).append(",quantile=\"0.99\"} ").append(getSeconds(timeTracker.getPercentileNs(99))).append("\n");
+            result.append(TIMER_NAME + "_sum{").append(label).append("} ").append(getSeconds(timeTracker.getSumOfTimeNs())).append("\n");
+            result.append(TIMER_NAME + "_count{").append(label).append("} ").append(timeTracker.getNbOccurences()).append("\n");
+        }
+        result.append("# HELP " + TIMER_MAX_NAME + " Longest execution of operations\n");
+        result.append("# TYPE " + TIMER_MAX_NAME + " gauge\n");
+        for (AppTimeTracker timeTracker : listTimeTrackers) {
+            result.append(TIMER_MAX_NAME + "{").append(getLabel("operation", timeTracker.getName())).append("} ").append(getSeconds(timeTracker.getMaxTimeNs())).append("\n");
+        }
+        return result.toString();
+    }
+
+    private static String getLabel(String labelName, String labelValue) {
+        String value = labelValue.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+        return labelName + "=\"" + value + "\"";
+    }
+
+    private static String getSeconds(long valueNs) {
+        return String.format(Locale.ROOT, "%.9f", valueNs / NANOS_PER_SECOND);
+    }
+
+    /* -------------------------------------------------------------------- */
+    /*                                                                      */
+    /* internal                                                             */
+    /*                                                                      */
+    /* -------------------------------------------------------------------- */
+
+    /**
+     * Sort on the name, then the label, so two runs produce the same file layout
+     */
+    private static List<AppMetrics> getSortedMetrics() {
+        List<AppMetrics> listMetrics = new ArrayList<>(AppMetrics.getAllMetrics().values());
+        listMetrics.sort(Comparator.comparing(AppMetrics::getName)
+                .thenComparing(AppMetrics::getLabelValue, Comparator.nullsFirst(Comparator.naturalOrder())));
+        return listMetrics;
+    }
+
+    private static List<AppTimeTracker> getSortedTimeTrackers() {
+        List<AppTimeTracker> listTimeTrackers = new ArrayList<>(AppTimeTracker.getAllTimeTracker().values());
+        listTimeTrackers.sort(Comparator.comparing(AppTimeTracker::getName));
+        return listTimeTrackers;
+    }
+}
@@ -14,10 +14,14 @@ package org.camunda.webapptranslation.tool.app;
 
 import org.camunda.webapptranslation.tool.SynchroParams;
 import org.camunda.webapptranslation.tool.WebApplication;
+import org.camunda.webapptranslation.tool.operation.CompletionJournal;
+import org.camunda.webapptranslation.tool.operation.CoverageMatrix;
 import org.camunda.webapptranslation.tool.operation.DictionaryCompletion;
 import org.camunda.webapptranslation.tool.operation.DictionaryDetection;
 import org.camunda.webapptranslation.tool.operation.EncyclopediaUniversal;
+import org.camunda.webapptranslation.tool.operation.MachineTranslationPlan;
 import org.camunda.webapptranslation.tool.operation.Proposal;
+import org.camunda.webapptranslation.tool.report.ReportBuffer;
 import org.camunda.webapptranslation.tool.report.ReportInt;
 
 import java.io.File;
@@ -32,10 +36,16 @@ public class AppPilot {
     String referenceLanguage;
     Set<String> languages = new HashSet<>();
     Set<String> expectedLanguages;
-    Set<AppTimeTracker> allTrackers = new HashSet<>();
+    DictionaryRepository dictionaryRepository;
+    /**
+     * Manifest of the previous run, null if the run is not incremental
+     */
+    RunManifest runManifest;
 
-    public AppPilot(WebApplication webApplication, String referenceLanguage) {
+    public AppPilot(WebApplication webApplication, String referenceLanguage, DictionaryRepository dictionaryRepository, RunManifest runManifest) {
         this.webApplication = webApplication;
+        this.dictionaryRepository = dictionaryRepository;
+        this.runManifest = runManifest;
 
         this.referenceLanguage = referenceLanguage;
         for (File file : Objects.requireNonNull(new File(webApplication.translationFolder.getAbsolutePath()).listFiles())) {
@@ -63,79 +73,109 @@ public class AppPilot {
      * 1/ all dictionary exists
      * 2/ the language is complete
      *
-     * @param synchroParams access to parameters
-     * @param report        report the status
+     * @param appExecutor    executor to run the detection. Call flush() on the executor to get the result
+     * @param coverageMatrix receive the coverage of each language
+     * @param synchroParams  access to parameters
+     * @param report         report the status
      */
-    public void detection(SynchroParams synchroParams, ReportInt report) {
-        AppTimeTracker timeTrackerRead = AppTimeTracker.getTimeTracker("dictionaryRead");
-
-
-        AppDictionary referenceDictionary = new AppDictionary(webApplication.referenceFolder, referenceLanguage);
-        timeTrackerRead.start();
-
-        if (!referenceDictionary.read(report)) {
-            timeTrackerRead.stop();
+    public void detection(AppExecutor appExecutor, CoverageMatrix coverageMatrix, SynchroParams synchroParams, ReportInt report) {
+        AppDictionary referenceDictionary = getReferenceDictionary(appExecutor, report);
+        if (referenceDictionary == null)
             return;
-        }
-        timeTrackerRead.stop();
 
         DictionaryDetection appDetection = new DictionaryDetection();
-        AppTimeTracker timeTrackerDetection = AppTimeTracker.getTimeTracker("detection");
+        appDetection.detection(expectedLanguages, webApplication, referenceDictionary, dictionaryRepository, runManifest, appExecutor, coverageMatrix, synchroParams, report);
+    }
+
+    /**
+     * Do the completion on each dictionary
+     *
+     * @param encyclopediaUniversal, Encyclopedia universal to get propositions
+     * @param runDeadline            deadline of the run, null if the run has no deadline
+     * @param completionJournal      journal of the decisions, null if the completion is not journaled
+     * @param appExecutor            executor to run the completion. Call flush() on the executor to get the result
+     * @param synchroParams          parameter object
+     * @param report                 report object
+     */
+    public void completion(EncyclopediaUniversal encyclopediaUniversal, List<Proposal> listProposals, RunDeadline runDeadline, CompletionJournal completionJournal, AppExecutor appExecutor, SynchroParams synchroParams, ReportInt report) {
 
+        AppDictionary referenceDictionary = getReferenceDictionary(appExecutor, report);
+        if (referenceDictionary == null)
+            return;
 
-        timeTrackerDetection.start();
-        appDetection.detection(expectedLanguages, webApplication, referenceDictionary, synchroParams, report);
-        timeTrackerDetection.stop();
+        DictionaryCompletion appCompletion = new DictionaryCompletion();
 
+        appCompletion.completion(expectedLanguages, webApplication, referenceDictionary, encyclopediaUniversal, listProposals, dictionaryRepository, runManifest, runDeadline, completionJournal, appExecutor, synchroParams, report);
     }
 
     /**
-     * Do the completion on each dictionary
+     * Collect the sentences the completion will ask to the machine translation. Call it before the completion, then
+     * dispatch the plan.
      *
+     * @param plan                   plan to register the sentences
      * @param encyclopediaUniversal, Encyclopedia universal to get propositions
+     * @param completionJournal      journal of the decisions, null if the completion is not journaled
+     * @param appExecutor            executor to run the planning. Call flush() on the executor before the dispatch
      * @param synchroParams          parameter object
      * @param report                 report object
      */
-    public void completion(EncyclopediaUniversal encyclopediaUniversal, List<Proposal> listProposals, SynchroParams synchroParams, ReportInt report) {
-
-        AppDictionary referenceDictionary = new AppDictionary(webApplication.referenceFolder, referenceLanguage);
-        AppTimeTracker timeTracker = AppTimeTracker.getTimeTracker("readDictionary");
+    public void planMachineTranslation(MachineTranslationPlan plan, EncyclopediaUniversal encyclopediaUniversal, List<Proposal> listProposals, CompletionJournal completionJournal, AppExecutor appExecutor, SynchroParams synchroParams, ReportInt report) {
 
-        timeTracker.start();
-        referenceDictionary.read(report);
-        timeTracker.stop();
+        AppDictionary referenceDictionary = getReferenceDictionary(appExecutor, report);
+        if (referenceDictionary == null)
+            return;
 
         DictionaryCompletion appCompletion = new DictionaryCompletion();
 
-        appCompletion.completion(expectedLanguages, webApplication, referenceDictionary, encyclopediaUniversal, listProposals, synchroParams, report);
+        appCompletion.planning(expectedLanguages, webApplication, referenceDictionary, encyclopediaUniversal, listProposals, plan, dictionaryRepository, runManifest, completionJournal, appExecutor, synchroParams, report);
     }
 
     /**
-     * Build and complete all encyclopedia
+     * Read the reference dictionary. Any error is reported through the executor, to keep the order of the report.
+     *
+     * @param appExecutor executor running tasks
+     * @param report      report object
+     * @return the reference dictionary, null if it can't be read
+     */
+    private AppDictionary getReferenceDictionary(AppExecutor appExecutor, ReportInt report) {
+        ReportBuffer reportBuffer = new ReportBuffer();
+        AppDictionary referenceDictionary = dictionaryRepository.getDictionary(webApplication.referenceFolder, referenceLanguage, reportBuffer);
+        appExecutor.submit(reportBuffer::flush, report);
+        return referenceDictionary;
+    }
+
+    /**
+     * Build and complete all encyclopedia. Each dictionary is read and registered by a task: dictionaries are
+     * registered in parallel. The order of registration is reserved now, then propositions do not depend on the
+     * execution order.
      *
      * @param encyclopediaUniversal the encyclopedia universal object
+     * @param appExecutor           executor to run the registration. Call flush() on the executor, then freeze the encyclopedia
      * @param synchroParams         synchronisation parameters
      * @param report                report object
      */
-    public void completeEncyclopedia(EncyclopediaUniversal encyclopediaUniversal, SynchroParams synchroParams, ReportInt report) {
-
-        AppTimeTracker timeTracker = AppTimeTracker.getTimeTracker("completeEncyclopedia");
-        timeTracker.start();
-        AppDictionary referenceDictionary = new AppDictionary(webApplication.referenceFolder, referenceLanguage);
-        if (referenceDictionary.existFile() && referenceDictionary.read(report))
-            encyclopediaUniversal.registerDictionary(referenceDictionary);
+    public void completeEncyclopedia(EncyclopediaUniversal encyclopediaUniversal, AppExecutor appExecutor, SynchroParams synchroParams, ReportInt report) {
+        submitRegistration(encyclopediaUniversal, webApplication.referenceFolder, referenceLanguage, appExecutor, report);
 
         for (String language : expectedLanguages) {
             if (synchroParams.getOnlyCompleteOneLanguage() != null
                     && !synchroParams.getOnlyCompleteOneLanguage().equals(language))
                 continue;
-            AppDictionary dictionary = new AppDictionary(webApplication.translationFolder, language);
-            if (dictionary.existFile() && dictionary.read(report)) {
-                encyclopediaUniversal.registerDictionary(dictionary);
-            }
+            if (!new AppDictionary(webApplication.translationFolder, language).existFile())
+                continue;
+            submitRegistration(encyclopediaUniversal, webApplication.translationFolder, language, appExecutor, report);
         }
-        timeTracker.stop();
+    }
 
+    private void submitRegistration(EncyclopediaUniversal encyclopediaUniversal, File folder, String language, AppExecutor appExecutor, ReportInt report) {
+        int registrationOrder = encyclopediaUniversal.reserveRegistrationOrder();
+        appExecutor.submit(taskReport -> {
+            try (AppTimeTracker.Handle timer = AppTimeTracker.getTimeTracker("completeEncyclopedia").startTimer()) {
+                AppDictionary dictionary = dictionaryRepository.getDictionary(folder, language, taskReport);
+                if (dictionary != null)
+                    encyclopediaUniversal.registerDictionary(dictionary, registrationOrder);
+            }
+        }, report);
     }
 
 
@@ -1,19 +1,44 @@
 package org.camunda.webapptranslation.tool.app;
 
-import java.util.HashMap;
+/* -------------------------------------------------------------------- */
+/*                                                                      */
+/* Time tracker                                                         */
+/*                                                                      */
+/* Measure operations, in nanoseconds. Each execution gets its own      */
+/* handle, so executions can be nested or run in parallel threads:      */
+/*   try (AppTimeTracker.Handle timer = tracker.startTimer()) { ... }   */
+/* Durations are accumulated without lock, and recorded in a           */
+/* histogram to report the p50 / p99 / max of each operation.           */
+/*                                                                      */
+/* -------------------------------------------------------------------- */
+
+import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
 
 public class AppTimeTracker {
 
+    /**
+     * Histogram: values under 2^SUB_BUCKET_BITS ns are exact, then each power of two is split in 2^SUB_BUCKET_BITS
+     * buckets. The relative error is under 1/2^SUB_BUCKET_BITS (6%).
+     */
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int NB_BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+    private static final long NANOS_PER_MS = 1_000_000L;
+
     /**
      * Manage multiple tracker.
      */
-    private static final Map<String, AppTimeTracker> allTimeTracker = new HashMap<>();
+    private static final Map<String, AppTimeTracker> allTimeTracker = new ConcurrentHashMap<>();
     private final String name;
-    private long timeStart;
-    private long executionTime;
-    private long sumOfTimeMs = 0;
-    private long nbOccurences = 0;
+    private final LongAdder sumOfTimeNs = new LongAdder();
+    private final LongAdder nbOccurences = new LongAdder();
+    private final LongAccumulator maxTimeNs = new LongAccumulator(Long::max, 0);
+    private final AtomicLongArray histogram = new AtomicLongArray(NB_BUCKETS);
 
     private AppTimeTracker(String name) {
         this.name = name;
@@ -26,12 +51,7 @@ public class AppTimeTracker {
      * @return the tracker
      */
     public static AppTimeTracker getTimeTracker(String name) {
-        AppTimeTracker timeTracker = allTimeTracker.get(name);
-        if (timeTracker == null) {
-            timeTracker = new AppTimeTracker(name);
-            allTimeTracker.put(name, timeTracker);
-        }
-        return timeTracker;
+        return allTimeTracker.computeIfAbsent(name, AppTimeTracker::new);
     }
 
     /**
@@ -44,46 +64,138 @@ public class AppTimeTracker {
     }
 
     /**
-     * Call a start to start to monitor the time. Call stop() at the end of the operation
+     * Start to monitor one execution. Close the handle at the end of the execution.
+     *
+     * @return the handle of this execution
      */
-    public void start() {
-        timeStart = System.currentTimeMillis();
-        executionTime = 0;
+    public Handle startTimer() {
+        return new Handle(System.nanoTime());
     }
 
     /**
-     * Stop finish monitoring the current execution
+     * Record one execution
+     *
+     * @param durationNs duration of the execution, in nanoseconds
      */
-    public void stop() {
-        executionTime = System.currentTimeMillis() - timeStart;
-        sumOfTimeMs += executionTime;
-        nbOccurences++;
-    }
-
-    public long getLastExecutionTime() {
-        return executionTime;
+    public void record(long durationNs) {
+        long duration = Math.max(0, durationNs);
+        sumOfTimeNs.add(duration);
+        nbOccurences.increment();
+        maxTimeNs.accumulate(duration);
+        histogram.incrementAndGet(getBucketIndex(duration));
     }
 
     public String getInformations() {
+        long nbOcc = getNbOccurences();
+        if (nbOcc == 0)
+            return "  *****> " + getName() + ": 0 ms for 0 ope.";
         return "  *****> " + getName() + ": "
                 + getSumOfTimeMs() + " ms for "
-                + getNbOccurences() + " ope."
-                + (getNbOccurences() > 0 ? ((int) getSumOfTimeMs() / getNbOccurences()) + " ms/ope" : "");
+                + nbOcc + " ope., " + formatMs(getSumOfTimeNs() / nbOcc) + " ms/ope"
+                + " (p50 " + formatMs(getPercentileNs(50)) + " ms"
+                + ", p99 " + formatMs(getPercentileNs(99)) + " ms"
+                + ", max " + formatMs(getMaxTimeNs()) + " ms)";
     }
 
     public String getName() {
         return name;
     }
 
-    public long getTimeStart() {
-        return timeStart;
+    public long getSumOfTimeNs() {
+        return sumOfTimeNs.sum();
     }
 
     public long getSumOfTimeMs() {
-        return sumOfTimeMs;
+        return getSumOfTimeNs() / NANOS_PER_MS;
     }
 
     public long getNbOccurences() {
-        return nbOccurences;
+        return nbOccurences.sum();
+    }
+
+    public long getMaxTimeNs() {
+        return maxTimeNs.get();
+    }
+
+    /**
+     * Return the percentile, from the histogram. The value is the upper bound of the bucket, then it is never under
+     * the real percentile.
+     *
+     * @param percentile percentile, 0 to 100
+     * @return the percentile in nanoseconds, 0 if there is no execution
+     */
+    public long getPercentileNs(double percentile) {
+        long[] counts = new long[NB_BUCKETS];
+        long total = 0;
+        for (int i = 0; i < NB_BUCKETS; i++) {
+            counts[i] = histogram.get(i);
+            total += counts[i];
+        }
+        if (total == 0)
+            return 0;
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+        long cumul = 0;
+        for (int i = 0; i < NB_BUCKETS; i++) {
+            cumul += counts[i];
+            if (cumul >= rank)
+                return Math.min(getBucketUpperBound(i), getMaxTimeNs());
+        }
+        return getMaxTimeNs();
+    }
+
+    /* -------------------------------------------------------------------- */
+    /*                                                                      */
+    /* Histogram                                                            */
+    /*                                                                      */
+    /* -------------------------------------------------------------------- */
+
+    private static int getBucketIndex(long value) {
+        if (value < SUB_BUCKET_COUNT)
+            return (int) value;
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) ((value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKET_COUNT - 1));
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    private static long getBucketUpperBound(int index) {
+        if (index < SUB_BUCKET_COUNT)
+            return index;
+        int exponent = index / SUB_BUCKET_COUNT + SUB_BUCKET_BITS - 1;
+        long subBucket = index % SUB_BUCKET_COUNT;
+        return ((SUB_BUCKET_COUNT + subBucket + 1) << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+
+    private static String formatMs(long valueNs) {
+        return String.format(Locale.ROOT, "%.3f", valueNs / (double) NANOS_PER_MS);
+    }
+
+    /**
+     * One execution. Close it to record the execution in the tracker.
+     */
+    public class Handle implements AutoCloseable {
+        private final long timeStartNs;
+        private long executionTimeNs = -1;
+
+        private Handle(long timeStartNs) {
+            this.timeStartNs = timeStartNs;
+        }
+
+        /**
+         * Stop the execution. The execution is recorded only one time.
+         */
+        @Override
+        public void close() {
+            if (executionTimeNs >= 0)
+                return;
+            executionTimeNs = System.nanoTime() - timeStartNs;
+            record(executionTimeNs);
+        }
+
+        /**
+         * @return the execution time in milliseconds, once the handle is closed
+         */
+        public long getExecutionTimeMs() {
+            return Math.max(0, executionTimeNs) / NANOS_PER_MS;
+        }
     }
 }
@@ -0,0 +1,345 @@
+package org.camunda.webapptranslation.tool.app;
+
+/* -------------------------------------------------------------------- */
+/*                                                                      */
+/* Dictionary JSON scanner                                              */
+/*                                                                      */
+/* Read a JSON dictionary directly on the UTF-8 bytes of the file. The  */
+/* hierarchy is flattened ("labels.APP_VENDOR"), and values are         */
+/* returned as compact DictionaryValue: a string is not decoded, it     */
+/* stays a slice of the content until someone reads it.                 */
+/*                                                                      */
+/* -------------------------------------------------------------------- */
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+public class DictionaryJsonScanner {
+
+    private final byte[] content;
+    private final int limit;
+    private int position;
+    private final StringBuilder path = new StringBuilder();
+
+    /**
+     * @param content content of the file. It is not copied: values keep a reference on it.
+     * @param offset  beginning of the JSON
+     * @param limit   end of the JSON
+     */
+    public DictionaryJsonScanner(byte[] content, int offset, int limit) {
+        this.content = content;
+        this.position = offset;
+        this.limit = limit;
+    }
+
+    /**
+     * Scan the JSON. An empty content does not produce any key. Any other content must be one object.
+     *
+     * @param consumer receive each flat key and its value
+     * @throws IOException if the JSON is malformed, is not an object, or has content after the object
+     */
+    public void scan(BiConsumer<String, Object> consumer) throws IOException {
+        skipWhitespace();
+        if (position >= limit)
+            return;
+        if (content[position] != '{')
+            throw error("'{' expected");
+        readFlatList(consumer);
+        skipWhitespace();
+        if (position != limit)
+            throw error("end of file expected");
+    }
+
+    /* -------------------------------------------------------------------- */
+    /*                                                                      */
+    /* internal                                                             */
+    /*                                                                      */
+    /* -------------------------------------------------------------------- */
+
+    /**
+     * Read an object. The path buffer contains the hierarchy ("labels.") when the method is called, and it is
+     * restored at the end.
+     */
+    private void readFlatList(BiConsumer<String, Object> consumer) throws IOException {
+        int hierarchyLength = path.length();
+        expect('{');
+        while (true) {
+            skipWhitespace();
+            if (peek() == '}') {
+                position++;
+                break;
+            }
+            path.setLength(hierarchyLength);
+            readKey();
+            skipWhitespace();
+            expect(':');
+            skipWhitespace();
+            if (peek() == '{') {
+                path.append('.');
+                readFlatList(consumer);
+            } else {
+                consumer.accept(path.toString(), readValue(true));
+            }
+            skipWhitespace();
+            byte c = next();
+            if (c == '}')
+                break;
+            if (c != ',')
+                throw error("',' or '}' expected");
+        }
+        path.setLength(hierarchyLength);
+    }
+
+    /**
+     * Read a key, and append it to the path. Keys are mainly ASCII: they are appended without any decoding.
+     */
+    private void readKey() throws IOException {
+        int start = position + 1;
+        boolean escaped = skipString();
+        int end = position - 1;
+        boolean ascii = !escaped;
+        for (int i = start; ascii && i < end; i++)
+            ascii = content[i] >= 0;
+        if (ascii) {
+            for (int i = start; i < end; i++)
+                path.append((char) content[i]);
+        } else {
+            path.append(DictionaryValue.decodeString(content, start, end - start, escaped));
+        }
+    }
+
+    /**
+     * Read a value
+     *
+     * @param compact if true, strings, numbers and lists of strings are returned as DictionaryValue
+     * @return the value
+     */
+    private Object readValue(boolean compact) throws IOException {
+        byte c = peek();
+        switch (c) {
+            case '"': {
+                int start = position + 1;
+                boolean escaped = skipString();
+                int length = position - 1 - start;
+                return compact ? DictionaryValue.ofUtf8(content, start, length, escaped)
+                        : DictionaryValue.decodeString(content, start, length, escaped);
+            }
+            case '[':
+                return readList(compact);
+            case '{':
+                return readObject();
+            case 't':
+                expectLiteral("true");
+                return Boolean.TRUE;
+            case 'f':
+                expectLiteral("false");
+                return Boolean.FALSE;
+            case 'n':
+                expectLiteral("null");
+                return null;
+            default:
+                return readNumber(compact);
+        }
+    }
+
+    /**
+     * A list of strings (monthsShort...) is kept as a String array. Any other list is a List of values.
+     */
+    private Object readList(boolean compact) throws IOException {
+        expect('[');
+        List<Object> list = new ArrayList<>();
+        boolean onlyStrings = true;
+        while (true) {
+            skipWhitespace();
+            if (peek() == ']') {
+                position++;
+                break;
+            }
+            Object item = readValue(false);
+            onlyStrings = onlyStrings && item instanceof String;
+            list.add(item);
+            skipWhitespace();
+            byte c = next();
+            if (c == ']')
+                break;
+            if (c != ',')
+                throw error("',' or ']' expected");
+        }
+        if (compact && onlyStrings)
+            return DictionaryValue.ofStringArray(list.toArray(new String[0]));
+        return list;
+    }
+
+    /**
+     * An object inside a list is not flattened: it is kept as a Map
+     */
+    private Map<String, Object> readObject() throws IOException {
+        expect('{');
+        Map<String, Object> map = new LinkedHashMap<>();
+        while (true) {
+            skipWhitespace();
+            if (peek() == '}') {
+                position++;
+                break;
+            }
+            int start = position + 1;
+            boolean escaped = skipString();
+            String key = DictionaryValue.decodeString(content, start, position - 1 - start, escaped);
+            skipWhitespace();
+            expect(':');
+            skipWhitespace();
+            map.put(key, readValue(false));
+            skipWhitespace();
+            byte c = next();
+            if (c == '}')
+                break;
+            if (c != ',')
+                throw error("',' or '}' expected");
+        }
+        return map;
+    }
+
+    /**
+     * An integer is a long, any other number a double. The number follows the JSON grammar: -12, 3.5, 1e-3
+     */
+    private Object readNumber(boolean compact) throws IOException {
+        int start = position;
+        boolean negative = position < limit && content[position] == '-';
+        if (negative)
+            position++;
+        else if (position < limit && !isDigit(content[position]))
+            throw error("value expected");
+        skipDigits();
+        boolean integer = true;
+        if (position < limit && content[position] == '.') {
+            integer = false;
+            position++;
+            skipDigits();
+        }
+        if (position < limit && (content[position] == 'e' || content[position] == 'E')) {
+            integer = false;
+            position++;
+            if (position < limit && (content[position] == '-' || content[position] == '+'))
+                position++;
+            skipDigits();
+        }
+        // more than 18 digits may overflow a long
+        if (integer && position - start <= 18) {
+            long value = 0;
+            for (int i = negative ? start + 1 : start; i < position; i++)
+                value = value * 10 + (content[i] - '0');
+            value = negative ? -value : value;
+            return compact ? DictionaryValue.ofLong(value) : (Object) value;
+        }
+        try {
+            double value = Double.parseDouble(new String(content, start, position - start, StandardCharsets.ISO_8859_1));
+            return compact ? DictionaryValue.ofDouble(value) : (Object) value;
+        } catch (NumberFormatException e) {
+            throw error("malformed number");
+        }
+    }
+
+    /**
+     * Skip at least one digit
+     */
+    private void skipDigits() throws IOException {
+        int start = position;
+        while (position < limit && isDigit(content[position]))
+            position++;
+        if (position == start)
+            throw error("digit expected");
+    }
+
+    private static boolean isDigit(byte c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /**
+     * Skip a string. The position is on the opening quote, and is after the closing quote at the end. Escape
+     * sequences are checked here: the string is decoded later, when the value is read, and must not fail then.
+     *
+     * @return true if the string contains an escape sequence
+     */
+    private boolean skipString() throws IOException {
+        expect('"');
+        boolean escaped = false;
+        while (position < limit) {
+            byte c = content[position++];
+            if (c == '"')
+                return escaped;
+            if (c == '\\') {
+                escaped = true;
+                skipEscape();
+            }
+        }
+        throw error("unterminated string");
+    }
+
+    /**
+     * Skip an escape sequence. The position is after the backslash.
+     */
+    private void skipEscape() throws IOException {
+        byte c = next();
+        switch (c) {
+            case '"':
+            case '\\':
+            case '/':
+            case 'b':
+            case 'f':
+            case 'n':
+            case 'r':
+            case 't':
+                return;
+            case 'u':
+                for (int i = 0; i < 4; i++) {
+                    if (Character.digit(next(), 16) < 0)
+                        throw error("4 hexadecimal digits expected after \\u");
+                }
+                return;
+            default:
+                throw error("invalid escape sequence '\\" + (char) c + "'");
+        }
+    }
+
+    private void expectLiteral(String literal) throws IOException {
+        for (int i = 0; i < literal.length(); i++) {
+            if (next() != literal.charAt(i))
+                throw error("'" + literal + "' expected");
+        }
+    }
+
+    private void skipWhitespace() {
+        while (position < limit) {
+            byte c = content[position];
+            if (c != ' ' && c != '\n' && c != '\r' && c != '\t')
+                return;
+            position++;
+        }
+    }
+
+    private void expect(char expected) throws IOException {
+        if (next() != expected)
+            throw error("'" + expected + "' expected");
+    }
+
+    private byte peek() throws IOException {
+        if (position >= limit)
+            throw error("unexpected end of file");
+        return content[position];
+    }
+
+    private byte next() throws IOException {
+        byte c = peek();
+        position++;
+        return c;
+    }
+
+    private IOException error(String message) {
+        return new IOException("Malformed JSON at position " + position + ": " + message);
+    }
+}
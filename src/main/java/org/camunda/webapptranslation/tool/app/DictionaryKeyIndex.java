@@ -0,0 +1,53 @@
+package org.camunda.webapptranslation.tool.app;
+
+/* -------------------------------------------------------------------- */
+/*                                                                      */
+/* Dictionary key index                                                 */
+/*                                                                      */
+/* Give a dense ordinal to each key of a reference dictionary, in the   */
+/* hierarchy order. The comparison of a dictionary with the reference   */
+/* keeps a bitset over the ordinals instead of a copy of the key names: */
+/* the names are stored one time per reference, and read only to        */
+/* report them.                                                         */
+/*                                                                      */
+/* -------------------------------------------------------------------- */
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+public class DictionaryKeyIndex {
+
+    private final String[] keys;
+
+    /**
+     * @param dictionary dictionary: ordinals follow the order of the iteration (hierarchy order)
+     */
+    DictionaryKeyIndex(DictionaryTrie dictionary) {
+        keys = dictionary.keySet().toArray(new String[0]);
+    }
+
+    /**
+     * @return the number of keys, ordinals are from 0 to size()-1
+     */
+    public int size() {
+        return keys.length;
+    }
+
+    public String getKey(int ordinal) {
+        return keys[ordinal];
+    }
+
+    /**
+     * Return the keys of the ordinals
+     *
+     * @param ordinals ordinals
+     * @return keys, in the order of ordinals
+     */
+    public List<String> getKeys(BitSet ordinals) {
+        List<String> listKeys = new ArrayList<>(ordinals.cardinality());
+        for (int ordinal = ordinals.nextSetBit(0); ordinal >= 0 && ordinal < keys.length; ordinal = ordinals.nextSetBit(ordinal + 1))
+            listKeys.add(keys[ordinal]);
+        return listKeys;
+    }
+}
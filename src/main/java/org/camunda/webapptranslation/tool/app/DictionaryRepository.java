@@ -0,0 +1,179 @@
+package org.camunda.webapptranslation.tool.app;
+
+/* -------------------------------------------------------------------- */
+/*                                                                      */
+/* Dictionary repository                                                */
+/*                                                                      */
+/* Each dictionary file is parsed only one time per run. Detection,     */
+/* encyclopedia and completion ask the repository, which keeps the      */
+/* parsed dictionary per file, as long as the file does not change      */
+/* (same modification time, same length).                               */
+/* With a snapshot, a file whose content did not change since the       */
+/* previous run is not parsed at all.                                   */
+/* The repository is used by parallel tasks: a file is parsed by one    */
+/* thread, the others wait for the result.                              */
+/*                                                                      */
+/* -------------------------------------------------------------------- */
+
+import org.camunda.webapptranslation.tool.report.ReportInt;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class DictionaryRepository {
+
+    private final Map<String, RepositoryEntry> allEntries = new ConcurrentHashMap<>();
+    private final Map<String, HashEntry> allHashes = new ConcurrentHashMap<>();
+    /**
+     * Segments of keys of all dictionaries read during the run. The table lives with the repository.
+     */
+    private final DictionarySegments segments = new DictionarySegments();
+    private volatile DictionarySnapshot dictionarySnapshot = null;
+
+    /**
+     * @return the table of segments of the run: dictionaries built outside the repository use it to share segments
+     */
+    public DictionarySegments getSegments() {
+        return segments;
+    }
+
+    /**
+     * Use a snapshot: dictionaries are searched first in the snapshot, and parsed dictionaries are registered in it
+     *
+     * @param dictionarySnapshot snapshot, already loaded
+     */
+    public void setSnapshot(DictionarySnapshot dictionarySnapshot) {
+        this.dictionarySnapshot = dictionarySnapshot;
+    }
+
+    /**
+     * Return the dictionary. The object is shared between all callers: it must not be modified.
+     * Use getDictionaryCopy() to get a dictionary to modify.
+     *
+     * @param folder   folder where the dictionary is located
+     * @param language language of the dictionary
+     * @param report   report used to report any error
+     * @return the dictionary, null if the file can't be read (the error is reported the first time)
+     */
+    public AppDictionary getDictionary(File folder, String language, ReportInt report) {
+        AppDictionary dictionary = new AppDictionary(folder, language, segments);
+        File file = dictionary.getFile();
+        String path = file.getAbsolutePath();
+        long lastModified = file.lastModified();
+        long length = file.length();
+
+        RepositoryEntry entry = allEntries.computeIfAbsent(path, key -> new RepositoryEntry());
+        synchronized (entry) {
+            if (entry.loaded && entry.lastModified == lastModified && entry.length == length)
+                return entry.dictionary;
+
+            try (AppTimeTracker.Handle timer = AppTimeTracker.getTimeTracker("readDictionary").startTimer()) {
+                if (dictionarySnapshot == null)
+                    dictionary = dictionary.read(report) ? dictionary : null;
+                else
+                    dictionary = readWithSnapshot(dictionary, report);
+            }
+
+            entry.loaded = true;
+            entry.lastModified = lastModified;
+            entry.length = length;
+            entry.dictionary = dictionary;
+            return entry.dictionary;
+        }
+    }
+
+    /**
+     * Return a copy of the dictionary: the copy can be modified, the repository keeps the dictionary as it is on the disk.
+     *
+     * @param folder   folder where the dictionary is located
+     * @param language language of the dictionary
+     * @param report   report used to report any error
+     * @return a copy of the dictionary, null if the file can't be read
+     */
+    public AppDictionary getDictionaryCopy(File folder, String language, ReportInt report) {
+        AppDictionary dictionary = getDictionary(folder, language, report);
+        return dictionary == null ? null : dictionary.copy();
+    }
+
+    /**
+     * Return the content hash of a dictionary file, as an hexadecimal string. The hash is kept as long as the file
+     * does not change.
+     *
+     * @param file dictionary file
+     * @return the hash, null if the file does not exist or can't be read
+     */
+    public String getContentHash(File file) {
+        if (!file.isFile())
+            return null;
+        String path = file.getAbsolutePath();
+        long lastModified = file.lastModified();
+        long length = file.length();
+        HashEntry entry = allHashes.get(path);
+        if (entry != null && entry.lastModified == lastModified && entry.length == length)
+            return entry.contentHash;
+        try {
+            byte[] hash = DictionarySnapshot.getContentHash(AppDictionarySerialize.readContent(file));
+            StringBuilder hexa = new StringBuilder();
+            for (byte b : hash)
+                hexa.append(String.format("%02x", b));
+            entry = new HashEntry();
+            entry.lastModified = lastModified;
+            entry.length = length;
+            entry.contentHash = hexa.toString();
+            allHashes.put(path, entry);
+            return entry.contentHash;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * Read the file content, then get the dictionary from the snapshot if the content did not change, else parse it
+     *
+     * @param dictionary dictionary to read
+     * @param report     report used to report any error
+     * @return the dictionary from the snapshot, or the dictionary parsed. Null if the file can't be read
+     */
+    private AppDictionary readWithSnapshot(AppDictionary dictionary, ReportInt report) {
+        File file = dictionary.getFile();
+        ByteBuffer content;
+        try {
+            content = AppDictionarySerialize.readContent(file);
+        } catch (Exception e) {
+            report.severe(AppDictionary.class, String.format(" Error during reading dictionary [%s] file[%s]", dictionary.getLanguage(), file.getAbsolutePath()), e);
+            return null;
+        }
+        byte[] contentHash = DictionarySnapshot.getContentHash(content);
+        AppDictionary snapshotDictionary = dictionarySnapshot.getDictionary(file, contentHash);
+        if (snapshotDictionary != null)
+            return snapshotDictionary;
+        if (!dictionary.read(content, report))
+            return null;
+        dictionarySnapshot.register(file, contentHash, dictionary);
+        return dictionary;
+    }
+
+    /**
+     * One parsed file. The entry is locked during the parsing.
+     */
+    private static class RepositoryEntry {
+        boolean loaded = false;
+        long lastModified;
+        long length;
+        /**
+         * null if the file can't be read
+         */
+        AppDictionary dictionary;
+    }
+
+    /**
+     * Content hash of one file
+     */
+    private static class HashEntry {
+        long lastModified;
+        long length;
+        String contentHash;
+    }
+}
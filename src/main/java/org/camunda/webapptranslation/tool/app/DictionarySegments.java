@@ -0,0 +1,40 @@
+package org.camunda.webapptranslation.tool.app;
+
+/* -------------------------------------------------------------------- */
+/*                                                                      */
+/* Dictionary segments                                                  */
+/*                                                                      */
+/* Table of the key segments ("labels", "APP_VENDOR") shared by the     */
+/* tries of a run: a segment is stored one time for all dictionaries    */
+/* of all languages, and the comparison of two tries finds the same     */
+/* segment object. The table belongs to the run (the repository): it    */
+/* is released with it, nothing is kept from one run to the next.       */
+/*                                                                      */
+/* -------------------------------------------------------------------- */
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class DictionarySegments {
+
+    /**
+     * Dictionaries are read by parallel tasks
+     */
+    private final Map<String, String> allSegments = new ConcurrentHashMap<>();
+
+    /**
+     * @param segment segment of a key
+     * @return the segment object shared by all tries using this table
+     */
+    public String getSegment(String segment) {
+        String sharedSegment = allSegments.putIfAbsent(segment, segment);
+        return sharedSegment == null ? segment : sharedSegment;
+    }
+
+    /**
+     * @return the number of different segments
+     */
+    public int size() {
+        return allSegments.size();
+    }
+}
@@ -0,0 +1,287 @@
+package org.camunda.webapptranslation.tool.app;
+
+/* -------------------------------------------------------------------- */
+/*                                                                      */
+/* Dictionary snapshot                                                  */
+/*                                                                      */
+/* Keep on disk, in a compact binary format, all flat dictionaries     */
+/* parsed during a run. Each dictionary is saved with the content hash  */
+/* of its file: on the next run, a file with the same content is not    */
+/* parsed again, the dictionary comes from the snapshot.                */
+/*                                                                      */
+/* -------------------------------------------------------------------- */
+
+import org.camunda.webapptranslation.tool.report.ReportInt;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+
+public class DictionarySnapshot {
+
+    private static final int SNAPSHOT_MAGIC = 0x53594E54; // "SYNT"
+    private static final int SNAPSHOT_VERSION = 2;
+
+    private static final byte VALUE_NULL = 0;
+    private static final byte VALUE_STRING = 1;
+    private static final byte VALUE_DOUBLE = 2;
+    private static final byte VALUE_INTEGER = 3;
+    private static final byte VALUE_LONG = 4;
+    private static final byte VALUE_BOOLEAN = 5;
+    private static final byte VALUE_LIST = 6;
+    private static final byte VALUE_MAP = 7;
+
+    private final File snapshotFile;
+    /**
+     * Segments of the dictionaries loaded
+     */
+    private final DictionarySegments segments;
+    /**
+     * Dictionaries loaded from the snapshot file, per file path
+     */
+    private final Map<String, SnapshotEntry> loadedEntries = new HashMap<>();
+    /**
+     * Dictionaries used during this run: they will be saved in the snapshot
+     */
+    private final Map<String, SnapshotEntry> runEntries = new LinkedHashMap<>();
+
+    private int nbReused = 0;
+    private int nbParsed = 0;
+
+    /**
+     * @param snapshotFile file of the snapshot
+     * @param segments     table of segments of the run, shared with the dictionaries parsed
+     */
+    public DictionarySnapshot(File snapshotFile, DictionarySegments segments) {
+        this.snapshotFile = snapshotFile;
+        this.segments = segments;
+    }
+
+    /**
+     * Calculate the content hash of a file
+     *
+     * @param content content of the file. The position of the buffer is not modified.
+     * @return the hash
+     */
+    public static byte[] getContentHash(ByteBuffer content) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            messageDigest.update(content.duplicate());
+            return messageDigest.digest();
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 is mandatory on every Java platform
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Load the snapshot file, in one sequential read. If the file does not exist or is not a snapshot, nothing is loaded
+     *
+     * @param report report used to report any error
+     */
+    public void load(ReportInt report) {
+        if (!snapshotFile.exists())
+            return;
+        try (AppTimeTracker.Handle timer = AppTimeTracker.getTimeTracker("readSnapshot").startTimer();
+             DataInputStream input = new DataInputStream(new ByteArrayInputStream(Files.readAllBytes(snapshotFile.toPath())))) {
+            if (input.readInt() != SNAPSHOT_MAGIC || input.readInt() != SNAPSHOT_VERSION) {
+                report.info(DictionarySnapshot.class, "Snapshot [" + snapshotFile.getAbsolutePath() + "] has a different format, ignored");
+                return;
+            }
+            int nbEntries = input.readInt();
+            for (int i = 0; i < nbEntries; i++) {
+                SnapshotEntry entry = new SnapshotEntry();
+                String path = readString(input);
+                entry.contentHash = new byte[input.readInt()];
+                input.readFully(entry.contentHash);
+                File file = new File(path);
+                String language = readString(input);
+                entry.dictionary = new AppDictionary(file.getParentFile(), language, segments);
+                int nbKeys = input.readInt();
+                for (int k = 0; k < nbKeys; k++) {
+                    String key = readString(input);
+                    entry.dictionary.addKey(key, readValue(input));
+                }
+                entry.dictionary.resetModified();
+                loadedEntries.put(path, entry);
+            }
+        } catch (Exception e) {
+            report.severe(DictionarySnapshot.class, "Error reading snapshot [" + snapshotFile.getAbsolutePath() + "], ignored", e);
+            loadedEntries.clear();
+        }
+    }
+
+    /**
+     * Return the dictionary saved in the snapshot for this file, if the content of the file did not change
+     *
+     * @param file        dictionary file
+     * @param contentHash hash of the current content of the file
+     * @return the dictionary, or null if the snapshot does not have it
+     */
+    public synchronized AppDictionary getDictionary(File file, byte[] contentHash) {
+        String path = file.getAbsolutePath();
+        SnapshotEntry entry = loadedEntries.get(path);
+        if (entry == null || !Arrays.equals(entry.contentHash, contentHash))
+            return null;
+        runEntries.put(path, entry);
+        nbReused++;
+        return entry.dictionary;
+    }
+
+    /**
+     * Register a dictionary parsed during this run, to save it in the snapshot
+     *
+     * @param file        dictionary file
+     * @param contentHash hash of the content of the file
+     * @param dictionary  dictionary parsed
+     */
+    public synchronized void register(File file, byte[] contentHash, AppDictionary dictionary) {
+        SnapshotEntry entry = new SnapshotEntry();
+        entry.contentHash = contentHash;
+        entry.dictionary = dictionary;
+        runEntries.put(file.getAbsolutePath(), entry);
+        nbParsed++;
+    }
+
+    /**
+     * Save the snapshot with all dictionaries used during this run. Call it when all tasks are finished.
+     *
+     * @param report report used to report any error
+     * @return true if the snapshot was saved
+     */
+    public boolean save(ReportInt report) {
+        File temporaryFile = new File(snapshotFile.getAbsolutePath() + ".tmp");
+        try (AppTimeTracker.Handle timer = AppTimeTracker.getTimeTracker("writeSnapshot").startTimer()) {
+            try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temporaryFile)))) {
+                output.writeInt(SNAPSHOT_MAGIC);
+                output.writeInt(SNAPSHOT_VERSION);
+                output.writeInt(runEntries.size());
+                for (Map.Entry<String, SnapshotEntry> entry : runEntries.entrySet()) {
+                    writeString(output, entry.getKey());
+                    output.writeInt(entry.getValue().contentHash.length);
+                    output.write(entry.getValue().contentHash);
+                    writeString(output, entry.getValue().dictionary.getLanguage());
+                    Map<String, Object> dictionary = entry.getValue().dictionary.getDictionary();
+                    output.writeInt(dictionary.size());
+                    for (Map.Entry<String, Object> keyValue : dictionary.entrySet()) {
+                        writeString(output, keyValue.getKey());
+                        writeValue(output, keyValue.getValue());
+                    }
+                }
+            }
+            Files.move(temporaryFile.toPath(), snapshotFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            report.info(DictionarySnapshot.class, "Snapshot: " + nbReused + " dictionaries reused, " + nbParsed + " parsed, saved in [" + snapshotFile.getAbsolutePath() + "]");
+            return true;
+        } catch (Exception e) {
+            report.severe(DictionarySnapshot.class, "Error writing snapshot [" + snapshotFile.getAbsolutePath() + "]", e);
+            return false;
+        }
+    }
+
+    /* -------------------------------------------------------------------- */
+    /*                                                                      */
+    /* Binary format                                                        */
+    /*                                                                      */
+    /* -------------------------------------------------------------------- */
+
+    private static void writeString(DataOutputStream output, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    private static String readString(DataInputStream input) throws IOException {
+        byte[] bytes = new byte[input.readInt()];
+        input.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Write a value, as it is materialized by the dictionary (String, Long, Double, List...)
+     */
+    private static void writeValue(DataOutputStream output, Object value) throws IOException {
+        if (value == null) {
+            output.writeByte(VALUE_NULL);
+        } else if (value instanceof String) {
+            output.writeByte(VALUE_STRING);
+            writeString(output, (String) value);
+        } else if (value instanceof Double) {
+            output.writeByte(VALUE_DOUBLE);
+            output.writeDouble((Double) value);
+        } else if (value instanceof Integer) {
+            output.writeByte(VALUE_INTEGER);
+            output.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            output.writeByte(VALUE_LONG);
+            output.writeLong((Long) value);
+        } else if (value instanceof Boolean) {
+            output.writeByte(VALUE_BOOLEAN);
+            output.writeBoolean((Boolean) value);
+        } else if (value instanceof List) {
+            output.writeByte(VALUE_LIST);
+            List<?> list = (List<?>) value;
+            output.writeInt(list.size());
+            for (Object item : list)
+                writeValue(output, item);
+        } else if (value instanceof Map) {
+            output.writeByte(VALUE_MAP);
+            Map<?, ?> map = (Map<?, ?>) value;
+            output.writeInt(map.size());
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                writeString(output, entry.getKey().toString());
+                writeValue(output, entry.getValue());
+            }
+        } else {
+            throw new IOException("Value class [" + value.getClass().getName() + "] can't be saved in the snapshot");
+        }
+    }
+
+    private static Object readValue(DataInputStream input) throws IOException {
+        byte type = input.readByte();
+        switch (type) {
+            case VALUE_NULL:
+                return null;
+            case VALUE_STRING:
+                return readString(input);
+            case VALUE_DOUBLE:
+                return input.readDouble();
+            case VALUE_INTEGER:
+                return input.readInt();
+            case VALUE_LONG:
+                return input.readLong();
+            case VALUE_BOOLEAN:
+                return input.readBoolean();
+            case VALUE_LIST: {
+                int size = input.readInt();
+                List<Object> list = new ArrayList<>(size);
+                for (int i = 0; i < size; i++)
+                    list.add(readValue(input));
+                return list;
+            }
+            case VALUE_MAP: {
+                int size = input.readInt();
+                Map<String, Object> map = new LinkedHashMap<>();
+                for (int i = 0; i < size; i++) {
+                    String key = readString(input);
+                    map.put(key, readValue(input));
+                }
+                return map;
+            }
+            default:
+                throw new IOException("Unknown value type [" + type + "] in the snapshot");
+        }
+    }
+
+    /**
+     * One dictionary in the snapshot
+     */
+    private static class SnapshotEntry {
+        byte[] contentHash;
+        AppDictionary dictionary;
+    }
+}
@@ -0,0 +1,587 @@
+package org.camunda.webapptranslation.tool.app;
+
+/* -------------------------------------------------------------------- */
+/*                                                                      */
+/* Dictionary trie                                                      */
+/*                                                                      */
+/* Storage of a flat dictionary ("labels.APP_VENDOR") as a hierarchy of */
+/* segments ("labels" -> "APP_VENDOR"). The long prefixes are stored    */
+/* one time, and segments are shared, through a DictionarySegments     */
+/* table, between all dictionaries of a run. Children are sorted: the   */
+/* iteration returns keys in the hierarchy order, the order used to     */
+/* write the JSON file. A node without value and without children is   */
+/* removed with its last key.                                           */
+/* A compact DictionaryValue is materialized the first time the value   */
+/* is read, and replaced in the node.                                   */
+/*                                                                      */
+/* -------------------------------------------------------------------- */
+
+import java.util.*;
+
+public class DictionaryTrie extends AbstractMap<String, Object> {
+
+    private static final char SEPARATOR = '.';
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    /**
+     * Segments, shared between all dictionaries using the same table
+     */
+    private final DictionarySegments segments;
+
+    private final Node root = new Node(null);
+    private int size = 0;
+    /**
+     * Incremented each time a key is added or removed
+     */
+    private int modificationCount = 0;
+    private EntrySet entrySet = null;
+
+    /**
+     * The trie has its own table of segments
+     */
+    public DictionaryTrie() {
+        this(new DictionarySegments());
+    }
+
+    /**
+     * @param segments table of segments, shared with the other dictionaries of the run
+     */
+    public DictionaryTrie(DictionarySegments segments) {
+        this.segments = segments;
+    }
+
+    /**
+     * Copy a trie. Values and the table of segments are shared, the structure is copied: keys can be added or
+     * removed in the copy.
+     *
+     * @param source trie to copy
+     */
+    public DictionaryTrie(DictionaryTrie source) {
+        segments = source.segments;
+        copyChildren(source.root, root);
+        size = source.size;
+    }
+
+    /* -------------------------------------------------------------------- */
+    /*                                                                      */
+    /* Map                                                                  */
+    /*                                                                      */
+    /* -------------------------------------------------------------------- */
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        if (!(key instanceof String))
+            return false;
+        Node node = getNode((String) key, false);
+        return node != null && node.hasValue;
+    }
+
+    @Override
+    public Object get(Object key) {
+        if (!(key instanceof String))
+            return null;
+        Node node = getNode((String) key, false);
+        return node != null && node.hasValue ? node.getValue() : null;
+    }
+
+    /**
+     * Return the type of the value, without materializing it
+     *
+     * @param key flat key
+     * @return the type of the value, null if the key does not exist
+     */
+    public DictionaryValue.ValueType getValueType(String key) {
+        Node node = getNode(key, false);
+        return node != null && node.hasValue ? DictionaryValue.getType(node.value) : null;
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        Node node = getNode(key, true);
+        Object previousValue = node.hasValue ? node.getValue() : null;
+        if (!node.hasValue) {
+            size++;
+            modificationCount++;
+        }
+        node.hasValue = true;
+        node.value = value;
+        return previousValue;
+    }
+
+    @Override
+    public Object remove(Object key) {
+        if (!(key instanceof String))
+            return null;
+        String flatKey = (String) key;
+        // parents of the node, to remove the nodes left empty
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        int start = 0;
+        while (true) {
+            int end = flatKey.indexOf(SEPARATOR, start);
+            if (end == -1)
+                end = flatKey.length();
+            int index = node.search(flatKey, start, end);
+            if (index < 0)
+                return null;
+            path.add(node);
+            node = node.children[index];
+            if (end == flatKey.length())
+                break;
+            start = end + 1;
+        }
+        if (!node.hasValue)
+            return null;
+        Object previousValue = removeValue(node);
+        for (int level = path.size() - 1; level >= 0 && node.isEmpty(); level--) {
+            path.get(level).removeChild(node);
+            node = path.get(level);
+        }
+        return previousValue;
+    }
+
+    @Override
+    public void clear() {
+        root.children = NO_CHILDREN;
+        root.nbChildren = 0;
+        size = 0;
+        modificationCount++;
+    }
+
+    /**
+     * @return a counter incremented each time a key is added or removed: the list of keys did not change while it
+     * keeps the same value
+     */
+    public int getModificationCount() {
+        return modificationCount;
+    }
+
+    /**
+     * Entries are returned in the hierarchy order: "labels.ABORT", "labels.APP_VENDOR", "labels-old"
+     *
+     * @return the set of entries
+     */
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        if (entrySet == null)
+            entrySet = new EntrySet();
+        return entrySet;
+    }
+
+    /* -------------------------------------------------------------------- */
+    /*                                                                      */
+    /* Comparison                                                           */
+    /*                                                                      */
+    /* -------------------------------------------------------------------- */
+
+    /**
+     * Receive the result of the comparison between a reference trie and a local trie, in the hierarchy order.
+     */
+    public interface ComparisonListener {
+        /**
+         * Called for each key of the reference, in the order of the iteration on the reference: the ordinal of the
+         * key (see DictionaryKeyIndex) is the number of calls before. Values are not materialized.
+         *
+         * @param referenceType type of the value in the reference
+         * @param localType     type of the value in the local trie, null if the key does not exist in the local trie
+         */
+        void referenceKey(DictionaryValue.ValueType referenceType, DictionaryValue.ValueType localType);
+
+        /**
+         * Called for each key of the local trie which does not exist in the reference
+         */
+        void onlyInLocal(String key, DictionaryValue.ValueType localType);
+    }
+
+    /**
+     * Compare two tries in one pass: children of both tries are sorted, then they are merged level by level. A key is
+     * built only when it exists only in the local trie.
+     *
+     * @param reference reference trie
+     * @param local     trie to compare with the reference
+     * @param listener  receive the result
+     */
+    public static void compare(DictionaryTrie reference, DictionaryTrie local, ComparisonListener listener) {
+        compareChildren(reference.root, local.root, new StringBuilder(), listener);
+    }
+
+    private static void compareChildren(Node referenceNode, Node localNode, StringBuilder path, ComparisonListener listener) {
+        int pathLength = path.length();
+        int referenceIndex = 0;
+        int localIndex = 0;
+        while (referenceIndex < referenceNode.nbChildren || localIndex < localNode.nbChildren) {
+            Node referenceChild = referenceIndex < referenceNode.nbChildren ? referenceNode.children[referenceIndex] : null;
+            Node localChild = localIndex < localNode.nbChildren ? localNode.children[localIndex] : null;
+            int comparison;
+            if (referenceChild == null)
+                comparison = 1;
+            else if (localChild == null)
+                comparison = -1;
+            else // segments are shared between tries: most of the time, the same object
+                comparison = referenceChild.segment == localChild.segment ? 0 : referenceChild.segment.compareTo(localChild.segment);
+
+            if (comparison < 0) {
+                visitReferenceSubTree(referenceChild, listener);
+                referenceIndex++;
+            } else if (comparison > 0) {
+                appendSegment(path, pathLength, localChild.segment);
+                visitLocalSubTree(localChild, path, listener);
+                localIndex++;
+            } else {
+                appendSegment(path, pathLength, localChild.segment);
+                if (referenceChild.hasValue)
+                    listener.referenceKey(DictionaryValue.getType(referenceChild.value),
+                            localChild.hasValue ? DictionaryValue.getType(localChild.value) : null);
+                else if (localChild.hasValue)
+                    listener.onlyInLocal(path.toString(), DictionaryValue.getType(localChild.value));
+                compareChildren(referenceChild, localChild, path, listener);
+                referenceIndex++;
+                localIndex++;
+            }
+        }
+        path.setLength(pathLength);
+    }
+
+    /**
+     * All keys of a sub tree exist only in the reference. Keys are not built.
+     */
+    private static void visitReferenceSubTree(Node node, ComparisonListener listener) {
+        if (node.hasValue)
+            listener.referenceKey(DictionaryValue.getType(node.value), null);
+        for (int i = 0; i < node.nbChildren; i++)
+            visitReferenceSubTree(node.children[i], listener);
+    }
+
+    /**
+     * All keys of a sub tree exist only in the local trie
+     */
+    private static void visitLocalSubTree(Node node, StringBuilder path, ComparisonListener listener) {
+        if (node.hasValue)
+            listener.onlyInLocal(path.toString(), DictionaryValue.getType(node.value));
+        int pathLength = path.length();
+        for (int i = 0; i < node.nbChildren; i++) {
+            appendSegment(path, pathLength, node.children[i].segment);
+            visitLocalSubTree(node.children[i], path, listener);
+        }
+        path.setLength(pathLength);
+    }
+
+    private static void appendSegment(StringBuilder path, int pathLength, String segment) {
+        path.setLength(pathLength);
+        if (pathLength > 0)
+            path.append(SEPARATOR);
+        path.append(segment);
+    }
+
+    /* -------------------------------------------------------------------- */
+    /*                                                                      */
+    /* internal                                                             */
+    /*                                                                      */
+    /* -------------------------------------------------------------------- */
+
+    /**
+     * Navigate to the node of the key. The key is not split: each segment is compared in place.
+     *
+     * @param key    flat key
+     * @param create if true, missing nodes are created
+     * @return the node, null if it does not exist and create is false
+     */
+    private Node getNode(String key, boolean create) {
+        Node node = root;
+        int start = 0;
+        while (true) {
+            int end = key.indexOf(SEPARATOR, start);
+            if (end == -1)
+                end = key.length();
+            int index = node.search(key, start, end);
+            if (index < 0) {
+                if (!create)
+                    return null;
+                index = -index - 1;
+                node.insert(index, segments.getSegment(key.substring(start, end)));
+            }
+            node = node.children[index];
+            if (end == key.length())
+                return node;
+            start = end + 1;
+        }
+    }
+
+    private Object removeValue(Node node) {
+        Object previousValue = node.getValue();
+        node.hasValue = false;
+        node.value = null;
+        size--;
+        modificationCount++;
+        return previousValue;
+    }
+
+    /**
+     * Remove the children without value and without children, in the sub tree
+     */
+    private static void pruneChildren(Node node) {
+        int nbKept = 0;
+        for (int i = 0; i < node.nbChildren; i++) {
+            Node child = node.children[i];
+            pruneChildren(child);
+            if (!child.isEmpty())
+                node.children[nbKept++] = child;
+        }
+        Arrays.fill(node.children, nbKept, node.nbChildren, null);
+        node.nbChildren = nbKept;
+        if (nbKept == 0)
+            node.children = NO_CHILDREN;
+    }
+
+    private static void copyChildren(Node source, Node destination) {
+        destination.children = source.nbChildren == 0 ? NO_CHILDREN : new Node[source.nbChildren];
+        destination.nbChildren = source.nbChildren;
+        for (int i = 0; i < source.nbChildren; i++) {
+            Node child = new Node(source.children[i].segment);
+            child.hasValue = source.children[i].hasValue;
+            child.value = source.children[i].value;
+            copyChildren(source.children[i], child);
+            destination.children[i] = child;
+        }
+    }
+
+    /**
+     * One segment of a key. A node may have a value ("labels.ABORT") and children.
+     */
+    private static class Node {
+        private final String segment;
+        private Node[] children = NO_CHILDREN;
+        private int nbChildren = 0;
+        private boolean hasValue = false;
+        private Object value;
+
+        Node(String segment) {
+            this.segment = segment;
+        }
+
+        /**
+         * Return the value, materialized. Two threads may materialize the same value: both results are equal, and
+         * materialized values are immutable (String, Long, Double, unmodifiable List), so they are safely shared.
+         */
+        Object getValue() {
+            if (value instanceof DictionaryValue)
+                value = ((DictionaryValue) value).materialize();
+            return value;
+        }
+
+        /**
+         * Binary search of the segment key[start, end] in children
+         *
+         * @return the index of the child, or (-(insertion point) - 1) if the child does not exist
+         */
+        int search(String key, int start, int end) {
+            int low = 0;
+            int high = nbChildren - 1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                int comparison = compareSegment(children[middle].segment, key, start, end);
+                if (comparison < 0)
+                    low = middle + 1;
+                else if (comparison > 0)
+                    high = middle - 1;
+                else
+                    return middle;
+            }
+            return -(low + 1);
+        }
+
+        boolean isEmpty() {
+            return !hasValue && nbChildren == 0;
+        }
+
+        void removeChild(Node child) {
+            int index = search(child.segment, 0, child.segment.length());
+            if (index < 0)
+                return;
+            System.arraycopy(children, index + 1, children, index, nbChildren - index - 1);
+            children[--nbChildren] = null;
+            if (nbChildren == 0)
+                children = NO_CHILDREN;
+        }
+
+        void insert(int index, String segment) {
+            if (nbChildren == children.length)
+                children = Arrays.copyOf(children, Math.max(4, nbChildren * 2));
+            System.arraycopy(children, index, children, index + 1, nbChildren - index);
+            children[index] = new Node(segment);
+            nbChildren++;
+        }
+
+        /**
+         * Compare the segment with key[start, end], as String.compareTo()
+         */
+        private static int compareSegment(String segment, String key, int start, int end) {
+            int length = Math.min(segment.length(), end - start);
+            for (int i = 0; i < length; i++) {
+                char c1 = segment.charAt(i);
+                char c2 = key.charAt(start + i);
+                if (c1 != c2)
+                    return c1 - c2;
+            }
+            return segment.length() - (end - start);
+        }
+    }
+
+    private class EntrySet extends AbstractSet<Entry<String, Object>> {
+        @Override
+        public Iterator<Entry<String, Object>> iterator() {
+            return new EntryIterator();
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public void clear() {
+            DictionaryTrie.this.clear();
+        }
+    }
+
+    private class TrieEntry implements Entry<String, Object> {
+        private final String key;
+        private final Node node;
+
+        TrieEntry(String key, Node node) {
+            this.key = key;
+            this.node = node;
+        }
+
+        @Override
+        public String getKey() {
+            return key;
+        }
+
+        @Override
+        public Object getValue() {
+            return node.getValue();
+        }
+
+        @Override
+        public Object setValue(Object value) {
+            Object previousValue = node.getValue();
+            node.value = value;
+            return previousValue;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Entry))
+                return false;
+            Entry<?, ?> entry = (Entry<?, ?>) o;
+            return key.equals(entry.getKey()) && Objects.equals(node.getValue(), entry.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return key.hashCode() ^ Objects.hashCode(node.getValue());
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + node.getValue();
+        }
+    }
+
+    /**
+     * Depth-first iteration. The stack keeps, per level, the node and the next child to visit; the key is built in
+     * one buffer. A removal only clears the value, so the stack stays valid: the nodes left empty are removed at the
+     * end of the iteration.
+     */
+    private class EntryIterator implements Iterator<Entry<String, Object>> {
+        private Node[] stackNodes = new Node[8];
+        private int[] stackNextChild = new int[8];
+        private int[] stackKeyLength = new int[8];
+        private int depth = 0;
+        private final StringBuilder keyBuffer = new StringBuilder();
+        private TrieEntry nextEntry;
+        private TrieEntry lastEntry = null;
+        private boolean pruneNeeded = false;
+
+        EntryIterator() {
+            stackNodes[0] = root;
+            stackNextChild[0] = 0;
+            stackKeyLength[0] = 0;
+            nextEntry = advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextEntry != null;
+        }
+
+        @Override
+        public Entry<String, Object> next() {
+            if (nextEntry == null)
+                throw new NoSuchElementException();
+            lastEntry = nextEntry;
+            nextEntry = advance();
+            return lastEntry;
+        }
+
+        @Override
+        public void remove() {
+            if (lastEntry == null || !lastEntry.node.hasValue)
+                throw new IllegalStateException();
+            removeValue(lastEntry.node);
+            pruneNeeded |= lastEntry.node.nbChildren == 0;
+            lastEntry = null;
+            if (nextEntry == null)
+                prune();
+        }
+
+        private void prune() {
+            if (pruneNeeded)
+                pruneChildren(root);
+            pruneNeeded = false;
+        }
+
+        /**
+         * Pre-order: the value of a node is returned before its children
+         *
+         * @return the next entry, null at the end
+         */
+        private TrieEntry advance() {
+            while (depth >= 0) {
+                Node node = stackNodes[depth];
+                if (stackNextChild[depth] >= node.nbChildren) {
+                    depth--;
+                    continue;
+                }
+                Node child = node.children[stackNextChild[depth]++];
+                keyBuffer.setLength(stackKeyLength[depth]);
+                if (depth > 0)
+                    keyBuffer.append(SEPARATOR);
+                keyBuffer.append(child.segment);
+                push(child, keyBuffer.length());
+                if (child.hasValue)
+                    return new TrieEntry(keyBuffer.toString(), child);
+            }
+            prune();
+            return null;
+        }
+
+        private void push(Node node, int keyLength) {
+            depth++;
+            if (depth == stackNodes.length) {
+                stackNodes = Arrays.copyOf(stackNodes, depth * 2);
+                stackNextChild = Arrays.copyOf(stackNextChild, depth * 2);
+                stackKeyLength = Arrays.copyOf(stackKeyLength, depth * 2);
+            }
+            stackNodes[depth] = node;
+            stackNextChild[depth] = 0;
+            stackKeyLength[depth] = keyLength;
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package org.camunda.webapptranslation.tool.app;
+
+/* -------------------------------------------------------------------- */
+/*                                                                      */
+/* Dictionary value                                                     */
+/*                                                                      */
+/* Compact value read from a dictionary file. A string stays a slice    */
+/* of the UTF-8 content of the file until someone reads it, numbers     */
+/* are kept as primitives and lists of strings as a String array.       */
+/* The dictionary materializes the value (String, Long, Double, List)   */
+/* the first time it is accessed. The type is known without that.       */
+/*                                                                      */
+/* -------------------------------------------------------------------- */
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+public abstract class DictionaryValue {
+
+    /**
+     * Type of a value in a dictionary. Two values are compatible if they have the same type.
+     */
+    public enum ValueType {STRING, NUMBER, BOOLEAN, LIST, OBJECT, NULL}
+
+    /**
+     * @return the type of the value
+     */
+    public abstract ValueType getType();
+
+    /**
+     * @return the value as a Java object: String, Long, Double, List
+     */
+    public abstract Object materialize();
+
+    /**
+     * Return the type of a value stored in a dictionary, compact or already materialized
+     *
+     * @param value value stored in the dictionary
+     * @return the type
+     */
+    public static ValueType getType(Object value) {
+        if (value == null)
+            return ValueType.NULL;
+        if (value instanceof DictionaryValue)
+            return ((DictionaryValue) value).getType();
+        if (value instanceof String)
+            return ValueType.STRING;
+        if (value instanceof Number)
+            return ValueType.NUMBER;
+        if (value instanceof Boolean)
+            return ValueType.BOOLEAN;
+        if (value instanceof List)
+            return ValueType.LIST;
+        if (value instanceof Map)
+            return ValueType.OBJECT;
+        return ValueType.STRING;
+    }
+
+    /**
+     * A string, kept as a slice of the UTF-8 content of the file
+     *
+     * @param content content of the file. It is not copied: it must not be modified after.
+     * @param offset  beginning of the string, after the quote
+     * @param length  length in bytes
+     * @param escaped true if the string contains a JSON escape (\n, \", &#92;u00e9...). A raw é is plain UTF-8, not an
+     *                escape.
+     * @return the value
+     */
+    public static DictionaryValue ofUtf8(byte[] content, int offset, int length, boolean escaped) {
+        return new Utf8Value(content, offset, length, escaped);
+    }
+
+    public static DictionaryValue ofLong(long value) {
+        return new LongValue(value);
+    }
+
+    public static DictionaryValue ofDouble(double value) {
+        return new DoubleValue(value);
+    }
+
+    public static DictionaryValue ofStringArray(String[] value) {
+        return new StringArrayValue(value);
+    }
+
+    /**
+     * Decode a JSON string: UTF-8 bytes, escape sequences
+     *
+     * @param content content of the file
+     * @param offset  beginning of the string, after the quote
+     * @param length  length in bytes
+     * @param escaped true if the string contains a JSON escape
+     * @return the string
+     */
+    public static String decodeString(byte[] content, int offset, int length, boolean escaped) {
+        String value = new String(content, offset, length, StandardCharsets.UTF_8);
+        if (!escaped)
+            return value;
+        StringBuilder result = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c != '\\' || i == value.length() - 1) {
+                result.append(c);
+                continue;
+            }
+            c = value.charAt(++i);
+            switch (c) {
+                case 'b':
+                    result.append('\b');
+                    break;
+                case 'f':
+                    result.append('\f');
+                    break;
+                case 'n':
+                    result.append('\n');
+                    break;
+                case 'r':
+                    result.append('\r');
+                    break;
+                case 't':
+                    result.append('\t');
+                    break;
+                case 'u':
+                    if (i + 4 < value.length()) {
+                        result.append((char) Integer.parseInt(value.substring(i + 1, i + 5), 16));
+                        i += 4;
+                    }
+                    break;
+                default:
+                    // \" \\ \/
+                    result.append(c);
+            }
+        }
+        return result.toString();
+    }
+
+    private static final class Utf8Value extends DictionaryValue {
+        private final byte[] content;
+        private final int offset;
+        private final int length;
+        private final boolean escaped;
+
+        private Utf8Value(byte[] content, int offset, int length, boolean escaped) {
+            this.content = content;
+            this.offset = offset;
+            this.length = length;
+            this.escaped = escaped;
+        }
+
+        @Override
+        public ValueType getType() {
+            return ValueType.STRING;
+        }
+
+        @Override
+        public Object materialize() {
+            return decodeString(content, offset, length, escaped);
+        }
+    }
+
+    private static final class LongValue extends DictionaryValue {
+        private final long value;
+
+        private LongValue(long value) {
+            this.value = value;
+        }
+
+        @Override
+        public ValueType getType() {
+            return ValueType.NUMBER;
+        }
+
+        @Override
+        public Object materialize() {
+            return value;
+        }
+    }
+
+    private static final class DoubleValue extends DictionaryValue {
+        private final double value;
+
+        private DoubleValue(double value) {
+            this.value = value;
+        }
+
+        @Override
+        public ValueType getType() {
+            return ValueType.NUMBER;
+        }
+
+        @Override
+        public Object materialize() {
+            return value;
+        }
+    }
+
+    private static final class StringArrayValue extends DictionaryValue {
+        private final String[] value;
+
+        private StringArrayValue(String[] value) {
+            this.value = value;
+        }
+
+        @Override
+        public ValueType getType() {
+            return ValueType.LIST;
+        }
+
+        /**
+         * The list is immutable: it can be shared between threads reading the same dictionary
+         */
+        @Override
+        public Object materialize() {
+            return Collections.unmodifiableList(Arrays.asList(value));
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package org.camunda.webapptranslation.tool.app;
+
+/* -------------------------------------------------------------------- */
+/*                                                                      */
+/* Run deadline                                                         */
+/*                                                                      */
+/* The run has a time slot. The last part of the slot is a reserve:     */
+/* when the run enters it, expensive proposals (Google) stop, missing   */
+/* keys are marked to translate, and every dictionary is still          */
+/* completed and written before the end of the slot. A run always       */
+/* writes its work, instead of being killed in the middle of a request. */
+/*                                                                      */
+/* -------------------------------------------------------------------- */
+
+public class RunDeadline {
+
+    /**
+     * Part of the time slot kept to complete and write the dictionaries without expensive proposals
+     */
+    private static final int RESERVE_PERCENT = 20;
+    private static final long NANOS_PER_MS = 1_000_000L;
+
+    private final long durationMs;
+    private final long deadlineNanos;
+    private final long reserveNanos;
+
+    /**
+     * The time slot starts now
+     *
+     * @param durationMs duration of the time slot, in milliseconds
+     */
+    public RunDeadline(long durationMs) {
+        this.durationMs = durationMs;
+        this.deadlineNanos = System.nanoTime() + durationMs * NANOS_PER_MS;
+        this.reserveNanos = durationMs * NANOS_PER_MS * RESERVE_PERCENT / 100;
+    }
+
+    /**
+     * @return time until the end of the slot, in milliseconds. 0 when the slot is over.
+     */
+    public long getRemainingMs() {
+        return Math.max(0, (deadlineNanos - System.nanoTime()) / NANOS_PER_MS);
+    }
+
+    /**
+     * @return time an expensive operation can still take before the reserve, in milliseconds. 0 in the reserve.
+     */
+    public long getExpensiveRemainingMs() {
+        return Math.max(0, (deadlineNanos - reserveNanos - System.nanoTime()) / NANOS_PER_MS);
+    }
+
+    /**
+     * @return true when the run is in the reserve: no expensive operation must start
+     */
+    public boolean isShort() {
+        return getExpensiveRemainingMs() == 0;
+    }
+
+    /**
+     * @return one line to report the time left
+     */
+    public String getStatus() {
+        return "Deadline: " + (getRemainingMs() / 1000) + " s remaining on " + (durationMs / 1000) + " s, "
+                + (isShort() ? "machine translation stopped" : "machine translation stops in " + (getExpensiveRemainingMs() / 1000) + " s");
+    }
+}
@@ -0,0 +1,251 @@
+package org.camunda.webapptranslation.tool.app;
+
+/* -------------------------------------------------------------------- */
+/*                                                                      */
+/* Run manifest                                                         */
+/*                                                                      */
+/* Incremental mode: the manifest keeps, for each (application,         */
+/* language), the content hash of the reference and the translation    */
+/* files at the end of the previous run, with the detection status.     */
+/* When both files did not change, detection and completion are not     */
+/* executed again for this pair.                                        */
+/*                                                                      */
+/* -------------------------------------------------------------------- */
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import org.camunda.webapptranslation.tool.operation.Operation;
+import org.camunda.webapptranslation.tool.report.ReportInt;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class RunManifest {
+
+    /**
+     * Change it when the content changes: a manifest of a previous version is ignored
+     */
+    private static final int MANIFEST_VERSION = 3;
+
+    private final File manifestFile;
+    private final DictionaryRepository dictionaryRepository;
+    private ManifestContent manifestContent = new ManifestContent();
+
+    private final AtomicInteger nbUnchanged = new AtomicInteger();
+
+    public RunManifest(File manifestFile, DictionaryRepository dictionaryRepository) {
+        this.manifestFile = manifestFile;
+        this.dictionaryRepository = dictionaryRepository;
+    }
+
+    /**
+     * Load the manifest of the previous run. If the file does not exist, all pairs are considered as changed.
+     *
+     * @param report report used to report any error
+     */
+    public void load(ReportInt report) {
+        if (!manifestFile.exists())
+            return;
+        try (Reader reader = Files.newBufferedReader(manifestFile.toPath(), StandardCharsets.UTF_8)) {
+            // the version is checked first: the status of a previous version may not be readable
+            JsonElement jsonContent = JsonParser.parseReader(reader);
+            if (!jsonContent.isJsonObject()
+                    || !jsonContent.getAsJsonObject().has("version")
+                    || jsonContent.getAsJsonObject().get("version").getAsInt() != MANIFEST_VERSION) {
+                report.info(RunManifest.class, "Manifest [" + manifestFile.getAbsolutePath() + "] is from a previous version, all dictionaries are processed");
+                return;
+            }
+            ManifestContent content = getGsonBuilder().create().fromJson(jsonContent, ManifestContent.class);
+            if (content != null && content.detection != null && content.completion != null)
+                manifestContent = content;
+        } catch (Exception e) {
+            report.severe(RunManifest.class, "Error reading manifest [" + manifestFile.getAbsolutePath() + "], all dictionaries are processed", e);
+        }
+    }
+
+    /**
+     * Save the manifest for the next run. Call it when all tasks are finished.
+     *
+     * @param report report used to report any error
+     * @return true if the manifest is saved
+     */
+    public boolean save(ReportInt report) {
+        File temporaryFile = new File(manifestFile.getAbsolutePath() + ".tmp");
+        try {
+            try (Writer writer = Files.newBufferedWriter(temporaryFile.toPath(), StandardCharsets.UTF_8)) {
+                getGsonBuilder().setPrettyPrinting().create().toJson(manifestContent, writer);
+            }
+            Files.move(temporaryFile.toPath(), manifestFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            report.info(RunManifest.class, "Incremental: " + nbUnchanged.get() + " unchanged dictionaries skipped, manifest saved in [" + manifestFile.getAbsolutePath() + "]");
+            return true;
+        } catch (Exception e) {
+            report.severe(RunManifest.class, "Error writing manifest [" + manifestFile.getAbsolutePath() + "]", e);
+            return false;
+        }
+    }
+
+    /* -------------------------------------------------------------------- */
+    /*                                                                      */
+    /* Detection                                                            */
+    /*                                                                      */
+    /* -------------------------------------------------------------------- */
+
+    /**
+     * Return the detection status of the previous run, if the reference and the dictionary did not change
+     *
+     * @param referenceDictionary reference dictionary
+     * @param dictionary          dictionary to detect
+     * @return the previous status, null if the detection must run
+     */
+    public Operation.DictionaryStatus getUnchangedDetection(AppDictionary referenceDictionary, AppDictionary dictionary) {
+        PairRecord pairRecord = manifestContent.detection.get(dictionary.getFile().getAbsolutePath());
+        if (pairRecord == null || pairRecord.status == null || !isUnchanged(pairRecord, referenceDictionary, dictionary))
+            return null;
+        nbUnchanged.incrementAndGet();
+        // same reference file, same ordinals
+        pairRecord.status.setKeyIndex(referenceDictionary.getKeyIndex());
+        return pairRecord.status;
+    }
+
+    /**
+     * Register the detection status of this run
+     *
+     * @param referenceDictionary reference dictionary
+     * @param dictionary          dictionary detected
+     * @param dictionaryStatus    status of the detection
+     */
+    public void registerDetection(AppDictionary referenceDictionary, AppDictionary dictionary, Operation.DictionaryStatus dictionaryStatus) {
+        PairRecord pairRecord = getPairRecord(referenceDictionary, dictionary, null);
+        pairRecord.status = dictionaryStatus;
+        manifestContent.detection.put(dictionary.getFile().getAbsolutePath(), pairRecord);
+    }
+
+    /* -------------------------------------------------------------------- */
+    /*                                                                      */
+    /* Completion                                                           */
+    /*                                                                      */
+    /* -------------------------------------------------------------------- */
+
+    /**
+     * Check if the dictionary was completed by the previous run, with the same completion, and did not change since
+     *
+     * @param referenceDictionary reference dictionary
+     * @param dictionary          dictionary to complete
+     * @param signature           signature of the completion (mode, proposals). A different completion must run again.
+     * @return true if the completion can be skipped
+     */
+    public boolean isCompletionUnchanged(AppDictionary referenceDictionary, AppDictionary dictionary, String signature) {
+        if (!isCompletionRecorded(referenceDictionary, dictionary, signature))
+            return false;
+        nbUnchanged.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Same check as isCompletionUnchanged(), without counting the dictionary as skipped: the planning of the machine
+     * translation looks at dictionaries before the completion.
+     *
+     * @param referenceDictionary reference dictionary
+     * @param dictionary          dictionary to complete
+     * @param signature           signature of the completion
+     * @return true if the completion will be skipped
+     */
+    public boolean isCompletionRecorded(AppDictionary referenceDictionary, AppDictionary dictionary, String signature) {
+        PairRecord pairRecord = manifestContent.completion.get(dictionary.getFile().getAbsolutePath());
+        return pairRecord != null && Objects.equals(pairRecord.signature, signature) && isUnchanged(pairRecord, referenceDictionary, dictionary);
+    }
+
+    /**
+     * Register the completion of this run. Call it after the dictionary is written: the hash is the one of the new file.
+     *
+     * @param referenceDictionary reference dictionary
+     * @param dictionary          dictionary completed
+     * @param signature           signature of the completion
+     */
+    public void registerCompletion(AppDictionary referenceDictionary, AppDictionary dictionary, String signature) {
+        manifestContent.completion.put(dictionary.getFile().getAbsolutePath(), getPairRecord(referenceDictionary, dictionary, signature));
+    }
+
+    /* -------------------------------------------------------------------- */
+    /*                                                                      */
+    /* internal                                                             */
+    /*                                                                      */
+    /* -------------------------------------------------------------------- */
+
+    /**
+     * Missing keys are a BitSet: it is saved as its array of longs (null is managed by nullSafe())
+     */
+    private static GsonBuilder getGsonBuilder() {
+        return new GsonBuilder().registerTypeAdapter(BitSet.class, new TypeAdapter<BitSet>() {
+            @Override
+            public void write(JsonWriter out, BitSet bitSet) throws IOException {
+                out.beginArray();
+                for (long word : bitSet.toLongArray())
+                    out.value(word);
+                out.endArray();
+            }
+
+            @Override
+            public BitSet read(JsonReader in) throws IOException {
+                List<Long> listWords = new ArrayList<>();
+                in.beginArray();
+                while (in.hasNext())
+                    listWords.add(in.nextLong());
+                in.endArray();
+                return BitSet.valueOf(listWords.stream().mapToLong(Long::longValue).toArray());
+            }
+        }.nullSafe());
+    }
+
+    private boolean isUnchanged(PairRecord pairRecord, AppDictionary referenceDictionary, AppDictionary dictionary) {
+        String referenceHash = dictionaryRepository.getContentHash(referenceDictionary.getFile());
+        String translationHash = dictionaryRepository.getContentHash(dictionary.getFile());
+        return referenceHash != null && translationHash != null
+                && referenceHash.equals(pairRecord.referenceHash)
+                && translationHash.equals(pairRecord.translationHash);
+    }
+
+    private PairRecord getPairRecord(AppDictionary referenceDictionary, AppDictionary dictionary, String signature) {
+        PairRecord pairRecord = new PairRecord();
+        pairRecord.referenceHash = dictionaryRepository.getContentHash(referenceDictionary.getFile());
+        pairRecord.translationHash = dictionaryRepository.getContentHash(dictionary.getFile());
+        pairRecord.signature = signature;
+        return pairRecord;
+    }
+
+    /**
+     * Content of the manifest file. Pairs are registered by the path of the translation file.
+     * Tasks register their pair in parallel: maps are concurrent (Gson creates a ConcurrentHashMap too).
+     */
+    private static class ManifestContent {
+        int version = MANIFEST_VERSION;
+        ConcurrentMap<String, PairRecord> detection = new ConcurrentHashMap<>();
+        ConcurrentMap<String, PairRecord> completion = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * State of one (application, language) pair at the end of a run
+     */
+    private static class PairRecord {
+        String referenceHash;
+        String translationHash;
+        String signature;
+        Operation.DictionaryStatus status;
+    }
+}
@@ -0,0 +1,357 @@
+package org.camunda.webapptranslation.tool.generator;
+
+/* -------------------------------------------------------------------- */
+/*                                                                      */
+/* FakeTranslateServer                                                  */
+/*                                                                      */
+/* Stand-in for the Google Translate v2 API, on localhost: the Google   */
+/* client is pointed at it with --googleHost. Translations are          */
+/* deterministic ("[fr] Cancel"), latency, errors and throttling are    */
+/* injected. The answers to a request depend on its content and on the  */
+/* number of times it was sent, not on the order of the requests: two   */
+/* runs with the same seed get the same answers, even in parallel.      */
+/* Start it from the command line, or in process with start()/stop().   */
+/*                                                                      */
+/* -------------------------------------------------------------------- */
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.camunda.webapptranslation.tool.report.ReportInt;
+import org.camunda.webapptranslation.tool.report.ReportStdout;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class FakeTranslateServer {
+
+    /**
+     * The client sends requests to <host>/language/translate/v2
+     */
+    private static final String TRANSLATE_PATH = "/v2";
+    private static final int CODE_TOO_MANY_REQUESTS = 429;
+    private static final int CODE_INTERNAL_ERROR = 500;
+    /**
+     * An exponential latency is cut at this factor of the mean
+     */
+    private static final int MAXIMUM_LATENCY_FACTOR = 10;
+
+    private final TranslateServerParams serverParams;
+    private final Gson gson = new GsonBuilder().disableHtmlEscaping().create();
+    /**
+     * Number of times each request was received: a retry of a request in error may succeed
+     */
+    private final Map<Long, AtomicInteger> attemptsPerRequest = new ConcurrentHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final AtomicLong nbRequests = new AtomicLong();
+    private final AtomicLong nbTexts = new AtomicLong();
+    private final AtomicLong nbCharacters = new AtomicLong();
+    private final AtomicLong nbErrors = new AtomicLong();
+    private final AtomicLong nbThrottled = new AtomicLong();
+
+    private HttpServer httpServer;
+    private ExecutorService executorService;
+
+    public static void main(String[] args) {
+        TranslateServerParams serverParams = new TranslateServerParams();
+        serverParams.explore(args);
+        if (serverParams.isError()) {
+            serverParams.printError();
+            serverParams.printUsage();
+            return;
+        }
+        if (serverParams.isUsage()) {
+            serverParams.printUsage();
+            return;
+        }
+        serverParams.printOptions();
+
+        ReportInt report = new ReportStdout();
+        FakeTranslateServer server = new FakeTranslateServer(serverParams);
+        if (!server.start(report))
+            return;
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.stop();
+            report.info(FakeTranslateServer.class, server.getStatistics());
+        }));
+        report.info(FakeTranslateServer.class, "Listening on " + server.getHost() + ", stop it with Ctrl-C");
+    }
+
+    public FakeTranslateServer(TranslateServerParams serverParams) {
+        this.serverParams = serverParams;
+    }
+
+    /**
+     * Start the server. Requests are served by daemon threads: the server does not keep the JVM running.
+     *
+     * @param report report any error
+     * @return true if the server is started
+     */
+    public boolean start(ReportInt report) {
+        try {
+            httpServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), serverParams.getPort()), 0);
+        } catch (IOException e) {
+            report.severe(FakeTranslateServer.class, "Can't listen on port [" + serverParams.getPort() + "]", e);
+            return false;
+        }
+        executorService = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "FakeTranslateServer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        httpServer.setExecutor(executorService);
+        httpServer.createContext("/", this::handle);
+        httpServer.start();
+        return true;
+    }
+
+    /**
+     * Stop the server. Requests in progress are not waited for.
+     */
+    public void stop() {
+        if (httpServer != null)
+            httpServer.stop(0);
+        if (executorService != null)
+            executorService.shutdownNow();
+    }
+
+    /**
+     * @return the host to give to the client, http://localhost:port
+     */
+    public String getHost() {
+        return "http://" + httpServer.getAddress().getHostString() + ":" + httpServer.getAddress().getPort();
+    }
+
+    /**
+     * @return number of requests received, throttled ones included
+     */
+    public long getNbRequests() {
+        return nbRequests.get();
+    }
+
+    /**
+     * @return number of texts translated
+     */
+    public long getNbTexts() {
+        return nbTexts.get();
+    }
+
+    /**
+     * @return number of requests answered with HTTP 429
+     */
+    public long getNbThrottled() {
+        return nbThrottled.get();
+    }
+
+    /**
+     * @return one line of statistics
+     */
+    public String getStatistics() {
+        return "FakeTranslateServer: " + nbRequests.get() + " requests, " + nbTexts.get() + " texts, " + nbCharacters.get() + " characters, "
+                + nbErrors.get() + " errors, " + nbThrottled.get() + " throttled";
+    }
+
+    /**
+     * Deterministic pseudo translation. The apostrophe is escaped as Google does.
+     *
+     * @param text           text to translate
+     * @param targetLanguage language of the translation
+     * @return the translation
+     */
+    public static String pseudoTranslate(String text, String targetLanguage) {
+        return ("[" + targetLanguage + "] " + text).replace("'", "&#39;");
+    }
+
+    /* -------------------------------------------------------------------- */
+    /*                                                                      */
+    /* Request                                                              */
+    /*                                                                      */
+    /* -------------------------------------------------------------------- */
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            if (!exchange.getRequestURI().getPath().endsWith(TRANSLATE_PATH)) {
+                sendError(exchange, 404, "notFound", "Only translations are served");
+                return;
+            }
+            TranslateRequest translateRequest = readRequest(exchange);
+            if (translateRequest.texts.isEmpty() || translateRequest.target == null) {
+                sendError(exchange, 400, "invalid", "Parameters q and target are required");
+                return;
+            }
+            nbRequests.incrementAndGet();
+            if (inFlight.incrementAndGet() > serverParams.getMaxInFlight() && serverParams.getMaxInFlight() > 0) {
+                inFlight.decrementAndGet();
+                nbThrottled.incrementAndGet();
+                sendError(exchange, CODE_TOO_MANY_REQUESTS, "rateLimitExceeded", "Rate Limit Exceeded");
+                return;
+            }
+            try {
+                serve(exchange, translateRequest);
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        } catch (InterruptedException e) {
+            // the server is stopped: the exchange ends without an answer
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            // an answer already started can't be replaced by an error
+            if (exchange.getResponseCode() == -1)
+                sendError(exchange, 400, "invalid", e.toString());
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void serve(HttpExchange exchange, TranslateRequest translateRequest) throws IOException, InterruptedException {
+        // same request, same attempt: same answer
+        long requestHash = (31L * translateRequest.target.hashCode() + translateRequest.texts.hashCode()) * 31L + serverParams.getSeed();
+        int attempt = attemptsPerRequest.computeIfAbsent(requestHash, h -> new AtomicInteger()).getAndIncrement();
+        SplittableRandom random = new SplittableRandom(requestHash * 1_000_003L + attempt);
+
+        long latencyMs = getLatencyMs(random);
+        if (latencyMs > 0)
+            Thread.sleep(latencyMs);
+
+        int draw = random.nextInt(100);
+        if (draw < serverParams.getThrottleRatio()) {
+            nbThrottled.incrementAndGet();
+            sendError(exchange, CODE_TOO_MANY_REQUESTS, "rateLimitExceeded", "Rate Limit Exceeded");
+            return;
+        }
+        if (draw < serverParams.getThrottleRatio() + serverParams.getErrorRatio()) {
+            nbErrors.incrementAndGet();
+            sendError(exchange, CODE_INTERNAL_ERROR, "backendError", "Backend Error");
+            return;
+        }
+
+        JsonArray translations = new JsonArray();
+        for (String text : translateRequest.texts) {
+            nbTexts.incrementAndGet();
+            nbCharacters.addAndGet(text.length());
+            JsonObject translation = new JsonObject();
+            translation.addProperty("translatedText", pseudoTranslate(text, translateRequest.target));
+            if (translateRequest.source == null)
+                translation.addProperty("detectedSourceLanguage", "en");
+            translations.add(translation);
+        }
+        JsonObject data = new JsonObject();
+        data.add("translations", translations);
+        JsonObject response = new JsonObject();
+        response.add("data", data);
+        send(exchange, 200, response);
+    }
+
+    private long getLatencyMs(SplittableRandom random) {
+        int mean = serverParams.getLatencyMs();
+        if (mean == 0)
+            return 0;
+        switch (serverParams.getLatencyDistribution()) {
+            case UNIFORM:
+                return random.nextInt(2 * mean + 1);
+            case EXPONENTIAL:
+                return Math.min((long) mean * MAXIMUM_LATENCY_FACTOR, Math.round(-mean * Math.log(1.0 - random.nextDouble())));
+            default:
+                return mean;
+        }
+    }
+
+    /**
+     * The client sends parameters in the query (GET), in a form or in a JSON body (POST). The key is ignored.
+     */
+    private TranslateRequest readRequest(HttpExchange exchange) throws IOException {
+        TranslateRequest translateRequest = new TranslateRequest();
+        readForm(exchange.getRequestURI().getRawQuery(), translateRequest);
+
+        String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+        String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+        if (body.isBlank())
+            return translateRequest;
+        if (contentType != null && contentType.contains("json")) {
+            JsonObject jsonBody = JsonParser.parseString(body).getAsJsonObject();
+            JsonElement q = jsonBody.get("q");
+            if (q != null && q.isJsonArray())
+                q.getAsJsonArray().forEach(text -> translateRequest.texts.add(text.getAsString()));
+            else if (q != null)
+                translateRequest.texts.add(q.getAsString());
+            if (jsonBody.has("target"))
+                translateRequest.target = jsonBody.get("target").getAsString();
+            if (jsonBody.has("source"))
+                translateRequest.source = jsonBody.get("source").getAsString();
+        } else {
+            readForm(body, translateRequest);
+        }
+        return translateRequest;
+    }
+
+    private void readForm(String form, TranslateRequest translateRequest) {
+        if (form == null || form.isEmpty())
+            return;
+        for (String parameter : form.split("&")) {
+            int equals = parameter.indexOf('=');
+            if (equals < 0)
+                continue;
+            String name = URLDecoder.decode(parameter.substring(0, equals), StandardCharsets.UTF_8);
+            String value = URLDecoder.decode(parameter.substring(equals + 1), StandardCharsets.UTF_8);
+            if ("q".equals(name))
+                translateRequest.texts.add(value);
+            else if ("target".equals(name))
+                translateRequest.target = value;
+            else if ("source".equals(name))
+                translateRequest.source = value;
+        }
+    }
+
+    /**
+     * Same error document as Google: the client reads the code and the reason
+     */
+    private void sendError(HttpExchange exchange, int code, String reason, String message) throws IOException {
+        JsonObject errorItem = new JsonObject();
+        errorItem.addProperty("message", message);
+        errorItem.addProperty("domain", "global");
+        errorItem.addProperty("reason", reason);
+        JsonArray errors = new JsonArray();
+        errors.add(errorItem);
+        JsonObject error = new JsonObject();
+        error.addProperty("code", code);
+        error.addProperty("message", message);
+        error.add("errors", errors);
+        JsonObject response = new JsonObject();
+        response.add("error", error);
+        send(exchange, code, response);
+    }
+
+    private void send(HttpExchange exchange, int code, JsonObject response) throws IOException {
+        byte[] content = gson.toJson(response).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=UTF-8");
+        exchange.sendResponseHeaders(code, content.length);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(content);
+        }
+    }
+
+    private static class TranslateRequest {
+        private final List<String> texts = new ArrayList<>();
+        private String target;
+        private String source;
+    }
+}
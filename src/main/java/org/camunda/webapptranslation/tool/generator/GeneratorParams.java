@@ -0,0 +1,211 @@
+package org.camunda.webapptranslation.tool.generator;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class GeneratorParams {
+
+    private final List<String> msgErrors = new ArrayList<>();
+    private boolean usage = false;
+    private File outputFolder = null;
+    private String referenceLanguage = "en";
+    private List<String> languages = Arrays.asList("de", "es", "fr");
+    /**
+     * Number of web applications (Optimize is generated in addition)
+     */
+    private int nbApplications = 4;
+    /**
+     * Number of keys in each reference dictionary
+     */
+    private int nbKeys = 1000;
+    /**
+     * Maximum number of levels above a key: 1 means labels.ABORT
+     */
+    private int depth = 3;
+    /**
+     * Ratios are percentages
+     */
+    private int listRatio = 2;
+    private int missingRatio = 10;
+    private int duplicateRatio = 30;
+    private int bomRatio = 0;
+    private long seed = 1;
+
+    /**
+     * Static to be use in lambda
+     *
+     * @param msg message to print
+     */
+    private static void print(String msg) {
+        System.out.println(msg);
+    }
+
+    /**
+     * Explore the arguments to fulfil parameters
+     *
+     * @param args arguments
+     */
+    public void explore(String[] args) {
+        int i = 0;
+        while (i < args.length) {
+            if (("-o".equals(args[i]) || "--output".equals(args[i])) && i < args.length - 1) {
+                outputFolder = new File(args[i + 1]);
+                i += 2;
+            } else if ("--referenceLanguage".equals(args[i]) && i < args.length - 1) {
+                referenceLanguage = args[i + 1];
+                i += 2;
+            } else if ("--languages".equals(args[i]) && i < args.length - 1) {
+                languages = Arrays.asList(args[i + 1].split(","));
+                i += 2;
+            } else if ("--applications".equals(args[i]) && i < args.length - 1) {
+                nbApplications = getNumber(args[i], args[i + 1], nbApplications);
+                i += 2;
+            } else if ("--keys".equals(args[i]) && i < args.length - 1) {
+                nbKeys = getNumber(args[i], args[i + 1], nbKeys);
+                i += 2;
+            } else if ("--depth".equals(args[i]) && i < args.length - 1) {
+                depth = getNumber(args[i], args[i + 1], depth);
+                i += 2;
+            } else if ("--listRatio".equals(args[i]) && i < args.length - 1) {
+                listRatio = getNumber(args[i], args[i + 1], listRatio);
+                i += 2;
+            } else if ("--missingRatio".equals(args[i]) && i < args.length - 1) {
+                missingRatio = getNumber(args[i], args[i + 1], missingRatio);
+                i += 2;
+            } else if ("--duplicateRatio".equals(args[i]) && i < args.length - 1) {
+                duplicateRatio = getNumber(args[i], args[i + 1], duplicateRatio);
+                i += 2;
+            } else if ("--bomRatio".equals(args[i]) && i < args.length - 1) {
+                bomRatio = getNumber(args[i], args[i + 1], bomRatio);
+                i += 2;
+            } else if ("--seed".equals(args[i]) && i < args.length - 1) {
+                try {
+                    seed = Long.parseLong(args[i + 1]);
+                } catch (Exception e) {
+                    msgErrors.add(args[i] + " <number> expected, [" + args[i + 1] + "] found");
+                }
+                i += 2;
+            } else if ("-u".equals(args[i]) || "--usage".equals(args[i])) {
+                usage = true;
+                i++;
+            } else {
+                msgErrors.add("Unknown parameter [" + args[i] + "]");
+                i++;
+            }
+        }
+        if (outputFolder == null)
+            msgErrors.add("No OUTPUT_FOLDER provided");
+        if (nbApplications < 1 || nbKeys < 1 || depth < 1)
+            msgErrors.add("--applications, --keys and --depth must be at least 1");
+        for (int ratio : new int[]{listRatio, missingRatio, duplicateRatio, bomRatio}) {
+            if (ratio < 0 || ratio > 100) {
+                msgErrors.add("Ratios are percentages, between 0 and 100");
+                break;
+            }
+        }
+    }
+
+    public boolean isUsage() {
+        return usage;
+    }
+
+    public boolean isError() {
+        return !msgErrors.isEmpty();
+    }
+
+    public File getOutputFolder() {
+        return outputFolder;
+    }
+
+    public String getReferenceLanguage() {
+        return referenceLanguage;
+    }
+
+    public List<String> getLanguages() {
+        return languages;
+    }
+
+    public int getNbApplications() {
+        return nbApplications;
+    }
+
+    public int getNbKeys() {
+        return nbKeys;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public int getListRatio() {
+        return listRatio;
+    }
+
+    public int getMissingRatio() {
+        return missingRatio;
+    }
+
+    public int getDuplicateRatio() {
+        return duplicateRatio;
+    }
+
+    public int getBomRatio() {
+        return bomRatio;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * print the current options detected
+     */
+    public void printOptions() {
+        print(" OUTPUT_FOLDER: " + getOutputFolder());
+        print(" Reference language: " + getReferenceLanguage() + ", languages: " + String.join(",", getLanguages()));
+        print(" Applications: " + getNbApplications() + " + Optimize, keys per dictionary: " + getNbKeys() + ", depth: " + getDepth());
+        print(" Lists: " + getListRatio() + "%, missing keys: " + getMissingRatio() + "%, duplicate sentences: " + getDuplicateRatio() + "%, BOM files: " + getBomRatio() + "%");
+        print(" Seed: " + getSeed());
+    }
+
+    /**
+     * print the usage
+     */
+    public void printUsage() {
+        print("Usage: RepositoryGenerator -o OUTPUT_FOLDER [options]");
+        print(" Generate a synthetic checkout for SynchroTranslation. The same options and seed always generate the same files:");
+        print("   OUTPUT_FOLDER/reference/webapps/frontend/public/app/<application>/locales/<referenceLanguage>.json");
+        print("   OUTPUT_FOLDER/translation/<application>/<language>.json");
+        print("   OUTPUT_FOLDER/optimize/localisation/<language>.json");
+        print(" Then execute: SynchroTranslation OUTPUT_FOLDER/reference OUTPUT_FOLDER/translation OUTPUT_FOLDER/optimize");
+        print("Options:");
+        print(" -o|--output <folder>: folder to generate. It must not exist, or be empty");
+        print(" --referenceLanguage <language>: Default is en");
+        print(" --languages <language,language...>: translated languages. Default is de,es,fr");
+        print(" --applications <number>: number of web applications. Default is 4");
+        print(" --keys <number>: number of keys in each reference dictionary. Default is 1000");
+        print(" --depth <number>: maximum number of levels in the hierarchy of a key. Default is 3");
+        print(" --listRatio <percent>: percentage of values which are a list of strings. Default is 2");
+        print(" --missingRatio <percent>: percentage of reference keys missing in a translation. Default is 10");
+        print(" --duplicateRatio <percent>: percentage of values reusing a sentence already generated. Default is 30");
+        print(" --bomRatio <percent>: percentage of files written with a UTF-8 BOM. Default is 0");
+        print(" --seed <number>: seed of the generation. Default is 1");
+    }
+
+    public void printError() {
+        print("Error:");
+        msgErrors.forEach(GeneratorParams::print);
+        print("");
+    }
+
+    private int getNumber(String parameter, String value, int defaultValue) {
+        try {
+            return Integer.parseInt(value);
+        } catch (Exception e) {
+            msgErrors.add(parameter + " <number> expected, [" + value + "] found");
+            return defaultValue;
+        }
+    }
+}
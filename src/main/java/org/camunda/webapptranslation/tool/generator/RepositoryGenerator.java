@@ -0,0 +1,236 @@
+package org.camunda.webapptranslation.tool.generator;
+
+/* -------------------------------------------------------------------- */
+/*                                                                      */
+/* RepositoryGenerator                                                  */
+/*                                                                      */
+/* Generate a synthetic checkout, in the layout SynchroTranslation      */
+/* expects: reference dictionaries, translation folders and the         */
+/* Optimize localisation folder. Size and content are tunable, and the  */
+/* same parameters always generate the same files, to compare runs.     */
+/*                                                                      */
+/* -------------------------------------------------------------------- */
+
+import org.camunda.webapptranslation.tool.app.AppDictionary;
+import org.camunda.webapptranslation.tool.report.ReportInt;
+import org.camunda.webapptranslation.tool.report.ReportStdout;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+
+public class RepositoryGenerator {
+
+    private static final String[] APPLICATION_NAMES = {"admin", "cockpit", "tasklist", "welcome"};
+    private static final String[] SECTIONS = {"labels", "actions", "messages", "dialogs", "errors", "filters", "tooltips", "tables"};
+    private static final String[] WORDS = {"the", "process", "instance", "task", "user", "group", "deployment", "definition",
+            "variable", "incident", "job", "filter", "save", "cancel", "delete", "open", "close", "select", "all", "none",
+            "date", "time", "name", "value", "type", "error", "success", "warning", "failed", "running", "suspended",
+            "activity", "decision", "case", "batch", "tenant", "authorization", "resource", "permission", "is", "was",
+            "could", "not", "be", "loaded", "updated", "created", "of", "for", "with"};
+    private static final String[] LIST_VALUES = {"Jan", "Feb", "Mar", "Apr", "May", "Jun", "Jul", "Aug", "Sep", "Oct", "Nov", "Dec"};
+    private static final byte[] UTF8_BOM = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+    /**
+     * When the vocabulary does not give a new key after this number of attempts, the key is numbered
+     */
+    private static final int MAX_KEY_ATTEMPTS = 10;
+
+    private final GeneratorParams generatorParams;
+    private final Random random;
+    /**
+     * Sentences already generated, shared between applications: duplicate sentences are taken here
+     */
+    private final List<String> listSentences = new ArrayList<>();
+    private int nbFiles = 0;
+    private long nbBytes = 0;
+
+    public RepositoryGenerator(GeneratorParams generatorParams) {
+        this.generatorParams = generatorParams;
+        this.random = new Random(generatorParams.getSeed());
+    }
+
+    public static void main(String[] args) {
+        GeneratorParams generatorParams = new GeneratorParams();
+        generatorParams.explore(args);
+        if (generatorParams.isError()) {
+            generatorParams.printError();
+            generatorParams.printUsage();
+            return;
+        }
+        if (generatorParams.isUsage()) {
+            generatorParams.printUsage();
+            return;
+        }
+        generatorParams.printOptions();
+
+        ReportInt report = new ReportStdout();
+        new RepositoryGenerator(generatorParams).generate(report);
+    }
+
+    /**
+     * Generate all folders and dictionaries
+     *
+     * @param report report the progress and any error
+     * @return true if the repository is completely generated
+     */
+    public boolean generate(ReportInt report) {
+        File outputFolder = generatorParams.getOutputFolder();
+        if (outputFolder.exists() && (!outputFolder.isDirectory() || Objects.requireNonNull(outputFolder.list()).length > 0)) {
+            report.severe(RepositoryGenerator.class, "Folder [" + outputFolder.getAbsolutePath() + "] must not exist, or be empty");
+            return false;
+        }
+        File referenceFolder = new File(outputFolder, "reference");
+        File translationFolder = new File(outputFolder, "translation");
+        File optimizeFolder = new File(outputFolder, "optimize");
+
+        for (int i = 0; i < generatorParams.getNbApplications(); i++) {
+            String applicationName = i < APPLICATION_NAMES.length ? APPLICATION_NAMES[i] : "application" + (i + 1);
+            File applicationReferenceFolder = new File(referenceFolder, "webapps"
+                    + File.separator + "frontend"
+                    + File.separator + "public"
+                    + File.separator + "app"
+                    + File.separator + applicationName
+                    + File.separator + "locales");
+            if (!generateApplication(applicationName, applicationReferenceFolder, new File(translationFolder, applicationName), report))
+                return false;
+        }
+        // Optimize keeps the reference and the translations in the same folder
+        File localisationFolder = new File(optimizeFolder, "localisation");
+        if (!generateApplication("Optimize", localisationFolder, localisationFolder, report))
+            return false;
+
+        report.info(RepositoryGenerator.class, "Generated " + nbFiles + " files, " + nbBytes + " bytes in [" + outputFolder.getAbsolutePath() + "]");
+        report.info(RepositoryGenerator.class, "Execute: SynchroTranslation " + referenceFolder.getAbsolutePath() + " " + translationFolder.getAbsolutePath() + " " + optimizeFolder.getAbsolutePath() + " " + generatorParams.getReferenceLanguage());
+        return true;
+    }
+
+    /* -------------------------------------------------------------------- */
+    /*                                                                      */
+    /* Dictionaries                                                         */
+    /*                                                                      */
+    /* -------------------------------------------------------------------- */
+
+    private boolean generateApplication(String applicationName, File referenceFolder, File translationFolder, ReportInt report) {
+        if (!referenceFolder.mkdirs() || (!translationFolder.exists() && !translationFolder.mkdirs())) {
+            report.severe(RepositoryGenerator.class, "Can't create folders for application [" + applicationName + "]");
+            return false;
+        }
+        AppDictionary referenceDictionary = getReferenceDictionary(referenceFolder);
+        if (!writeDictionary(referenceDictionary, report))
+            return false;
+
+        for (String language : generatorParams.getLanguages()) {
+            if (!writeDictionary(getTranslation(referenceDictionary, translationFolder, language), report))
+                return false;
+        }
+        report.info(RepositoryGenerator.class, "Application [" + applicationName + "]: " + referenceDictionary.getDictionary().size() + " keys, " + generatorParams.getLanguages().size() + " languages");
+        return true;
+    }
+
+    private AppDictionary getReferenceDictionary(File folder) {
+        AppDictionary dictionary = new AppDictionary(folder, generatorParams.getReferenceLanguage());
+        for (int i = 0; i < generatorParams.getNbKeys(); i++) {
+            String key = getKey();
+            for (int attempt = 0; dictionary.exist(key); attempt++)
+                key = attempt < MAX_KEY_ATTEMPTS ? getKey() : getKey() + "_" + i;
+
+            if (random.nextInt(100) < generatorParams.getListRatio()) {
+                List<String> listValues = new ArrayList<>();
+                int nbValues = 2 + random.nextInt(LIST_VALUES.length - 1);
+                for (int j = 0; j < nbValues; j++)
+                    listValues.add(LIST_VALUES[j]);
+                dictionary.addKey(key, listValues);
+            } else if (!listSentences.isEmpty() && random.nextInt(100) < generatorParams.getDuplicateRatio()) {
+                dictionary.addKey(key, listSentences.get(random.nextInt(listSentences.size())));
+            } else {
+                String sentence = getSentence();
+                listSentences.add(sentence);
+                dictionary.addKey(key, sentence);
+            }
+        }
+        return dictionary;
+    }
+
+    /**
+     * A translation contains all reference keys, except the missing ones. The same sentence is always translated
+     * the same way, as a real translator would do.
+     */
+    private AppDictionary getTranslation(AppDictionary referenceDictionary, File folder, String language) {
+        AppDictionary dictionary = new AppDictionary(folder, language);
+        for (Map.Entry<String, Object> entry : referenceDictionary.getDictionary().entrySet()) {
+            if (random.nextInt(100) < generatorParams.getMissingRatio())
+                continue;
+            Object value = entry.getValue();
+            if (value instanceof List) {
+                List<String> listValues = new ArrayList<>();
+                for (Object item : (List<?>) value)
+                    listValues.add(getTranslatedSentence(String.valueOf(item), language));
+                dictionary.addKey(entry.getKey(), listValues);
+            } else {
+                dictionary.addKey(entry.getKey(), getTranslatedSentence(String.valueOf(value), language));
+            }
+        }
+        return dictionary;
+    }
+
+    /**
+     * The key has 1 to depth levels (labels.process.ABORT_TASK). Levels are in lower case and the final key in upper
+     * case, so a key is never a level of another key.
+     */
+    private String getKey() {
+        int nbLevels = 1 + random.nextInt(generatorParams.getDepth());
+        StringBuilder key = new StringBuilder();
+        key.append(SECTIONS[random.nextInt(SECTIONS.length)]).append('.');
+        for (int i = 1; i < nbLevels; i++)
+            key.append(WORDS[random.nextInt(WORDS.length)]).append('.');
+        key.append(WORDS[random.nextInt(WORDS.length)].toUpperCase())
+                .append('_')
+                .append(WORDS[random.nextInt(WORDS.length)].toUpperCase());
+        return key.toString();
+    }
+
+    private String getSentence() {
+        int nbWords = 1 + random.nextInt(12);
+        StringBuilder sentence = new StringBuilder();
+        for (int i = 0; i < nbWords; i++) {
+            if (i > 0)
+                sentence.append(' ');
+            sentence.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        sentence.setCharAt(0, Character.toUpperCase(sentence.charAt(0)));
+        return sentence.toString();
+    }
+
+    private String getTranslatedSentence(String sentence, String language) {
+        return "[" + language + "] " + sentence;
+    }
+
+    /**
+     * Write the dictionary. Some files are written with a BOM, as some real dictionaries are.
+     */
+    private boolean writeDictionary(AppDictionary dictionary, ReportInt report) {
+        if (!dictionary.write(report))
+            return false;
+        File file = dictionary.getFile();
+        try {
+            if (random.nextInt(100) < generatorParams.getBomRatio()) {
+                byte[] content = Files.readAllBytes(file.toPath());
+                byte[] contentWithBom = new byte[UTF8_BOM.length + content.length];
+                System.arraycopy(UTF8_BOM, 0, contentWithBom, 0, UTF8_BOM.length);
+                System.arraycopy(content, 0, contentWithBom, UTF8_BOM.length, content.length);
+                Files.write(file.toPath(), contentWithBom);
+            }
+        } catch (IOException e) {
+            report.severe(RepositoryGenerator.class, "Can't write the BOM in [" + file.getAbsolutePath() + "]", e);
+            return false;
+        }
+        nbFiles++;
+        nbBytes += file.length();
+        return true;
+    }
+}
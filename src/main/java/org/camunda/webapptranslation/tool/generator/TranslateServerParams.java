@@ -0,0 +1,193 @@
+package org.camunda.webapptranslation.tool.generator;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class TranslateServerParams {
+
+    public enum LATENCY {CONSTANT, UNIFORM, EXPONENTIAL}
+
+    private final List<String> msgErrors = new ArrayList<>();
+    private boolean usage = false;
+    /**
+     * 0 takes any free port
+     */
+    private int port = 8099;
+    /**
+     * Latency of a request: the mean, in milliseconds
+     */
+    private int latencyMs = 0;
+    private LATENCY latencyDistribution = LATENCY.CONSTANT;
+    /**
+     * Ratios are percentages of the requests
+     */
+    private int errorRatio = 0;
+    private int throttleRatio = 0;
+    /**
+     * Requests above this number in progress are throttled. 0 is no limit.
+     */
+    private int maxInFlight = 0;
+    private long seed = 1;
+
+    /**
+     * Static to be use in lambda
+     *
+     * @param msg message to print
+     */
+    private static void print(String msg) {
+        System.out.println(msg);
+    }
+
+    /**
+     * Explore the arguments to fulfil parameters
+     *
+     * @param args arguments
+     */
+    public void explore(String[] args) {
+        int i = 0;
+        while (i < args.length) {
+            if (("-p".equals(args[i]) || "--port".equals(args[i])) && i < args.length - 1) {
+                port = getNumber(args[i], args[i + 1], port);
+                i += 2;
+            } else if ("--latency".equals(args[i]) && i < args.length - 1) {
+                latencyMs = getNumber(args[i], args[i + 1], latencyMs);
+                i += 2;
+            } else if ("--latencyDistribution".equals(args[i]) && i < args.length - 1) {
+                try {
+                    latencyDistribution = LATENCY.valueOf(args[i + 1].toUpperCase());
+                } catch (Exception e) {
+                    msgErrors.add(args[i] + " <" + LATENCY.CONSTANT + "|" + LATENCY.UNIFORM + "|" + LATENCY.EXPONENTIAL + "> expected, [" + args[i + 1] + "] found");
+                }
+                i += 2;
+            } else if ("--errorRatio".equals(args[i]) && i < args.length - 1) {
+                errorRatio = getNumber(args[i], args[i + 1], errorRatio);
+                i += 2;
+            } else if ("--throttleRatio".equals(args[i]) && i < args.length - 1) {
+                throttleRatio = getNumber(args[i], args[i + 1], throttleRatio);
+                i += 2;
+            } else if ("--maxInFlight".equals(args[i]) && i < args.length - 1) {
+                maxInFlight = getNumber(args[i], args[i + 1], maxInFlight);
+                i += 2;
+            } else if ("--seed".equals(args[i]) && i < args.length - 1) {
+                try {
+                    seed = Long.parseLong(args[i + 1]);
+                } catch (Exception e) {
+                    msgErrors.add(args[i] + " <number> expected, [" + args[i + 1] + "] found");
+                }
+                i += 2;
+            } else if ("-u".equals(args[i]) || "--usage".equals(args[i])) {
+                usage = true;
+                i++;
+            } else {
+                msgErrors.add("Unknown parameter [" + args[i] + "]");
+                i++;
+            }
+        }
+        if (port < 0 || latencyMs < 0 || maxInFlight < 0)
+            msgErrors.add("--port, --latency and --maxInFlight must be positive");
+        if (errorRatio < 0 || throttleRatio < 0 || errorRatio + throttleRatio > 100)
+            msgErrors.add("Ratios are percentages, and --errorRatio + --throttleRatio must be at most 100");
+    }
+
+    /**
+     * Set the parameters of an in-process server
+     *
+     * @param port                0 takes any free port
+     * @param latencyMs           mean latency, in milliseconds
+     * @param latencyDistribution distribution of the latency around the mean
+     * @param errorRatio          percentage of requests in error (HTTP 500)
+     * @param throttleRatio       percentage of requests throttled (HTTP 429)
+     * @param maxInFlight         requests above this number in progress are throttled. 0 is no limit.
+     * @param seed                seed of the latency and of the errors
+     * @return this object
+     */
+    public TranslateServerParams set(int port, int latencyMs, LATENCY latencyDistribution, int errorRatio, int throttleRatio, int maxInFlight, long seed) {
+        this.port = port;
+        this.latencyMs = latencyMs;
+        this.latencyDistribution = latencyDistribution;
+        this.errorRatio = errorRatio;
+        this.throttleRatio = throttleRatio;
+        this.maxInFlight = maxInFlight;
+        this.seed = seed;
+        return this;
+    }
+
+    private int getNumber(String option, String value, int defaultValue) {
+        try {
+            return Integer.parseInt(value);
+        } catch (Exception e) {
+            msgErrors.add(option + " <number> expected, [" + value + "] found");
+            return defaultValue;
+        }
+    }
+
+    public boolean isUsage() {
+        return usage;
+    }
+
+    public boolean isError() {
+        return !msgErrors.isEmpty();
+    }
+
+    public int getPort() {
+        return port;
+    }
+
+    public int getLatencyMs() {
+        return latencyMs;
+    }
+
+    public LATENCY getLatencyDistribution() {
+        return latencyDistribution;
+    }
+
+    public int getErrorRatio() {
+        return errorRatio;
+    }
+
+    public int getThrottleRatio() {
+        return throttleRatio;
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * print the current options detected
+     */
+    public void printOptions() {
+        print(" Port: " + getPort());
+        print(" Latency: " + getLatencyMs() + " ms (" + getLatencyDistribution() + ")");
+        print(" Errors: " + getErrorRatio() + "%, throttled: " + getThrottleRatio() + "%, maximum in flight: " + (getMaxInFlight() == 0 ? "no limit" : getMaxInFlight()));
+        print(" Seed: " + getSeed());
+    }
+
+    /**
+     * print the usage
+     */
+    public void printUsage() {
+        print("Usage: FakeTranslateServer [options]");
+        print(" Serve the Google Translate v2 API on localhost, offline. A text is translated to \"[<target>] <text>\".");
+        print(" Then execute: SynchroTranslation -g ANY_KEY --googleHost http://localhost:<port> ...");
+        print("Options:");
+        print(" -p|--port <number>: port of the server. 0 takes any free port. Default is 8099");
+        print(" --latency <milliseconds>: mean latency of a request. Default is 0");
+        print(" --latencyDistribution <" + LATENCY.CONSTANT + "|" + LATENCY.UNIFORM + "|" + LATENCY.EXPONENTIAL + ">: "
+                + LATENCY.UNIFORM + " is between 0 and twice the mean, " + LATENCY.EXPONENTIAL + " has a long tail. Default is " + LATENCY.CONSTANT);
+        print(" --errorRatio <percent>: percentage of requests answered by an HTTP 500. Default is 0");
+        print(" --throttleRatio <percent>: percentage of requests answered by an HTTP 429 rateLimitExceeded. Default is 0");
+        print(" --maxInFlight <number>: requests above this number in progress are answered by an HTTP 429. Default is 0, no limit");
+        print(" --seed <number>: seed of the latency and of the errors. The same request gets the same answers, whatever the order of the requests. Default is 1");
+    }
+
+    public void printError() {
+        print("Error:");
+        msgErrors.forEach(TranslateServerParams::print);
+        print("");
+    }
+}
@@ -0,0 +1,271 @@
+package org.camunda.webapptranslation.tool.operation;
+
+/* -------------------------------------------------------------------- */
+/*                                                                      */
+/* Completion journal                                                   */
+/*                                                                      */
+/* Write-ahead journal of the completion: each proposition decided for  */
+/* a key is appended, with its proposal, as soon as the proposal        */
+/* returns it. When a run is interrupted, the next run replays the      */
+/* journal: a key already decided, with the same reference sentence,    */
+/* gets the same proposition without asking the proposals again, and    */
+/* the machine translation plan does not send it. The journal is        */
+/* removed at the end of a run where all dictionaries were written.     */
+/*                                                                      */
+/* -------------------------------------------------------------------- */
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import org.camunda.webapptranslation.tool.report.ReportInt;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class CompletionJournal {
+
+    private final Gson gson = new GsonBuilder().disableHtmlEscaping().create();
+    private final File journalFile;
+    /**
+     * Decisions of the interrupted run. Loaded by open(), then only read: completions read it in parallel.
+     */
+    private final Map<JournalKey, JournalEntry> replayEntries = new HashMap<>();
+    private Writer appendWriter = null;
+    /**
+     * A dictionary was not completed or not written: the journal is kept for the next run
+     */
+    private volatile boolean incomplete = false;
+
+    private final AtomicInteger nbReplayed = new AtomicInteger();
+    private int nbRecorded = 0;
+
+    /**
+     * @param journalFile file of the journal
+     */
+    public CompletionJournal(File journalFile) {
+        this.journalFile = journalFile;
+    }
+
+    /**
+     * Load the decisions of an interrupted run, and open the journal to record the decisions of this run. If the
+     * file does not exist, there is nothing to replay.
+     *
+     * @param report report used to report any error
+     * @return false if the journal can't be used
+     */
+    public synchronized boolean open(ReportInt report) {
+        replayEntries.clear();
+        if (journalFile.exists()) {
+            int nbIncorrectLines = 0;
+            try (BufferedReader reader = Files.newBufferedReader(journalFile.toPath(), StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    try {
+                        JournalEntry entry = gson.fromJson(line, JournalEntry.class);
+                        if (entry != null && entry.application != null && entry.language != null && entry.key != null
+                                && entry.reference != null && entry.proposition != null && entry.proposal != null)
+                            replayEntries.put(new JournalKey(entry.application, entry.language, entry.key), entry);
+                        else if (!line.isBlank())
+                            nbIncorrectLines++;
+                    } catch (Exception e) {
+                        // the last line is incomplete when the run stopped while writing it
+                        nbIncorrectLines++;
+                    }
+                }
+            } catch (Exception e) {
+                report.severe(CompletionJournal.class, "Error reading completion journal [" + journalFile.getAbsolutePath() + "]", e);
+                return false;
+            }
+            report.info(CompletionJournal.class, "Completion journal [" + journalFile.getAbsolutePath() + "]: resume an interrupted run, "
+                    + replayEntries.size() + " decisions to replay" + (nbIncorrectLines > 0 ? ", " + nbIncorrectLines + " incorrect lines ignored" : ""));
+        }
+        try {
+            // the decisions replayed stay in the file: they are replayed again if this run is interrupted too
+            appendWriter = Files.newBufferedWriter(journalFile.toPath(), StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            report.severe(CompletionJournal.class, "Can't write completion journal [" + journalFile.getAbsolutePath() + "]", e);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Search a decision of the interrupted run
+     *
+     * @param application       application of the dictionary
+     * @param language          language of the dictionary
+     * @param key               key to complete
+     * @param referenceSentence sentence of the key in the reference dictionary
+     * @return the decision, null if the key was not decided, or if its reference sentence changed since
+     */
+    public JournalEntry get(String application, String language, String key, String referenceSentence) {
+        JournalEntry entry = replayEntries.get(new JournalKey(application, language, key));
+        return entry != null && entry.reference.equals(referenceSentence) ? entry : null;
+    }
+
+    /**
+     * Replay the decisions of the interrupted run
+     *
+     * @param application         application of the dictionary
+     * @param language            language of the dictionary
+     * @param listKeys            keys to complete
+     * @param referenceDictionary reference dictionary
+     * @return the decisions per key. A key not decided is not in the result.
+     */
+    public Map<String, JournalEntry> replay(String application, String language, Iterable<String> listKeys, Map<String, Object> referenceDictionary) {
+        Map<String, JournalEntry> decisions = new HashMap<>();
+        if (replayEntries.isEmpty())
+            return decisions;
+        for (String key : listKeys) {
+            Object referenceSentence = referenceDictionary.get(key);
+            JournalEntry entry = referenceSentence instanceof String ? get(application, language, key, (String) referenceSentence) : null;
+            if (entry != null)
+                decisions.put(key, entry);
+        }
+        nbReplayed.addAndGet(decisions.size());
+        return decisions;
+    }
+
+    /**
+     * Record the propositions of a proposal for a dictionary. They are written to the file immediately, in one
+     * write: they are not lost if the run stops.
+     *
+     * @param application         application of the dictionary
+     * @param language            language of the dictionary
+     * @param propositions        propositions per key
+     * @param proposalName        name of the proposal
+     * @param referenceDictionary reference dictionary
+     * @param report              report used to report any error
+     */
+    public synchronized void record(String application, String language, Map<String, String> propositions, String proposalName, Map<String, Object> referenceDictionary, ReportInt report) {
+        if (appendWriter == null || propositions.isEmpty())
+            return;
+        StringBuilder lines = new StringBuilder();
+        for (Map.Entry<String, String> proposition : propositions.entrySet()) {
+            Object referenceSentence = referenceDictionary.get(proposition.getKey());
+            if (!(referenceSentence instanceof String) || proposition.getValue() == null)
+                continue;
+            lines.append(gson.toJson(new JournalEntry(application, language, proposition.getKey(), (String) referenceSentence, proposition.getValue(), proposalName)));
+            lines.append("\n");
+            nbRecorded++;
+        }
+        try {
+            appendWriter.write(lines.toString());
+            appendWriter.flush();
+        } catch (IOException e) {
+            report.severe(CompletionJournal.class, "Can't write completion journal [" + journalFile.getAbsolutePath() + "], next decisions are not recorded", e);
+            closeAppendWriter();
+        }
+    }
+
+    /**
+     * A dictionary was not completed or not written: the run must be resumed
+     */
+    public void setIncomplete() {
+        incomplete = true;
+    }
+
+    /**
+     * Close the journal. When all dictionaries were written, there is nothing to resume: the journal is removed.
+     *
+     * @param report report used to report any error
+     */
+    public synchronized void close(ReportInt report) {
+        closeAppendWriter();
+        if (incomplete) {
+            report.info(CompletionJournal.class, "Completion journal [" + journalFile.getAbsolutePath() + "] kept: the next run resumes the dictionaries not completed");
+            return;
+        }
+        try {
+            Files.deleteIfExists(journalFile.toPath());
+        } catch (IOException e) {
+            report.severe(CompletionJournal.class, "Can't remove completion journal [" + journalFile.getAbsolutePath() + "]: the next run replays it", e);
+        }
+    }
+
+    /**
+     * @return one line of statistics
+     */
+    public synchronized String getStatistics() {
+        return "Completion journal: " + nbReplayed.get() + " decisions replayed, " + nbRecorded + " recorded";
+    }
+
+    private void closeAppendWriter() {
+        if (appendWriter == null)
+            return;
+        try {
+            appendWriter.close();
+        } catch (IOException e) {
+            // decisions already written are flushed
+        }
+        appendWriter = null;
+    }
+
+    private static class JournalKey {
+        private final String application;
+        private final String language;
+        private final String key;
+
+        private JournalKey(String application, String language, String key) {
+            this.application = application;
+            this.language = language;
+            this.key = key;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o)
+                return true;
+            if (!(o instanceof JournalKey))
+                return false;
+            JournalKey other = (JournalKey) o;
+            return application.equals(other.application) && language.equals(other.language) && key.equals(other.key);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(application, language, key);
+        }
+    }
+
+    /**
+     * One line of the file: a decision
+     */
+    public static class JournalEntry {
+        String application;
+        String language;
+        String key;
+        String reference;
+        String proposition;
+        String proposal;
+
+        private JournalEntry() {
+        }
+
+        private JournalEntry(String application, String language, String key, String reference, String proposition, String proposal) {
+            this.application = application;
+            this.language = language;
+            this.key = key;
+            this.reference = reference;
+            this.proposition = proposition;
+            this.proposal = proposal;
+        }
+
+        public String getProposition() {
+            return proposition;
+        }
+
+        public String getProposal() {
+            return proposal;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package org.camunda.webapptranslation.tool.operation;
+
+/* -------------------------------------------------------------------- */
+/*                                                                      */
+/* Coverage matrix                                                      */
+/*                                                                      */
+/* Collect, during the detection, the coverage of each (application,    */
+/* language): the missing keys are the bitset of reference ordinals     */
+/* kept by the DictionaryStatus, so a cell costs a few words. At the    */
+/* end of the detection, the matrix is exported as one CSV table.       */
+/*                                                                      */
+/* -------------------------------------------------------------------- */
+
+import org.camunda.webapptranslation.tool.report.ReportInt;
+
+import java.io.File;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.BitSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+public class CoverageMatrix {
+
+    /**
+     * Languages are detected in parallel: cells are registered concurrently.
+     * application -> language -> missing ordinals
+     */
+    private final Map<String, Map<String, BitSet>> matrix = new ConcurrentSkipListMap<>();
+    private final Map<String, Integer> referenceKeysPerApplication = new ConcurrentHashMap<>();
+
+    /**
+     * Register the status of a dictionary
+     *
+     * @param applicationName  application
+     * @param language         language of the dictionary
+     * @param nbReferenceKeys  number of keys in the reference dictionary
+     * @param dictionaryStatus status of the detection
+     */
+    public void register(String applicationName, String language, int nbReferenceKeys, Operation.DictionaryStatus dictionaryStatus) {
+        register(applicationName, language, nbReferenceKeys, dictionaryStatus.missingOrdinals);
+    }
+
+    /**
+     * Register a dictionary which does not exist: all reference keys are missing
+     *
+     * @param applicationName application
+     * @param language        language of the dictionary
+     * @param nbReferenceKeys number of keys in the reference dictionary
+     */
+    public void registerNotExist(String applicationName, String language, int nbReferenceKeys) {
+        BitSet missingOrdinals = new BitSet(nbReferenceKeys);
+        missingOrdinals.set(0, nbReferenceKeys);
+        register(applicationName, language, nbReferenceKeys, missingOrdinals);
+    }
+
+    /**
+     * Save the matrix in CSV: one line per application, one column per language, the cell is the percentage of
+     * reference keys present. A cell is empty when the application does not check the language (reference language).
+     *
+     * @param coverageFile file to write
+     * @param report       report used to report any error
+     * @return true if the matrix is saved
+     */
+    public boolean save(File coverageFile, ReportInt report) {
+        TreeSet<String> languages = new TreeSet<>();
+        matrix.values().forEach(cells -> languages.addAll(cells.keySet()));
+
+        File temporaryFile = new File(coverageFile.getAbsolutePath() + ".tmp");
+        try {
+            try (Writer writer = Files.newBufferedWriter(temporaryFile.toPath(), StandardCharsets.UTF_8)) {
+                writer.write("application,referenceKeys");
+                for (String language : languages)
+                    writer.write("," + language);
+                writer.write("\n");
+                for (Map.Entry<String, Map<String, BitSet>> application : matrix.entrySet()) {
+                    int nbReferenceKeys = referenceKeysPerApplication.get(application.getKey());
+                    writer.write(application.getKey() + "," + nbReferenceKeys);
+                    for (String language : languages) {
+                        BitSet missingOrdinals = application.getValue().get(language);
+                        writer.write(",");
+                        if (missingOrdinals != null)
+                            writer.write(String.format(Locale.ROOT, "%.1f", getCoverage(missingOrdinals, nbReferenceKeys)));
+                    }
+                    writer.write("\n");
+                }
+            }
+            Files.move(temporaryFile.toPath(), coverageFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            report.info(CoverageMatrix.class, "Coverage of " + matrix.size() + " applications x " + languages.size() + " languages saved in [" + coverageFile.getAbsolutePath() + "]");
+            return true;
+        } catch (Exception e) {
+            report.severe(CoverageMatrix.class, "Error writing coverage [" + coverageFile.getAbsolutePath() + "]", e);
+            return false;
+        }
+    }
+
+    private void register(String applicationName, String language, int nbReferenceKeys, BitSet missingOrdinals) {
+        referenceKeysPerApplication.put(applicationName, nbReferenceKeys);
+        matrix.computeIfAbsent(applicationName, name -> new ConcurrentHashMap<>()).put(language, missingOrdinals);
+    }
+
+    /**
+     * @return the percentage of reference keys present in the dictionary
+     */
+    private static double getCoverage(BitSet missingOrdinals, int nbReferenceKeys) {
+        if (nbReferenceKeys == 0)
+            return 100.0;
+        return 100.0 * (nbReferenceKeys - missingOrdinals.cardinality()) / nbReferenceKeys;
+    }
+}
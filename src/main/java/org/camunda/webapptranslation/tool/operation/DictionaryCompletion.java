@@ -3,12 +3,21 @@ package org.camunda.webapptranslation.tool.operation;
 import org.camunda.webapptranslation.tool.SynchroParams;
 import org.camunda.webapptranslation.tool.WebApplication;
 import org.camunda.webapptranslation.tool.app.AppDictionary;
+import org.camunda.webapptranslation.tool.app.AppExecutor;
+import org.camunda.webapptranslation.tool.app.AppMetrics;
 import org.camunda.webapptranslation.tool.app.AppPilot;
 import org.camunda.webapptranslation.tool.app.AppTimeTracker;
+import org.camunda.webapptranslation.tool.app.DictionaryRepository;
+import org.camunda.webapptranslation.tool.app.RunDeadline;
+import org.camunda.webapptranslation.tool.app.RunManifest;
+import org.camunda.webapptranslation.tool.report.ReportBuffer;
 import org.camunda.webapptranslation.tool.report.ReportInt;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -24,127 +33,276 @@ import java.util.stream.Collectors;
 public class DictionaryCompletion extends Operation {
 
     /**
-     * Do the completion on each dictionary
+     * Do the completion on each dictionary. Each language is a task for the executor: languages may be completed in
+     * parallel.
      *
-     * @param synchroParams parameter object
-     * @param report        report object
+     * @param dictionaryRepository repository to access dictionaries
+     * @param runManifest          manifest of the previous run, null if the run is not incremental
+     * @param runDeadline          deadline of the run, null if the run has no deadline
+     * @param completionJournal    journal of the decisions, null if the completion is not journaled
+     * @param appExecutor          executor to run the completion of each language
+     * @param synchroParams        parameter object
+     * @param report               report object
      */
     public void completion(Set<String> expectedLanguages,
                            WebApplication webApplication,
                            AppDictionary referenceDictionary,
                            EncyclopediaUniversal encyclopediaUniversal,
                            List<Proposal> listProposals,
+                           DictionaryRepository dictionaryRepository,
+                           RunManifest runManifest,
+                           RunDeadline runDeadline,
+                           CompletionJournal completionJournal,
+                           AppExecutor appExecutor,
                            SynchroParams synchroParams,
                            ReportInt report) {
 
         // check each dictionary
-        report.info(AppPilot.class, "----- Application " + webApplication.applicationName);
-
+        appExecutor.submit(taskReport -> taskReport.info(AppPilot.class, "----- Application " + webApplication.applicationName), report);
+        String completionSignature = getCompletionSignature(listProposals, synchroParams);
 
         for (String language : expectedLanguages.stream().sorted().collect(Collectors.toList())) {
             if (synchroParams.getOnlyCompleteOneLanguage() != null && !synchroParams.getOnlyCompleteOneLanguage().equals(language))
                 continue;
+            appExecutor.submit(taskReport -> completionLanguage(language, webApplication, referenceDictionary, encyclopediaUniversal, listProposals,
+                    dictionaryRepository, runManifest, runDeadline, completionJournal, completionSignature, taskReport), report);
+        }
+    }
 
-            if (language.equals(referenceDictionary.getLanguage())) {
-                report.info(AppPilot.class, headerLanguage(language) + "Referential");
+    /**
+     * Collect, for each language, the sentences the completion will ask to the machine translation of the plan. The
+     * dictionaries are not modified.
+     *
+     * @param plan                 plan to register the sentences
+     * @param dictionaryRepository repository to access dictionaries
+     * @param runManifest          manifest of the previous run, null if the run is not incremental
+     * @param completionJournal    journal of the decisions, null if the completion is not journaled
+     * @param appExecutor          executor to run the planning of each language
+     * @param synchroParams        parameter object
+     * @param report               report object
+     */
+    public void planning(Set<String> expectedLanguages,
+                         WebApplication webApplication,
+                         AppDictionary referenceDictionary,
+                         EncyclopediaUniversal encyclopediaUniversal,
+                         List<Proposal> listProposals,
+                         MachineTranslationPlan plan,
+                         DictionaryRepository dictionaryRepository,
+                         RunManifest runManifest,
+                         CompletionJournal completionJournal,
+                         AppExecutor appExecutor,
+                         SynchroParams synchroParams,
+                         ReportInt report) {
+        String completionSignature = getCompletionSignature(listProposals, synchroParams);
+
+        for (String language : expectedLanguages.stream().sorted().collect(Collectors.toList())) {
+            if (synchroParams.getOnlyCompleteOneLanguage() != null && !synchroParams.getOnlyCompleteOneLanguage().equals(language))
                 continue;
-            }
+            if (language.equals(referenceDictionary.getLanguage()))
+                continue;
+            int registrationOrder = plan.reserveRegistrationOrder();
+            appExecutor.submit(taskReport -> planningLanguage(language, webApplication, referenceDictionary, encyclopediaUniversal, listProposals,
+                    plan, registrationOrder, dictionaryRepository, runManifest, completionJournal, completionSignature), report);
+        }
+    }
+
+    /**
+     * Collect the sentences of one language: keys to add, without a proposition from the proposals before the machine
+     * translation, and not decided by an interrupted run. Nothing is reported: the completion does the same calls, and
+     * reports the errors.
+     */
+    private void planningLanguage(String language,
+                                  WebApplication webApplication,
+                                  AppDictionary referenceDictionary,
+                                  EncyclopediaUniversal encyclopediaUniversal,
+                                  List<Proposal> listProposals,
+                                  MachineTranslationPlan plan,
+                                  int registrationOrder,
+                                  DictionaryRepository dictionaryRepository,
+                                  RunManifest runManifest,
+                                  CompletionJournal completionJournal,
+                                  String completionSignature) {
+        ReportBuffer ignoredReport = new ReportBuffer();
+        AppDictionary fileDictionary = new AppDictionary(webApplication.translationFolder, language);
+        if (runManifest != null && runManifest.isCompletionRecorded(referenceDictionary, fileDictionary, completionSignature))
+            return;
+        // the dictionary is read, not modified: the shared one is enough
+        AppDictionary appDictionary = fileDictionary.existFile()
+                ? dictionaryRepository.getDictionary(webApplication.translationFolder, language, ignoredReport)
+                : fileDictionary;
+        if (appDictionary == null)
+            return;
+
+        KeyDiff keyDiff = KeyDiff.compare(appDictionary, referenceDictionary);
+        List<String> listKeys = new ArrayList<>(keyDiff.getReferenceKeyIndex().getKeys(keyDiff.getMissingOrdinals()));
+        keyDiff.getIncorrectTypes().forEach(keyDifference -> listKeys.add(keyDifference.getKey()));
+        listKeys.removeIf(key -> !(referenceDictionary.getDictionary().get(key) instanceof String));
+        if (completionJournal != null)
+            listKeys.removeIf(key -> completionJournal.get(webApplication.applicationName, language, key, (String) referenceDictionary.getDictionary().get(key)) != null);
+
+        for (Proposal proposal : listProposals) {
+            if (listKeys.isEmpty() || proposal == plan.getMachineTranslation())
+                break;
+            Map<String, String> propositions = getPropositions(proposal, listKeys, appDictionary, referenceDictionary, encyclopediaUniversal, ignoredReport);
+            listKeys.removeIf(propositions::containsKey);
+        }
+        List<String> listTexts = new ArrayList<>(listKeys.size());
+        listKeys.forEach(key -> listTexts.add((String) referenceDictionary.getDictionary().get(key)));
+        plan.register(registrationOrder, language, listTexts);
+    }
 
-            AppDictionary appDictionary = new AppDictionary(webApplication.translationFolder, language);
-            report.info(AppPilot.class, "  sourceFile [" + referenceDictionary.getFileName()+"]");
-            report.info(AppPilot.class, "  destinationFile [" + appDictionary.getFileName()+"]");
+    /**
+     * A different completion (mode, proposals) must run again on unchanged dictionaries
+     */
+    private String getCompletionSignature(List<Proposal> listProposals, SynchroParams synchroParams) {
+        return synchroParams.getCompletion() + ":"
+                + listProposals.stream().map(Proposal::getName).collect(Collectors.joining(","));
+    }
 
+    /**
+     * Do the completion on one language
+     *
+     * @param language            language to complete
+     * @param runDeadline         deadline of the run, null if the run has no deadline
+     * @param completionJournal   journal of the decisions, null if the completion is not journaled
+     * @param completionSignature signature of the completion, for the manifest
+     * @param report              report of this language
+     */
+    private void completionLanguage(String language,
+                                    WebApplication webApplication,
+                                    AppDictionary referenceDictionary,
+                                    EncyclopediaUniversal encyclopediaUniversal,
+                                    List<Proposal> listProposals,
+                                    DictionaryRepository dictionaryRepository,
+                                    RunManifest runManifest,
+                                    RunDeadline runDeadline,
+                                    CompletionJournal completionJournal,
+                                    String completionSignature,
+                                    ReportInt report) {
+        if (language.equals(referenceDictionary.getLanguage())) {
+            report.info(AppPilot.class, headerLanguage(language) + "Referential");
+            return;
+        }
 
-            //----------------  Read and complete
-            AppTimeTracker timeTrackerReadDictionary = AppTimeTracker.getTimeTracker("readDictionary");
+        AppDictionary fileDictionary = new AppDictionary(webApplication.translationFolder, language);
+        report.info(AppPilot.class, "  sourceFile [" + referenceDictionary.getFileName()+"]");
+        report.info(AppPilot.class, "  destinationFile [" + fileDictionary.getFileName()+"]");
 
-            // read the dictionary
-            if (appDictionary.existFile()) {
-                timeTrackerReadDictionary.start();
-                boolean allIsOk = appDictionary.read(report);
-                timeTrackerReadDictionary.stop();
-                if (!allIsOk) {
+        if (runManifest != null && runManifest.isCompletionUnchanged(referenceDictionary, fileDictionary, completionSignature)) {
+            report.info(AppPilot.class, headerLanguage(language) + "Unchanged since the previous run.");
+            return;
+        }
 
-                    // file exist, but not possible to read: better to have a look here
-                    report.severe(AppPilot.class, "File [" + appDictionary.getFile().getAbsolutePath() + "] exist, but impossible to read it: check it");
-                    continue;
-                }
+
+        //----------------  Read and complete
+        // read the dictionary: the encyclopedia already parsed it, get a copy to complete it
+        final AppDictionary appDictionary;
+        if (fileDictionary.existFile()) {
+            appDictionary = dictionaryRepository.getDictionaryCopy(webApplication.translationFolder, language, report);
+            if (appDictionary == null) {
+
+                // file exist, but not possible to read: better to have a look here
+                report.severe(AppPilot.class, "File [" + fileDictionary.getFile().getAbsolutePath() + "] exist, but impossible to read it: check it");
+                return;
             }
-            int beforePurge = appDictionary.getDictionary().size();
-            // purge all TRANSLATE key
-            AppTimeTracker timeTrackerDictionaryPreparation = AppTimeTracker.getTimeTracker("dictionaryPreparation");
-            timeTrackerDictionaryPreparation.start();
+        } else {
+            appDictionary = fileDictionary;
+        }
+        int beforePurge = appDictionary.getDictionary().size();
+        // purge all TRANSLATE key
+        try (AppTimeTracker.Handle timer = AppTimeTracker.getTimeTracker("dictionaryPreparation").startTimer()) {
             appDictionary.getDictionary()
                     .entrySet()
                     .removeIf(entry -> (entry.getKey().endsWith(SynchroParams.PLEASE_TRANSLATE_THE_SENTENCE)
                             || entry.getKey().endsWith(SynchroParams.PLEASE_VERIFY_THE_SENTENCE)
                             || entry.getKey().endsWith(SynchroParams.PLEASE_VERIFY_THE_SENTENCE_REFERENCE)
                     ));
+        }
 
-            List<String> listReports = new ArrayList<>();
-            if (appDictionary.getDictionary().size() != beforePurge) {
-                listReports.add((beforePurge - appDictionary.getDictionary().size()) + " label keys purged");
-                appDictionary.setModified();
-            }
-
-            // check and complete
-            AppTimeTracker timeTrackerDictionaryCheckKeys = AppTimeTracker.getTimeTracker("dictionaryCheckKeys");
-            timeTrackerDictionaryCheckKeys.start();
-            DictionaryStatus dictionaryStatus = checkKeys(appDictionary, referenceDictionary);
-            timeTrackerDictionaryCheckKeys.stop();
-
-            listProposals.forEach(proposal -> proposal.setDictionaries(appDictionary, referenceDictionary, encyclopediaUniversal));
-
-            if (dictionaryStatus.nbMissingKeys > 0) {
+        List<String> listReports = new ArrayList<>();
+        if (appDictionary.getDictionary().size() != beforePurge) {
+            listReports.add((beforePurge - appDictionary.getDictionary().size()) + " label keys purged");
+            appDictionary.setModified();
+        }
 
-                dictionaryStatus.missingKeys
-                        .forEach(key -> manageAddKey(dictionaryStatus, key, appDictionary, referenceDictionary, listProposals, report));
+        // check and complete
+        DictionaryStatus dictionaryStatus;
+        try (AppTimeTracker.Handle timer = AppTimeTracker.getTimeTracker("dictionaryCheckKeys").startTimer()) {
+            dictionaryStatus = checkKeys(appDictionary, referenceDictionary);
+        }
 
-                listReports.add("Add " + dictionaryStatus.nbMissingKeys + " keys / proposition ( "
-                        + dictionaryStatus.statisticPerProposer.entrySet()
-                        .stream()
-                        .map(entry -> entry.getKey() + ":" + entry.getValue())
-                        .collect(Collectors.joining(", ")) + ")");
+        // propositions of all keys to add are calculated together: a proposal may work by batch
+        List<String> listMissingKeys = dictionaryStatus.getMissingKeys();
+        List<String> listKeysToPropose = new ArrayList<>(listMissingKeys);
+        dictionaryStatus.incorrectClass.forEach(keyDifference -> listKeysToPropose.add(keyDifference.getKey()));
+        Map<String, String> propositions = getPropositions(dictionaryStatus, listKeysToPropose, appDictionary, referenceDictionary, encyclopediaUniversal, listProposals,
+                webApplication.applicationName, completionJournal, report);
+        // a sentence without proposition is marked to translate: the limit, an error or the deadline may have stopped the machine translation
+        boolean keysWithoutProposition = !listProposals.isEmpty()
+                && propositions.size() < listKeysToPropose.stream().filter(key -> referenceDictionary.getDictionary().get(key) instanceof String).count();
+        boolean completedInReserve = keysWithoutProposition && runDeadline != null && runDeadline.isShort();
+
+        if (dictionaryStatus.nbMissingKeys > 0) {
+
+            listMissingKeys
+                    .forEach(key -> manageAddKey(dictionaryStatus, key, appDictionary, referenceDictionary, propositions, listProposals));
+
+            listReports.add("Add " + dictionaryStatus.nbMissingKeys + " keys / proposition ( "
+                    + dictionaryStatus.statisticPerProposer.entrySet()
+                    .stream()
+                    .map(entry -> entry.getKey() + ":" + entry.getValue())
+                    .collect(Collectors.joining(", ")) + ")");
+
+            listReports.add(" Check in the dictionary keys ( "
+                    + dictionaryStatus.statisticPerKeyAdditions.entrySet()
+                    .stream()
+                    .map(entry -> entry.getKey() + ":" + entry.getValue())
+                    .collect(Collectors.joining(", ")) + ")");
+        }
 
-                listReports.add(" Check in the dictionary keys ( "
-                        + dictionaryStatus.statisticPerKeyAdditions.entrySet()
-                        .stream()
-                        .map(entry -> entry.getKey() + ":" + entry.getValue())
-                        .collect(Collectors.joining(", ")) + ")");
+        if (dictionaryStatus.nbTooMuchKeys > 0) {
+            listReports.add("Remove " + dictionaryStatus.nbTooMuchKeys + " keys");
+            dictionaryStatus.tooMuchKeys.forEach(key -> appDictionary.removeKey(key));
+        }
+        if (dictionaryStatus.nbIncorrectKeyClass > 0) {
+            listReports.add("Replace " + dictionaryStatus.nbIncorrectKeyClass + " keys");
+            dictionaryStatus.incorrectClass
+                    .forEach((keyDifference -> {
+                        appDictionary.removeKey(keyDifference.getKey());
+                        manageAddKey(dictionaryStatus, keyDifference.getKey(), appDictionary, referenceDictionary, propositions, listProposals);
+                    }));
+        }
+        if (completedInReserve) {
+            listReports.add(" Deadline is near, keys without proposition are marked to translate");
+            if (completionJournal != null)
+                completionJournal.setIncomplete();
+        }
+        if (listReports.isEmpty())
+            listReports.add("Nothing done.");
+        report.info(AppPilot.class,
+                headerLanguage(language)
+                        + String.join(",", listReports));
+
+
+        // -----------Write it
+        if (appDictionary.isModified()) {
+            boolean statusWrite;
+            try (AppTimeTracker.Handle timer = AppTimeTracker.getTimeTracker("dictionaryWrite").startTimer()) {
+                statusWrite = appDictionary.write(report);
             }
 
-            if (dictionaryStatus.nbTooMuchKeys > 0) {
-                listReports.add("Remove " + dictionaryStatus.nbMissingKeys + " keys");
-                dictionaryStatus.tooMuchKeys.forEach(key -> appDictionary.removeKey(key));
-            }
-            if (dictionaryStatus.nbIncorrectKeyClass > 0) {
-                listReports.add("Replace " + dictionaryStatus.nbMissingKeys + " keys");
-                dictionaryStatus.incorrectClass
-                        .forEach((key -> {
-                            appDictionary.removeKey(key);
-                            manageAddKey(dictionaryStatus, key, appDictionary, referenceDictionary, listProposals, report);
-                        }));
-            }
-            if (listReports.isEmpty())
-                listReports.add("Nothing done.");
-            report.info(AppPilot.class,
-                    headerLanguage(language)
-                            + String.join(",", listReports));
-
-
-            // -----------Write it
-            if (appDictionary.isModified()) {
-                AppTimeTracker timeTracker = AppTimeTracker.getTimeTracker("dictionaryWrite");
-                timeTracker.start();
-                boolean statusWrite = appDictionary.write(report);
-                timeTracker.stop();
-
-                if (statusWrite)
-                    report.info(AppPilot.class, INDENTATION + "   " + "Dictionary written with success.");
-                else
-                    report.severe(AppPilot.class, INDENTATION + "   " + "Error writing dictionary.");
+            if (statusWrite)
+                report.info(AppPilot.class, INDENTATION + "   " + "Dictionary written with success.");
+            else {
+                report.severe(AppPilot.class, INDENTATION + "   " + "Error writing dictionary.");
+                if (completionJournal != null)
+                    completionJournal.setIncomplete();
             }
         }
+        // the hash registered is the one of the written file. A completion with keys marked to translate runs again on the
+        // next run, to give these sentences to the machine translation with a new limit.
+        if (runManifest != null && !appDictionary.isModified() && !keysWithoutProposition)
+            runManifest.registerCompletion(referenceDictionary, appDictionary, completionSignature);
     }
 
     /**
@@ -153,84 +311,140 @@ public class DictionaryCompletion extends Operation {
      * @param key                 key to add
      * @param appDictionary       dictionary to add the key
      * @param referenceDictionary referential dictionary, then the value can be accessed
-     * @param report              to report any issue
+     * @param propositions        propositions calculated for the keys to add
+     * @param listProposals       proposals, empty when the completion does not propose translations
      */
-    private void manageAddKey(DictionaryStatus dictionaryStatus, String key, AppDictionary appDictionary, AppDictionary referenceDictionary, List<Proposal> listProposals, ReportInt report) {
-        AppTimeTracker timeTracker = AppTimeTracker.getTimeTracker("dictionaryAddKeys");
-        timeTracker.start();
-
-        Object valueReference = referenceDictionary.getDictionary().get(key);
-
-        if (valueReference instanceof Long || valueReference instanceof Integer || valueReference instanceof Double) {
-            // we add the key, no translation is needed
-            if (valueReference instanceof Double) {
-                Double valueReferenceDouble = (Double) valueReference;
-                if (Math.round(valueReferenceDouble) == valueReferenceDouble)
-                    valueReference = valueReferenceDouble.intValue();
-            }
-            appDictionary.addKey(key, valueReference);
+    private void manageAddKey(DictionaryStatus dictionaryStatus, String key, AppDictionary appDictionary, AppDictionary referenceDictionary, Map<String, String> propositions, List<Proposal> listProposals) {
+        try (AppTimeTracker.Handle timer = AppTimeTracker.getTimeTracker("dictionaryAddKeys").startTimer()) {
+
+            AppMetrics.getCounter(AppMetrics.KEYS_COMPLETED).increment();
+            Object valueReference = referenceDictionary.getDictionary().get(key);
 
+            if (valueReference instanceof Number) {
+                // we add the key, no translation is needed. An integer in the reference is read as a Long.
+                appDictionary.addKey(key, valueReference);
 
-        } else if (valueReference instanceof String) {
-            String defaultProposition = (String) valueReference;
-            String proposition = null;
-            String referenceTranslation = null;
 
-            if (!listProposals.isEmpty()) {
-                proposition = getProposition(dictionaryStatus, key, listProposals, report);
+            } else if (valueReference instanceof String) {
+                String defaultProposition = (String) valueReference;
+                String proposition = null;
+                String referenceTranslation = null;
+
+                if (!listProposals.isEmpty()) {
+                    proposition = propositions.get(key);
+                    if (proposition != null) {
+                        referenceTranslation = (String) valueReference;
+                        defaultProposition = null;
+                    }
+                }
+                if (defaultProposition != null) {
+                    appDictionary.addKey(key + SynchroParams.PLEASE_TRANSLATE_THE_SENTENCE, defaultProposition);
+                    dictionaryStatus.addKey(SynchroParams.PLEASE_TRANSLATE_THE_SENTENCE);
+                }
                 if (proposition != null) {
-                    referenceTranslation = (String) valueReference;
-                    defaultProposition = null;
+                    appDictionary.addKey(key + SynchroParams.PLEASE_VERIFY_THE_SENTENCE, proposition);
+                    dictionaryStatus.addKey(SynchroParams.PLEASE_VERIFY_THE_SENTENCE);
                 }
-            }
-            if (defaultProposition != null) {
-                appDictionary.addKey(key + SynchroParams.PLEASE_TRANSLATE_THE_SENTENCE, defaultProposition);
+                if (referenceTranslation != null) {
+                    appDictionary.addKey(key + SynchroParams.PLEASE_VERIFY_THE_SENTENCE_REFERENCE, referenceTranslation);
+                    dictionaryStatus.addKey(SynchroParams.PLEASE_VERIFY_THE_SENTENCE_REFERENCE);
+                }
+
+            } else {
+                appDictionary.addKey(key + SynchroParams.PLEASE_TRANSLATE_THE_SENTENCE, referenceDictionary.getDictionary().get(key));
                 dictionaryStatus.addKey(SynchroParams.PLEASE_TRANSLATE_THE_SENTENCE);
             }
-            if (proposition != null) {
-                appDictionary.addKey(key + SynchroParams.PLEASE_VERIFY_THE_SENTENCE, proposition);
-                dictionaryStatus.addKey(SynchroParams.PLEASE_VERIFY_THE_SENTENCE);
-            }
-            if (referenceTranslation != null) {
-                appDictionary.addKey(key + SynchroParams.PLEASE_VERIFY_THE_SENTENCE_REFERENCE, referenceTranslation);
-                dictionaryStatus.addKey(SynchroParams.PLEASE_VERIFY_THE_SENTENCE_REFERENCE);
-            }
-
-        } else {
-            appDictionary.addKey(key + SynchroParams.PLEASE_TRANSLATE_THE_SENTENCE, referenceDictionary.getDictionary().get(key));
-            dictionaryStatus.addKey(SynchroParams.PLEASE_TRANSLATE_THE_SENTENCE);
         }
-        timeTracker.stop();
-
     }
 
 
     /**
-     * Get a proposition.
+     * Get the propositions. Each proposal is asked for the keys without a proposition from the previous proposals: a
+     * batch proposal receives all these keys in one call.
      *
-     * @param dictionaryStatus status to collect statistics
-     * @param key              key to have a proposition
-     * @return the proposition, null if no proposition can be done
+     * @param dictionaryStatus  status to collect statistics
+     * @param listKeys          keys to have a proposition
+     * @param applicationName   application of the dictionary, for the journal
+     * @param completionJournal decisions of an interrupted run are replayed, new ones are recorded. May be null.
+     * @return the propositions per key. A key without proposition is not in the result.
      */
-    private String getProposition(DictionaryStatus dictionaryStatus, String key, List<Proposal> listProposals, ReportInt report) {
+    private Map<String, String> getPropositions(DictionaryStatus dictionaryStatus, List<String> listKeys, AppDictionary appDictionary, AppDictionary referenceDictionary, EncyclopediaUniversal encyclopediaUniversal, List<Proposal> listProposals,
+                                                String applicationName, CompletionJournal completionJournal, ReportInt report) {
+        Map<String, String> propositions = new HashMap<>();
+        // only a sentence can be translated
+        List<String> listKeysToPropose = listKeys.stream()
+                .filter(key -> referenceDictionary.getDictionary().get(key) instanceof String)
+                .collect(Collectors.toList());
+        if (listProposals.isEmpty() || listKeysToPropose.isEmpty())
+            return propositions;
+
+        try (AppTimeTracker.Handle timer = AppTimeTracker.getTimeTracker("dictionaryGetProposition").startTimer()) {
+            // keys decided by the interrupted run are not asked again to the proposals
+            Map<String, CompletionJournal.JournalEntry> decisions = completionJournal == null ? Collections.emptyMap()
+                    : completionJournal.replay(applicationName, appDictionary.getLanguage(), listKeysToPropose, referenceDictionary.getDictionary());
+            List<String> listReplayedProposals = new ArrayList<>();
+            decisions.forEach((key, decision) -> {
+                propositions.put(key, decision.getProposition());
+                listReplayedProposals.add(decision.getProposal());
+            });
+            listKeysToPropose = listKeysToPropose.stream().filter(key -> !decisions.containsKey(key)).collect(Collectors.toList());
 
-        AppTimeTracker timeTracker = AppTimeTracker.getTimeTracker("dictionaryGetProposition");
-        timeTracker.start();
-        try {
             for (Proposal proposal : listProposals) {
-                String proposition = proposal.calculateProposition(key, report);
-                if (proposition != null) {
-                    dictionaryStatus.addProposition(proposal.getName());
-                    return proposition;
+                // a replayed decision is counted at the turn of its proposal, as in the interrupted run
+                listReplayedProposals.removeIf(proposalName -> {
+                    if (!proposalName.equals(proposal.getName()))
+                        return false;
+                    dictionaryStatus.addProposition(proposalName);
+                    return true;
+                });
+                if (listKeysToPropose.isEmpty())
+                    continue;
+                Map<String, String> proposalPropositions = getPropositions(proposal, listKeysToPropose, appDictionary, referenceDictionary, encyclopediaUniversal, report);
+                if (completionJournal != null)
+                    completionJournal.record(applicationName, appDictionary.getLanguage(), proposalPropositions, proposal.getName(), referenceDictionary.getDictionary(), report);
+                List<String> listKeysWithoutProposition = new ArrayList<>();
+                for (String key : listKeysToPropose) {
+                    String proposition = proposalPropositions.get(key);
+                    if (proposition != null) {
+                        AppMetrics.getCounter(AppMetrics.PROPOSAL_HITS, AppMetrics.LABEL_PROPOSAL, proposal.getName()).increment();
+                        dictionaryStatus.addProposition(proposal.getName());
+                        propositions.put(key, proposition);
+                    } else {
+                        AppMetrics.getCounter(AppMetrics.PROPOSAL_MISSES, AppMetrics.LABEL_PROPOSAL, proposal.getName()).increment();
+                        listKeysWithoutProposition.add(key);
+                    }
                 }
+                listKeysToPropose = listKeysWithoutProposition;
+            }
+            // decisions of a proposal not used by this run
+            listReplayedProposals.forEach(dictionaryStatus::addProposition);
+        }
+        return propositions;
+    }
+
+    /**
+     * Get the propositions of one proposal: in one call for a batch proposal, else key by key
+     */
+    private Map<String, String> getPropositions(Proposal proposal, List<String> listKeys, AppDictionary appDictionary, AppDictionary referenceDictionary, EncyclopediaUniversal encyclopediaUniversal, ReportInt report) {
+        if (proposal instanceof ProposalBatch) {
+            try {
+                return ((ProposalBatch) proposal).calculatePropositions(listKeys, appDictionary, referenceDictionary, encyclopediaUniversal, report);
+            } catch (Exception e) {
+                report.severe(DictionaryCompletion.class, "Error during getPropositions " + e.toString());
+                return Collections.emptyMap();
+            }
+        }
+        Map<String, String> propositions = new HashMap<>();
+        for (String key : listKeys) {
+            try {
+                String proposition = proposal.calculateProposition(key, appDictionary, referenceDictionary, encyclopediaUniversal, report);
+                if (proposition != null)
+                    propositions.put(key, proposition);
+            } catch (Exception e) {
+                report.severe(DictionaryCompletion.class, "Error during getProposition " + e.toString());
             }
-            return null;
-        } catch (Exception e) {
-            report.severe(DictionaryCompletion.class, "Error during getProposition " + e.toString());
-            return null;
-        } finally {
-            timeTracker.stop();
         }
+        return propositions;
     }
 
 
@@ -3,7 +3,11 @@ package org.camunda.webapptranslation.tool.operation;
 import org.camunda.webapptranslation.tool.SynchroParams;
 import org.camunda.webapptranslation.tool.WebApplication;
 import org.camunda.webapptranslation.tool.app.AppDictionary;
+import org.camunda.webapptranslation.tool.app.AppExecutor;
 import org.camunda.webapptranslation.tool.app.AppPilot;
+import org.camunda.webapptranslation.tool.app.AppTimeTracker;
+import org.camunda.webapptranslation.tool.app.DictionaryRepository;
+import org.camunda.webapptranslation.tool.app.RunManifest;
 import org.camunda.webapptranslation.tool.report.ReportInt;
 
 import java.util.ArrayList;
@@ -29,61 +33,113 @@ public class DictionaryDetection extends Operation {
      * Check:
      * 1/ all dictionary exists
      * 2/ the language is complete
+     * Each language is a task for the executor: languages may be checked in parallel.
      *
-     * @param synchroParams access to parameters
+     * @param dictionaryRepository repository to access dictionaries
+     * @param runManifest          manifest of the previous run, null if the run is not incremental
+     * @param appExecutor          executor to run the detection of each language
+     * @param coverageMatrix       receive the coverage of each language
+     * @param synchroParams        access to parameters
      * @param report        report the status
      */
     public void detection(Set<String> expectedLanguages,
                           WebApplication webApplication,
                           AppDictionary referenceDictionary,
+                          DictionaryRepository dictionaryRepository,
+                          RunManifest runManifest,
+                          AppExecutor appExecutor,
+                          CoverageMatrix coverageMatrix,
                           SynchroParams synchroParams,
                           ReportInt report) {
 
-        report.info(DictionaryDetection.class, "----- Application " + webApplication.applicationName);
+        appExecutor.submit(taskReport -> taskReport.info(DictionaryDetection.class, "----- Application " + webApplication.applicationName), report);
 
         // check each dictionary
         for (String language : expectedLanguages.stream().sorted().collect(Collectors.toList())) {
             if (synchroParams.getOnlyCompleteOneLanguage() != null && !synchroParams.getOnlyCompleteOneLanguage().equals(language))
                 continue;
+            appExecutor.submit(taskReport -> detectionLanguage(language, webApplication, referenceDictionary, dictionaryRepository, runManifest, coverageMatrix, synchroParams, taskReport), report);
+        } // end language
+    }
 
-            if (language.equals(referenceDictionary.getLanguage())) {
-                report.info(DictionaryDetection.class, headerLanguage(language) + "Referentiel");
-                continue;
-            }
+    /**
+     * Detection on one language
+     *
+     * @param language language to check
+     * @param report   report of this language
+     */
+    private void detectionLanguage(String language,
+                                   WebApplication webApplication,
+                                   AppDictionary referenceDictionary,
+                                   DictionaryRepository dictionaryRepository,
+                                   RunManifest runManifest,
+                                   CoverageMatrix coverageMatrix,
+                                   SynchroParams synchroParams,
+                                   ReportInt report) {
+        if (language.equals(referenceDictionary.getLanguage())) {
+            report.info(DictionaryDetection.class, headerLanguage(language) + "Referentiel");
+            return;
+        }
 
+        try (AppTimeTracker.Handle timer = AppTimeTracker.getTimeTracker("detection").startTimer()) {
             AppDictionary dictionary = new AppDictionary(webApplication.translationFolder, language);
-            report.info(AppPilot.class, "  sourceFile [" + dictionary.getFileName()+"]");
+            report.info(AppPilot.class, "  sourceFile [" + dictionary.getFileName() + "]");
             if (!dictionary.existFile()) {
                 report.info(DictionaryDetection.class, headerLanguage(language) + "Not exist (" + referenceDictionary.getDictionary().size() + " missing keys)");
-                continue;
+                coverageMatrix.registerNotExist(webApplication.applicationName, language, referenceDictionary.getKeyIndex().size());
+                return;
+            }
+            // incremental: same reference, same dictionary, same result
+            if (runManifest != null) {
+                DictionaryStatus previousStatus = runManifest.getUnchangedDetection(referenceDictionary, dictionary);
+                if (previousStatus != null) {
+                    coverageMatrix.register(webApplication.applicationName, language, referenceDictionary.getKeyIndex().size(), previousStatus);
+                    reportStatus(language, previousStatus, synchroParams, report);
+                    return;
+                }
             }
             // read the dictionary
-            if (!dictionary.read(report)) {
+            dictionary = dictionaryRepository.getDictionary(webApplication.translationFolder, language, report);
+            if (dictionary == null) {
                 // error already reported
-                continue;
+                return;
             }
             DictionaryStatus dictionaryStatus = checkKeys(dictionary, referenceDictionary);
-            List<String> listReports = new ArrayList<>();
-            if (dictionaryStatus.nbMissingKeys > 0)
-                listReports.add("Missing " + dictionaryStatus.nbMissingKeys + " keys");
-            if (dictionaryStatus.nbTooMuchKeys > 0)
-                listReports.add("Too much " + dictionaryStatus.nbTooMuchKeys + " keys");
-            if (dictionaryStatus.nbIncorrectKeyClass > 0)
-                listReports.add("Incorrect class " + dictionaryStatus.nbIncorrectKeyClass + " keys");
-
-            if (listReports.isEmpty())
-                report.info(DictionaryDetection.class, headerLanguage(language) + "OK");
-            else {
-                // report errors
-                report.info(DictionaryDetection.class,
-                        headerLanguage(language)
-                                + String.join(",", listReports));
-                if (synchroParams.getDetection() == SynchroParams.DETECTION.FULL) {
-                    reportFullDectection(dictionaryStatus, report);
-                }
-            }
+            if (runManifest != null)
+                runManifest.registerDetection(referenceDictionary, dictionary, dictionaryStatus);
+            coverageMatrix.register(webApplication.applicationName, language, referenceDictionary.getKeyIndex().size(), dictionaryStatus);
+            reportStatus(language, dictionaryStatus, synchroParams, report);
+        }
+    }
 
-        } // end language
+    /**
+     * Report the status of one language
+     *
+     * @param language         language of the dictionary
+     * @param dictionaryStatus status of the detection
+     * @param synchroParams    access to parameters
+     * @param report           report
+     */
+    private void reportStatus(String language, DictionaryStatus dictionaryStatus, SynchroParams synchroParams, ReportInt report) {
+        List<String> listReports = new ArrayList<>();
+        if (dictionaryStatus.nbMissingKeys > 0)
+            listReports.add("Missing " + dictionaryStatus.nbMissingKeys + " keys");
+        if (dictionaryStatus.nbTooMuchKeys > 0)
+            listReports.add("Too much " + dictionaryStatus.nbTooMuchKeys + " keys");
+        if (dictionaryStatus.nbIncorrectKeyClass > 0)
+            listReports.add("Incorrect class " + dictionaryStatus.nbIncorrectKeyClass + " keys");
+
+        if (listReports.isEmpty())
+            report.info(DictionaryDetection.class, headerLanguage(language) + "OK");
+        else {
+            // report errors
+            report.info(DictionaryDetection.class,
+                    headerLanguage(language)
+                            + String.join(",", listReports));
+            if (synchroParams.getDetection() == SynchroParams.DETECTION.FULL) {
+                reportFullDectection(dictionaryStatus, report);
+            }
+        }
     }
 
     /**
@@ -94,13 +150,15 @@ public class DictionaryDetection extends Operation {
      */
     private void reportFullDectection(DictionaryStatus dictionaryStatus, ReportInt report) {
         if (dictionaryStatus.nbMissingKeys > 0) {
-            report.info(DictionaryDetection.class, INDENTATION_FULL + "Missing keys: " + String.join(", ", dictionaryStatus.missingKeys));
+            report.info(DictionaryDetection.class, INDENTATION_FULL + "Missing keys: " + String.join(", ", dictionaryStatus.getMissingKeys()));
         }
         if (dictionaryStatus.nbTooMuchKeys > 0) {
             report.info(DictionaryDetection.class, INDENTATION_FULL + "Too much keys: " + String.join(", ", dictionaryStatus.tooMuchKeys));
         }
         if (dictionaryStatus.nbIncorrectKeyClass > 0) {
-            report.info(DictionaryDetection.class, INDENTATION_FULL + "Incorrect classes: " + String.join(", ", dictionaryStatus.incorrectClass));
+            report.info(DictionaryDetection.class, INDENTATION_FULL + "Incorrect classes: " + dictionaryStatus.incorrectClass.stream()
+                    .map(KeyDifference::toString)
+                    .collect(Collectors.joining(", ")));
         }
 
 
@@ -5,41 +5,104 @@ package org.camunda.webapptranslation.tool.operation;
 /*                                                                      */
 /* Manage, for one langage, all key/value for all dictionaries                               */
 /*                                                                      */
+/* The encyclopedia is built first: dictionaries are registered, from   */
+/* multiple threads. Then it is frozen in immutable indexes, read by    */
+/* the completion.                                                      */
 /*                                                                      */
 /* -------------------------------------------------------------------- */
 
 import org.camunda.webapptranslation.tool.app.AppDictionary;
 
-import java.util.*;
-import java.util.stream.Collectors;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 
 public class Encyclopedia {
 
     private final String language;
-    Map<String, List<Registration>> registrationKeys = new HashMap<>();
-    Map<String, List<Registration>> registrationTranslations = new HashMap<>();
+    /**
+     * Build phase: registrations, per short key and per translation. Access is synchronized on the encyclopedia.
+     */
+    private Map<String, List<Registration>> registrationKeys = new HashMap<>();
+    private Map<String, List<Registration>> registrationTranslations = new HashMap<>();
+    private int nbRegistrations = 0;
+
+    /**
+     * Frozen phase: short key to translations, translation to short keys. Lists are deduplicated, the most frequent
+     * first.
+     */
+    private EncyclopediaIndex translationsByShortKey = null;
+    private EncyclopediaIndex shortKeysByTranslation = null;
 
     public Encyclopedia(String language) {
         this.language = language;
     }
 
+    /**
+     * Register a dictionary after all dictionaries already registered. Use it when dictionaries are registered by one
+     * thread.
+     *
+     * @param dictionary dictionary to register
+     */
     public void registerDictionary(AppDictionary dictionary) {
+        int order;
+        synchronized (this) {
+            order = nbRegistrations;
+        }
+        registerDictionary(dictionary, order);
+    }
+
+    /**
+     * Register a dictionary. Multiple threads can register dictionaries at the same time: registrations are sorted on
+     * the order when the encyclopedia is frozen, so the result does not depend on the thread which came first.
+     * Only String values are registered: a proposition is a sentence.
+     *
+     * @param dictionary dictionary to register
+     * @param order      order of the dictionary in the encyclopedia
+     */
+    public void registerDictionary(AppDictionary dictionary, int order) {
+        // prepare the registrations outside the lock
+        List<Registration> listRegistrations = new ArrayList<>(dictionary.getDictionary().size());
         for (Map.Entry<String, Object> entry : dictionary.getDictionary().entrySet()) {
-            String shortKey = getShortKey(entry.getKey());
-            List<Registration> listPropositions = registrationKeys.getOrDefault(getShortKey(shortKey), new ArrayList<>());
-            List<Registration> listTranslations = registrationTranslations.getOrDefault(entry.getValue(), new ArrayList<>());
+            if (!(entry.getValue() instanceof String))
+                continue;
             Registration registration = new Registration();
-            registration.key = entry.getKey();
-            registration.value = entry.getValue();
-            registration.dictionary = dictionary;
-
-            listPropositions.add(registration);
-            listTranslations.add(registration);
-            registrationKeys.put(shortKey, listPropositions);
-            registrationTranslations.put(entry.getValue().toString(), listTranslations);
+            registration.shortKey = getShortKey(entry.getKey());
+            registration.value = (String) entry.getValue();
+            registration.order = order;
+            listRegistrations.add(registration);
+        }
+        synchronized (this) {
+            if (registrationKeys == null)
+                throw new IllegalStateException("Encyclopedia [" + language + "] is frozen, dictionary [" + dictionary.getFileName() + "] can't be registered");
+            for (Registration registration : listRegistrations) {
+                registrationKeys.computeIfAbsent(registration.shortKey, key -> new ArrayList<>()).add(registration);
+                registrationTranslations.computeIfAbsent(registration.value, key -> new ArrayList<>()).add(registration);
+            }
+            nbRegistrations = Math.max(nbRegistrations, order + 1);
         }
     }
 
+    /**
+     * End of the build: indexes are transformed in immutable indexes, and no dictionary can be registered after.
+     */
+    public synchronized void freeze() {
+        if (registrationKeys == null)
+            return;
+        // the same sentence or short key is stored one time, whatever the number of dictionaries using it
+        Map<String, String> canonicalStrings = new HashMap<>();
+        translationsByShortKey = freezeIndex(registrationKeys, registration -> registration.value, canonicalStrings);
+        shortKeysByTranslation = freezeIndex(registrationTranslations, registration -> registration.shortKey, canonicalStrings);
+        registrationKeys = null;
+        registrationTranslations = null;
+    }
+
     /**
      * Return the language use by this encyclopedia
      *
@@ -50,25 +113,26 @@ public class Encyclopedia {
     }
 
     /**
-     * For a key (labels.ABORT), retrieve all propositions (i.e. ABORT ) in all directory
+     * For a key (labels.ABORT), retrieve all propositions (i.e. ABORT ) in all directory.
+     * The list is immutable and does not contain duplicates: the most frequent translation is first.
      *
      * @param key key to search
      * @return list of proposition
      */
     public List<String> getTranslationsByKey(String key) {
-        List<Registration> listPropositions = registrationKeys.getOrDefault(getShortKey(key), Collections.emptyList());
-        return listPropositions.stream()
-                .filter(registration -> registration.value instanceof String)
-                .map(registration -> (String) registration.value)
-                .collect(Collectors.toList());
+        // the short key is searched in place: no substring
+        return getFrozenIndex(translationsByShortKey).get(key, key.lastIndexOf('.') + 1);
     }
 
-    List<String> getKeysByTranslation(String translation) {
-        List<Registration> listPropositions = registrationTranslations.getOrDefault(translation, Collections.emptyList());
-        return listPropositions.stream()
-                .filter(registration -> registration.value instanceof String)
-                .map(registration -> registration.key)
-                .collect(Collectors.toList());
+    /**
+     * For a translation, retrieve the short keys using it. The list is immutable and does not contain duplicates: the
+     * most frequent short key is first.
+     *
+     * @param translation translation to search
+     * @return list of short keys
+     */
+    List<String> getShortKeysByTranslation(String translation) {
+        return getFrozenIndex(shortKeysByTranslation).get(translation);
     }
 
 
@@ -78,28 +142,63 @@ public class Encyclopedia {
      * @param key complete key
      * @return the short key
      */
-    private String getShortKey(String key) {
-        if (key.lastIndexOf(".") == -1)
-            return key;
-        return key.substring(key.lastIndexOf(".") + 1);
+    private static String getShortKey(String key) {
+        return key.substring(key.lastIndexOf('.') + 1);
+    }
+
+    private EncyclopediaIndex getFrozenIndex(EncyclopediaIndex index) {
+        if (index == null)
+            throw new IllegalStateException("Encyclopedia [" + language + "] is not frozen");
+        return index;
+    }
+
+    /**
+     * Sort registrations on the order of the dictionary, then deduplicate the results and rank them on their number
+     * of occurrences. Results with the same number of occurrences keep the order of the dictionaries.
+     *
+     * @param index            index of the build phase
+     * @param transformer      transform the registration in the result
+     * @param canonicalStrings one instance per string in all results
+     * @return the immutable index
+     */
+    private static EncyclopediaIndex freezeIndex(Map<String, List<Registration>> index,
+                                                 Function<Registration, String> transformer,
+                                                 Map<String, String> canonicalStrings) {
+        Map<String, List<String>> frozenIndex = new HashMap<>();
+        for (Map.Entry<String, List<Registration>> entry : index.entrySet()) {
+            List<Registration> listRegistrations = entry.getValue();
+            // stable sort: inside a dictionary, the order of keys is kept
+            listRegistrations.sort(Comparator.comparingInt(registration -> registration.order));
+            Map<String, Integer> occurrences = new LinkedHashMap<>();
+            for (Registration registration : listRegistrations)
+                occurrences.merge(transformer.apply(registration), 1, Integer::sum);
+
+            List<String> listResult = new ArrayList<>(occurrences.keySet());
+            // stable sort: same number of occurrences, first registered first
+            listResult.sort(Comparator.comparingInt(result -> -occurrences.get(result)));
+            listResult.replaceAll(result -> canonicalStrings.computeIfAbsent(result, Function.identity()));
+            frozenIndex.put(canonicalStrings.computeIfAbsent(entry.getKey(), Function.identity()),
+                    Collections.unmodifiableList(Arrays.asList(listResult.toArray(new String[0]))));
+        }
+        return new EncyclopediaIndex(frozenIndex);
     }
 
     /**
-     * Register a key / value and the dictionary
+     * Register a key / value during the build
      */
     private static class Registration {
         /**
-         * Key (complete one, like labels.ABORT)
+         * Short key (ABORT for labels.ABORT)
          */
-        public String key;
+        public String shortKey;
         /**
          * Value of the key
          */
-        public Object value;
+        public String value;
         /**
-         * Dictionary where the association is made
+         * Order of the dictionary where the association is made
          */
-        public AppDictionary dictionary;
+        public int order;
 
     }
 }
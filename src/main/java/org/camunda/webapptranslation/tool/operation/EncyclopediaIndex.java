@@ -0,0 +1,84 @@
+package org.camunda.webapptranslation.tool.operation;
+
+/* -------------------------------------------------------------------- */
+/*                                                                      */
+/* Encyclopedia index                                                   */
+/*                                                                      */
+/* Immutable open-addressing table, built when the encyclopedia is      */
+/* frozen. The key of a lookup is a region of a string (ABORT in        */
+/* labels.ABORT): it is hashed and compared in place, and the value is  */
+/* a list prepared at the build, so a lookup does not allocate.         */
+/*                                                                      */
+/* -------------------------------------------------------------------- */
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+class EncyclopediaIndex {
+
+    /**
+     * Keep the table at most half full: probe sequences stay short
+     */
+    private static final int LOAD_FACTOR_INVERSE = 2;
+
+    private final String[] slotKeys;
+    private final List<?>[] slotValues;
+    private final int mask;
+
+    /**
+     * @param index content of the index. Lists are kept as they are: give immutable lists.
+     */
+    EncyclopediaIndex(Map<String, List<String>> index) {
+        int capacity = Integer.highestOneBit(Math.max(1, index.size() * LOAD_FACTOR_INVERSE) * 2 - 1);
+        slotKeys = new String[capacity];
+        slotValues = new List<?>[capacity];
+        mask = capacity - 1;
+        for (Map.Entry<String, List<String>> entry : index.entrySet()) {
+            int slot = spread(entry.getKey().hashCode()) & mask;
+            while (slotKeys[slot] != null)
+                slot = (slot + 1) & mask;
+            slotKeys[slot] = entry.getKey();
+            slotValues[slot] = entry.getValue();
+        }
+    }
+
+    /**
+     * Search the value of a key
+     *
+     * @param key key
+     * @return the value, an empty list if the key is not in the index
+     */
+    List<String> get(String key) {
+        return get(key, 0);
+    }
+
+    /**
+     * Search the value of a key, which is the end of the text, from start
+     *
+     * @param text  text containing the key
+     * @param start first character of the key in the text
+     * @return the value, an empty list if the key is not in the index
+     */
+    @SuppressWarnings("unchecked")
+    List<String> get(String text, int start) {
+        int length = text.length() - start;
+        // same hash as String.hashCode() on the region
+        int hash = 0;
+        for (int i = start; i < text.length(); i++)
+            hash = 31 * hash + text.charAt(i);
+
+        int slot = spread(hash) & mask;
+        while (slotKeys[slot] != null) {
+            String slotKey = slotKeys[slot];
+            if (slotKey.length() == length && text.regionMatches(start, slotKey, 0, length))
+                return (List<String>) slotValues[slot];
+            slot = (slot + 1) & mask;
+        }
+        return Collections.emptyList();
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -2,21 +2,25 @@ package org.camunda.webapptranslation.tool.operation;
 
 import org.camunda.webapptranslation.tool.app.AppDictionary;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /* -------------------------------------------------------------------- */
 /*                                                                      */
 /* EncyclopediaUniversali                                */
 /*                                                                      */
 /* Save all encyclodia for all language.*/
+/* Each language is a shard: dictionaries of different languages are    */
+/* registered in parallel. Call freeze() before the completion.         */
 /*                                                                      */
 /* -------------------------------------------------------------------- */
 
 public class EncyclopediaUniversal {
 
-    private final Map<String, Encyclopedia> allEncyclopedia = new HashMap<>();
+    private final Map<String, Encyclopedia> allEncyclopedia = new ConcurrentHashMap<>();
     private final String referenceLanguage;
+    private final AtomicInteger registrationOrder = new AtomicInteger();
 
 
     public EncyclopediaUniversal(String referenceLanguage) {
@@ -33,15 +37,41 @@ public class EncyclopediaUniversal {
         return allEncyclopedia.get(referenceLanguage);
     }
 
+    /**
+     * Reserve the order of a registration. Reserve it when the registration is submitted: propositions are then the
+     * same, whatever the order of execution of the registrations.
+     *
+     * @return the order to give to registerDictionary()
+     */
+    public int reserveRegistrationOrder() {
+        return registrationOrder.getAndIncrement();
+    }
+
     /**
      * register the dictionary in the correct encyclopedia
      *
      * @param dictionary dictionary to reference
      */
     public void registerDictionary(AppDictionary dictionary) {
-        Encyclopedia encyclopedia = allEncyclopedia.getOrDefault(dictionary.getLanguage(), new Encyclopedia(dictionary.getLanguage()));
-        encyclopedia.registerDictionary(dictionary);
-        allEncyclopedia.put(dictionary.getLanguage(), encyclopedia);
+        registerDictionary(dictionary, reserveRegistrationOrder());
+    }
+
+    /**
+     * register the dictionary in the correct encyclopedia. This method can be called from multiple threads.
+     *
+     * @param dictionary dictionary to reference
+     * @param order      order reserved by reserveRegistrationOrder()
+     */
+    public void registerDictionary(AppDictionary dictionary, int order) {
+        allEncyclopedia.computeIfAbsent(dictionary.getLanguage(), Encyclopedia::new)
+                .registerDictionary(dictionary, order);
+    }
+
+    /**
+     * End of the build: all encyclopedia are frozen in read-optimized indexes
+     */
+    public void freeze() {
+        allEncyclopedia.values().forEach(Encyclopedia::freeze);
     }
 
     public Encyclopedia getByLanguage(String language) {
@@ -0,0 +1,238 @@
+package org.camunda.webapptranslation.tool.operation;
+
+/* -------------------------------------------------------------------- */
+/*                                                                      */
+/* Google Translate pipeline                                            */
+/*                                                                      */
+/* Requests to Google are sent by worker threads: a completion sends    */
+/* all requests of a dictionary, then waits for them. The number of     */
+/* requests in flight adapts to the service: it grows slowly while      */
+/* responses are fast, and is cut when Google throttles or when the     */
+/* latency degrades (AIMD). A quota or transient error is retried,      */
+/* with an exponential backoff and a random jitter.                     */
+/*                                                                      */
+/* -------------------------------------------------------------------- */
+
+import com.google.cloud.translate.TranslateException;
+import org.camunda.webapptranslation.tool.app.AppMetrics;
+
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class GoogleTranslatePipeline {
+
+    /**
+     * Backoff: the first retry waits up to 1 s, then 2 s, 4 s... never more than 32 s
+     */
+    private static final long BACKOFF_BASE_MS = 1000;
+    private static final long BACKOFF_MAXIMUM_MS = 32000;
+    /**
+     * HTTP codes of a transient error. 429 is the quota
+     */
+    private static final int CODE_TOO_MANY_REQUESTS = 429;
+    private static final Set<Integer> TRANSIENT_CODES = Set.of(CODE_TOO_MANY_REQUESTS, 500, 502, 503, 504);
+    /**
+     * Google returns a 403 with one of these reasons when the rate limit is reached
+     */
+    private static final Set<String> RATE_LIMIT_REASONS = Set.of("rateLimitExceeded", "userRateLimitExceeded");
+
+    private final ExecutorService executorService;
+    private final AdaptiveConcurrencyLimit concurrencyLimit;
+    private final int maximumRetries;
+
+    private final AtomicInteger nbRequests = new AtomicInteger();
+    private final AtomicInteger nbRetries = new AtomicInteger();
+    private final AtomicInteger nbThrottled = new AtomicInteger();
+
+    /**
+     * @param maximumInFlight maximum number of requests in flight
+     * @param maximumRetries  maximum number of retries of a request
+     */
+    public GoogleTranslatePipeline(int maximumInFlight, int maximumRetries) {
+        this.concurrencyLimit = new AdaptiveConcurrencyLimit(Math.max(1, maximumInFlight));
+        this.maximumRetries = Math.max(0, maximumRetries);
+        this.executorService = Executors.newFixedThreadPool(Math.max(1, maximumInFlight), runnable -> {
+            Thread thread = new Thread(runnable, "GoogleTranslatePipeline");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Send a request. The request is retried on a quota or transient error.
+     *
+     * @param request request to send
+     * @param <T>     result of the request
+     * @return the request: its result is completed exceptionally with the last error when all retries failed.
+     * Abandon it to not send it, or not retry it.
+     */
+    public <T> Request<T> submit(Callable<T> request) {
+        Request<T> pipelineRequest = new Request<>();
+        executorService.execute(() -> {
+            try {
+                pipelineRequest.result.complete(execute(request, pipelineRequest));
+            } catch (Exception e) {
+                pipelineRequest.result.completeExceptionally(e);
+            }
+        });
+        return pipelineRequest;
+    }
+
+    /**
+     * Stop the worker threads. Call it when all requests are finished.
+     */
+    public void shutdown() {
+        executorService.shutdown();
+    }
+
+    /**
+     * @return one line of statistics
+     */
+    public String getStatistics() {
+        return "GoogleTranslation pipeline: " + nbRequests.get() + " requests, " + nbRetries.get() + " retries, "
+                + nbThrottled.get() + " throttled, concurrency " + concurrencyLimit.getLimit() + "/" + concurrencyLimit.getMaximumLimit();
+    }
+
+    private <T> T execute(Callable<T> request, Request<T> pipelineRequest) throws Exception {
+        // abandoned before being sent: nothing is sent
+        if (!pipelineRequest.claimed.compareAndSet(false, true))
+            throw new CancellationException();
+        for (int attempt = 0; ; attempt++) {
+            concurrencyLimit.acquire();
+            long beginTime = System.nanoTime();
+            boolean throttled = false;
+            try {
+                nbRequests.incrementAndGet();
+                T response = request.call();
+                concurrencyLimit.release(System.nanoTime() - beginTime, false);
+                return response;
+            } catch (Exception e) {
+                throttled = isThrottled(e);
+                concurrencyLimit.release(System.nanoTime() - beginTime, throttled);
+                if (throttled) {
+                    nbThrottled.incrementAndGet();
+                    AppMetrics.getCounter(AppMetrics.GOOGLE_THROTTLED).increment();
+                }
+                // an abandoned request is not retried
+                if (attempt >= maximumRetries || !(throttled || isTransient(e)) || pipelineRequest.abandoned)
+                    throw e;
+            }
+            nbRetries.incrementAndGet();
+            AppMetrics.getCounter(AppMetrics.GOOGLE_RETRIES).increment();
+            // full jitter: requests throttled at the same time do not come back at the same time
+            long backoffMs = Math.min(BACKOFF_MAXIMUM_MS, BACKOFF_BASE_MS << Math.min(attempt, 16));
+            Thread.sleep(ThreadLocalRandom.current().nextLong(backoffMs + 1));
+            if (pipelineRequest.abandoned)
+                throw new CancellationException();
+        }
+    }
+
+    /**
+     * A request submitted to the pipeline
+     *
+     * @param <T> result of the request
+     */
+    public static class Request<T> {
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        /**
+         * Set by the first of the worker, which sends the request, and abandon(), which prevents it
+         */
+        private final AtomicBoolean claimed = new AtomicBoolean();
+        private volatile boolean abandoned = false;
+
+        private Request() {
+        }
+
+        /**
+         * @return the result of the request
+         */
+        public CompletableFuture<T> getResult() {
+            return result;
+        }
+
+        /**
+         * Nobody waits for the result anymore. A request not sent yet is never sent. A request already sent is not
+         * retried, but its result is still completed: the caller may keep it.
+         *
+         * @return true if the request was never sent: it costs nothing
+         */
+        public boolean abandon() {
+            abandoned = true;
+            return claimed.compareAndSet(false, true);
+        }
+    }
+
+    private static boolean isThrottled(Exception e) {
+        if (!(e instanceof TranslateException))
+            return false;
+        TranslateException translateException = (TranslateException) e;
+        return translateException.getCode() == CODE_TOO_MANY_REQUESTS
+                || RATE_LIMIT_REASONS.contains(translateException.getReason());
+    }
+
+    private static boolean isTransient(Exception e) {
+        if (!(e instanceof TranslateException))
+            return false;
+        TranslateException translateException = (TranslateException) e;
+        return translateException.isRetryable() || TRANSIENT_CODES.contains(translateException.getCode());
+    }
+
+    /**
+     * Additive increase, multiplicative decrease of the number of requests in flight. The latency of the fastest
+     * response is the reference: a response much slower means the service, or the link, is saturated.
+     */
+    private static class AdaptiveConcurrencyLimit {
+        /**
+         * A response slower than this factor of the fastest one is a congestion signal
+         */
+        private static final double LATENCY_TOLERANCE = 4.0;
+        private static final double THROTTLED_DECREASE = 0.5;
+        private static final double LATENCY_DECREASE = 0.9;
+
+        private final int maximumLimit;
+        private double limit;
+        private int inFlight = 0;
+        private long minimumLatencyNanos = Long.MAX_VALUE;
+
+        private AdaptiveConcurrencyLimit(int maximumLimit) {
+            this.maximumLimit = maximumLimit;
+            this.limit = maximumLimit;
+        }
+
+        private synchronized void acquire() throws InterruptedException {
+            while (inFlight >= (int) limit)
+                wait();
+            inFlight++;
+        }
+
+        private synchronized void release(long latencyNanos, boolean throttled) {
+            inFlight--;
+            if (throttled) {
+                limit = Math.max(1, limit * THROTTLED_DECREASE);
+            } else {
+                minimumLatencyNanos = Math.min(minimumLatencyNanos, latencyNanos);
+                if (latencyNanos > LATENCY_TOLERANCE * minimumLatencyNanos)
+                    limit = Math.max(1, limit * LATENCY_DECREASE);
+                else
+                    // one more request in flight when a full window of requests succeeded
+                    limit = Math.min(maximumLimit, limit + 1.0 / limit);
+            }
+            notifyAll();
+        }
+
+        private synchronized int getLimit() {
+            return (int) limit;
+        }
+
+        private int getMaximumLimit() {
+            return maximumLimit;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package org.camunda.webapptranslation.tool.operation;
+
+/* -------------------------------------------------------------------- */
+/*                                                                      */
+/* Key diff                                                             */
+/*                                                                      */
+/* Compare a dictionary to its reference in one pass on both            */
+/* dictionaries: missing keys, extra keys and keys with a different     */
+/* type. Missing keys are kept as a bitset of reference ordinals.       */
+/* Keys added by the completion (suffixed by                            */
+/* _PLEASETRANSLATETHESENTENCE...) are resolved during the pass: they   */
+/* are extra only if the key they complete is not in the reference.     */
+/*                                                                      */
+/* -------------------------------------------------------------------- */
+
+import org.camunda.webapptranslation.tool.SynchroParams;
+import org.camunda.webapptranslation.tool.app.AppDictionary;
+import org.camunda.webapptranslation.tool.app.DictionaryKeyIndex;
+import org.camunda.webapptranslation.tool.app.DictionaryTrie;
+import org.camunda.webapptranslation.tool.app.DictionaryValue;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+public class KeyDiff implements DictionaryTrie.ComparisonListener {
+
+    private final AppDictionary referenceDictionary;
+    private final DictionaryKeyIndex referenceKeyIndex;
+    /**
+     * Missing keys are ordinals in the reference key index: the key string is built only when needed
+     */
+    private final BitSet missingOrdinals = new BitSet();
+    private final Set<String> extraKeys = new LinkedHashSet<>();
+    private final List<KeyDifference> incorrectTypes = new ArrayList<>();
+    private int referenceOrdinal = 0;
+
+    private KeyDiff(AppDictionary referenceDictionary) {
+        this.referenceDictionary = referenceDictionary;
+        this.referenceKeyIndex = referenceDictionary.getKeyIndex();
+    }
+
+    /**
+     * Compare the dictionary to the reference
+     *
+     * @param dictionary          dictionary to check
+     * @param referenceDictionary reference dictionary
+     * @return the differences
+     */
+    public static KeyDiff compare(AppDictionary dictionary, AppDictionary referenceDictionary) {
+        KeyDiff keyDiff = new KeyDiff(referenceDictionary);
+        dictionary.compareWithReference(referenceDictionary, keyDiff);
+        return keyDiff;
+    }
+
+    /**
+     * @return ordinals, in the reference key index, of the reference keys which do not exist in the dictionary
+     */
+    public BitSet getMissingOrdinals() {
+        return missingOrdinals;
+    }
+
+    /**
+     * @return the reference key index the missing ordinals refer to
+     */
+    public DictionaryKeyIndex getReferenceKeyIndex() {
+        return referenceKeyIndex;
+    }
+
+    /**
+     * @return keys of the dictionary which do not exist in the reference, in the hierarchy order. A completed key
+     * (suffixed by _PLEASETRANSLATETHESENTENCE) is returned without its suffix, one time.
+     */
+    public Set<String> getExtraKeys() {
+        return extraKeys;
+    }
+
+    /**
+     * @return keys which exist in both, with a different type
+     */
+    public List<KeyDifference> getIncorrectTypes() {
+        return incorrectTypes;
+    }
+
+    @Override
+    public void referenceKey(DictionaryValue.ValueType referenceType, DictionaryValue.ValueType localType) {
+        int ordinal = referenceOrdinal++;
+        if (localType == null)
+            missingOrdinals.set(ordinal);
+        // a null value is accepted on both sides
+        else if (localType != referenceType
+                && referenceType != DictionaryValue.ValueType.NULL
+                && localType != DictionaryValue.ValueType.NULL)
+            incorrectTypes.add(new KeyDifference(referenceKeyIndex.getKey(ordinal), referenceType, localType));
+    }
+
+    @Override
+    public void onlyInLocal(String key, DictionaryValue.ValueType localType) {
+        if (key.endsWith(SynchroParams.PLEASE_VERIFY_THE_SENTENCE_REFERENCE))
+            return; // ignore it
+        String completedKey = key;
+        if (completedKey.endsWith(SynchroParams.PLEASE_TRANSLATE_THE_SENTENCE))
+            completedKey = completedKey.substring(0, completedKey.length() - SynchroParams.PLEASE_TRANSLATE_THE_SENTENCE.length());
+        if (completedKey.endsWith(SynchroParams.PLEASE_VERIFY_THE_SENTENCE))
+            completedKey = completedKey.substring(0, completedKey.length() - SynchroParams.PLEASE_VERIFY_THE_SENTENCE.length());
+        // a proposition for a reference key is expected
+        if (completedKey.length() != key.length() && referenceDictionary.exist(completedKey))
+            return;
+        extraKeys.add(completedKey);
+    }
+}
@@ -0,0 +1,42 @@
+package org.camunda.webapptranslation.tool.operation;
+
+/* -------------------------------------------------------------------- */
+/*                                                                      */
+/* Key difference                                                       */
+/*                                                                      */
+/* A key which exists in a dictionary and in its reference, with a      */
+/* different type (String in the reference, List in the dictionary).    */
+/*                                                                      */
+/* -------------------------------------------------------------------- */
+
+import org.camunda.webapptranslation.tool.app.DictionaryValue;
+
+public class KeyDifference {
+
+    private final String key;
+    private final DictionaryValue.ValueType referenceType;
+    private final DictionaryValue.ValueType localType;
+
+    public KeyDifference(String key, DictionaryValue.ValueType referenceType, DictionaryValue.ValueType localType) {
+        this.key = key;
+        this.referenceType = referenceType;
+        this.localType = localType;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public DictionaryValue.ValueType getReferenceType() {
+        return referenceType;
+    }
+
+    public DictionaryValue.ValueType getLocalType() {
+        return localType;
+    }
+
+    @Override
+    public String toString() {
+        return key + ":" + referenceType + " expected, " + localType + " found";
+    }
+}
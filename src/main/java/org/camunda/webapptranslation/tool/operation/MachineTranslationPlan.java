@@ -0,0 +1,226 @@
+package org.camunda.webapptranslation.tool.operation;
+
+/* -------------------------------------------------------------------- */
+/*                                                                      */
+/* Machine translation plan                                             */
+/*                                                                      */
+/* Before the completion, the sentences each dictionary will ask to the */
+/* machine translation are collected. The same sentence is missing in   */
+/* cockpit, admin, tasklist... for the same language: it is translated  */
+/* one time, with the sentences of all applications in the same         */
+/* requests. Translations are kept by the proposal cache, then the      */
+/* completion of each dictionary finds them there.                      */
+/* When the limit of translations is lower than the plan, the budget    */
+/* goes to the most useful sentences first: languages of the priority   */
+/* list, then sentences missing in the most dictionaries, then          */
+/* sentences used by the most keys of the reference.                    */
+/*                                                                      */
+/* -------------------------------------------------------------------- */
+
+import org.camunda.webapptranslation.tool.app.AppDictionary;
+import org.camunda.webapptranslation.tool.app.AppTimeTracker;
+import org.camunda.webapptranslation.tool.report.ReportInt;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntSupplier;
+
+public class MachineTranslationPlan {
+
+    /**
+     * Prefix of the keys in the dictionaries of the plan
+     */
+    private static final String PLAN_KEY_PREFIX = "sentence";
+
+    private final ProposalBatch machineTranslation;
+    private final String referenceLanguage;
+    private final int limitNumberOfTranslations;
+    private final IntSupplier remainingTranslations;
+    private final List<String> languagePriority;
+
+    private final AtomicInteger registrationOrder = new AtomicInteger();
+    /**
+     * Dictionaries are registered in parallel: the plan follows the order reserved, not the execution order
+     */
+    private final Map<Integer, Registration> registrations = new ConcurrentSkipListMap<>();
+
+    /**
+     * @param machineTranslation        the machine translation proposal, as it is in the list of proposals
+     * @param referenceLanguage         language of the sentences to translate
+     * @param limitNumberOfTranslations maximum number of sentences the machine translation translates
+     * @param remainingTranslations     number of translations the machine translation can still do
+     * @param languagePriority          languages translated first, the most important first. May be empty.
+     */
+    public MachineTranslationPlan(ProposalBatch machineTranslation,
+                                  String referenceLanguage,
+                                  int limitNumberOfTranslations,
+                                  IntSupplier remainingTranslations,
+                                  List<String> languagePriority) {
+        this.machineTranslation = machineTranslation;
+        this.referenceLanguage = referenceLanguage;
+        this.limitNumberOfTranslations = limitNumberOfTranslations;
+        this.remainingTranslations = remainingTranslations;
+        this.languagePriority = languagePriority;
+    }
+
+    /**
+     * @return the machine translation proposal. Proposals before it in the list answer first.
+     */
+    public ProposalBatch getMachineTranslation() {
+        return machineTranslation;
+    }
+
+    /**
+     * Reserve the place of a dictionary in the plan
+     *
+     * @return the order to give to register()
+     */
+    public int reserveRegistrationOrder() {
+        return registrationOrder.getAndIncrement();
+    }
+
+    /**
+     * Register the sentences a dictionary will ask to the machine translation
+     *
+     * @param order     order reserved by reserveRegistrationOrder()
+     * @param language  language of the dictionary
+     * @param listTexts sentences of the keys without proposition, one per key
+     */
+    public void register(int order, String language, List<String> listTexts) {
+        registrations.put(order, new Registration(language, listTexts));
+    }
+
+    /**
+     * Give the cost of the plan, then translate each sentence one time per language, the most useful first
+     *
+     * @param encyclopediaUniversal encyclopedia
+     * @param report                report
+     */
+    public void dispatch(EncyclopediaUniversal encyclopediaUniversal, ReportInt report) {
+        // one entry per sentence and language, in the order of the registrations
+        Map<String, Map<String, PlanEntry>> entriesPerLanguage = new HashMap<>();
+        List<PlanEntry> entries = new ArrayList<>();
+        int nbKeys = 0;
+        int nbDictionaries = 0;
+        for (Registration registration : registrations.values()) {
+            if (registration.listTexts.isEmpty())
+                continue;
+            nbKeys += registration.listTexts.size();
+            nbDictionaries++;
+            for (String text : registration.listTexts) {
+                PlanEntry entry = entriesPerLanguage.computeIfAbsent(registration.language, language -> new HashMap<>())
+                        .computeIfAbsent(text, t -> {
+                            PlanEntry newEntry = new PlanEntry(registration.language, text, entries.size());
+                            entries.add(newEntry);
+                            return newEntry;
+                        });
+                if (entry.lastRegistration != registration) {
+                    entry.nbDictionaries++;
+                    entry.lastRegistration = registration;
+                }
+            }
+        }
+        if (entries.isEmpty())
+            return;
+
+        Map<String, List<String>> textsPerLanguage = new TreeMap<>();
+        entries.forEach(entry -> textsPerLanguage.computeIfAbsent(entry.language, language -> new ArrayList<>()).add(entry.text));
+        int nbCharacters = 0;
+        int nbRequests = 0;
+        for (List<String> texts : textsPerLanguage.values()) {
+            nbCharacters += texts.stream().mapToInt(String::length).sum();
+            nbRequests += ProposalGoogleTranslate.splitInRequests(texts).size();
+        }
+        report.info(MachineTranslationPlan.class, "Machine translation plan: " + nbKeys + " keys in " + nbDictionaries + " dictionaries, "
+                + entries.size() + " sentences after deduplication in " + textsPerLanguage.size() + " languages, "
+                + nbCharacters + " characters in " + nbRequests + " requests (at most, before the translation memory)");
+        if (entries.size() > limitNumberOfTranslations)
+            report.info(MachineTranslationPlan.class, "Machine translation plan: limit is " + limitNumberOfTranslations + " translations, "
+                    + (entries.size() - limitNumberOfTranslations) + " sentences may not be translated, the most useful are translated first");
+
+        Encyclopedia referenceEncyclopedia = encyclopediaUniversal.getReferenceEncyclopedia();
+        for (PlanEntry entry : entries) {
+            int index = languagePriority.indexOf(entry.language);
+            entry.languageRank = index < 0 ? languagePriority.size() : index;
+            entry.nbReferenceKeys = referenceEncyclopedia == null ? 0 : referenceEncyclopedia.getShortKeysByTranslation(entry.text).size();
+        }
+        List<PlanEntry> rankedEntries = new ArrayList<>(entries);
+        rankedEntries.sort(Comparator.<PlanEntry>comparingInt(entry -> entry.languageRank)
+                .thenComparing(entry -> entry.nbDictionaries, Comparator.reverseOrder())
+                .thenComparing(entry -> entry.nbReferenceKeys, Comparator.reverseOrder())
+                .thenComparingInt(entry -> entry.planOrder));
+
+        try (AppTimeTracker.Handle timer = AppTimeTracker.getTimeTracker("machineTranslationPlan").startTimer()) {
+            // a sentence in the translation memory does not use the limit: the next round gives the remaining budget to the next sentences
+            int position = 0;
+            while (position < rankedEntries.size()) {
+                int remaining = remainingTranslations.getAsInt();
+                if (remaining <= 0)
+                    break;
+                List<PlanEntry> round = rankedEntries.subList(position, Math.min(rankedEntries.size(), position + remaining));
+                translateRound(round, encyclopediaUniversal, report);
+                position += round.size();
+            }
+        }
+    }
+
+    /**
+     * Translate a list of sentences: one call per language, sentences in the order of the list
+     */
+    private void translateRound(List<PlanEntry> round, EncyclopediaUniversal encyclopediaUniversal, ReportInt report) {
+        Map<String, List<String>> textsPerLanguage = new TreeMap<>();
+        round.forEach(entry -> textsPerLanguage.computeIfAbsent(entry.language, language -> new ArrayList<>()).add(entry.text));
+        for (Map.Entry<String, List<String>> entry : textsPerLanguage.entrySet()) {
+            // the plan is a pair of dictionaries: the sentences in the reference language, to translate in the language
+            AppDictionary planReference = new AppDictionary(null, referenceLanguage);
+            AppDictionary planDictionary = new AppDictionary(null, entry.getKey());
+            List<String> listKeys = new ArrayList<>(entry.getValue().size());
+            for (String text : entry.getValue()) {
+                String key = PLAN_KEY_PREFIX + listKeys.size();
+                planReference.addKey(key, text);
+                listKeys.add(key);
+            }
+            try {
+                machineTranslation.calculatePropositions(listKeys, planDictionary, planReference, encyclopediaUniversal, report);
+            } catch (Exception e) {
+                // the completion asks again the sentences of this language
+                report.severe(MachineTranslationPlan.class, "Error during the machine translation of [" + entry.getKey() + "] " + e);
+            }
+        }
+    }
+
+    private static class Registration {
+        private final String language;
+        private final List<String> listTexts;
+
+        private Registration(String language, List<String> listTexts) {
+            this.language = language;
+            this.listTexts = listTexts;
+        }
+    }
+
+    /**
+     * A sentence to translate in a language, with what gives its value
+     */
+    private static class PlanEntry {
+        private final String language;
+        private final String text;
+        private final int planOrder;
+        private int nbDictionaries = 0;
+        private int nbReferenceKeys = 0;
+        private int languageRank = 0;
+        private Registration lastRegistration = null;
+
+        private PlanEntry(String language, String text, int planOrder) {
+            this.language = language;
+            this.text = text;
+            this.planOrder = planOrder;
+        }
+    }
+}
@@ -9,11 +9,16 @@ package org.camunda.webapptranslation.tool.operation;
 /*                                                                      */
 /* -------------------------------------------------------------------- */
 
-import org.camunda.webapptranslation.tool.SynchroParams;
 import org.camunda.webapptranslation.tool.app.AppDictionary;
+import org.camunda.webapptranslation.tool.app.AppMetrics;
+import org.camunda.webapptranslation.tool.app.DictionaryKeyIndex;
 
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -24,78 +29,25 @@ public abstract class Operation {
 
     /**
      * CheckKeys
-     * Verify that this dictionary is complete in regard of the reference dictionary
+     * Verify that this dictionary is complete in regard of the reference dictionary. Both dictionaries are compared
+     * in one pass (see KeyDiff).
      */
     protected DictionaryStatus checkKeys(AppDictionary dictionary, AppDictionary referenceDictionary) {
         DictionaryStatus dictionaryStatus = new DictionaryStatus();
-
-        checkMissingKeys(dictionary, referenceDictionary, dictionaryStatus);
-        checkIncorrectObject(dictionary, referenceDictionary, dictionaryStatus);
-        checkTooMuchKeys(dictionary, referenceDictionary, dictionaryStatus);
-
+        AppMetrics.getCounter(AppMetrics.KEYS_CHECKED).add(referenceDictionary.getDictionary().size());
+
+        KeyDiff keyDiff = KeyDiff.compare(dictionary, referenceDictionary);
+        dictionaryStatus.setKeyIndex(keyDiff.getReferenceKeyIndex());
+        dictionaryStatus.missingOrdinals = keyDiff.getMissingOrdinals();
+        dictionaryStatus.nbMissingKeys = dictionaryStatus.missingOrdinals.cardinality();
+        // the key and its proposition may both be extra: the key is counted one time
+        dictionaryStatus.tooMuchKeys = keyDiff.getExtraKeys();
+        dictionaryStatus.nbTooMuchKeys = dictionaryStatus.tooMuchKeys.size();
+        dictionaryStatus.incorrectClass = keyDiff.getIncorrectTypes();
+        dictionaryStatus.nbIncorrectKeyClass = dictionaryStatus.incorrectClass.size();
         return dictionaryStatus;
     }
 
-    /**
-     * run the reference dictionary. Verify that the key exist in the local dictionary.
-     *
-     * @param referenceDictionary reference dictionary
-     * @param dictionaryStatus    complete the status
-     */
-    private void checkMissingKeys(AppDictionary dictionary, AppDictionary referenceDictionary, DictionaryStatus dictionaryStatus) {
-        // Key in the ref
-        for (String key : referenceDictionary.getDictionary().keySet()) {
-            if (!dictionary.getDictionary().containsKey(key)) {
-                dictionaryStatus.nbMissingKeys++;
-                dictionaryStatus.missingKeys.add(key);
-            }
-        }
-    }
-
-    /**
-     * run the dictionary and compare if the value on the dictionary and the value in the reference are the same type
-     *
-     * @param dictionary          the dictionary to check
-     * @param referenceDictionary reference dictionary
-     * @param dictionaryStatus    complete the status
-     */
-    private void checkIncorrectObject(AppDictionary dictionary, AppDictionary referenceDictionary, DictionaryStatus dictionaryStatus) {
-        // Key in the ref
-        for (String key : referenceDictionary.getDictionary().keySet()) {
-            if (dictionary.getDictionary().containsKey(key)) {
-                // check: the two keys must be identical (String <-> String or List<->List)
-                Object localValue = dictionary.getDictionary().get(key);
-                Object referenceValue = referenceDictionary.getDictionary().get(key);
-                if (localValue != null && referenceValue != null && !localValue.getClass().equals(referenceValue.getClass())) {
-                    dictionaryStatus.nbIncorrectKeyClass++;
-                    dictionaryStatus.incorrectClass.add(key + ":" + referenceValue.getClass() + " expected, " + localValue.getClass() + " found");
-                }
-            }
-        }
-    }
-
-    /**
-     * Too much keys
-     *
-     * @param dictionary          dictionary to work on
-     * @param referenceDictionary reference dictionary
-     * @param dictionaryStatus    status fulfill
-     */
-    private void checkTooMuchKeys(AppDictionary dictionary, AppDictionary referenceDictionary, DictionaryStatus dictionaryStatus) {
-        for (String key : dictionary.getDictionary().keySet()) {
-            if (key.endsWith(SynchroParams.PLEASE_VERIFY_THE_SENTENCE_REFERENCE))
-                continue; // ignore it
-            if (key.endsWith(SynchroParams.PLEASE_TRANSLATE_THE_SENTENCE))
-                key = key.substring(0, key.length() - SynchroParams.PLEASE_TRANSLATE_THE_SENTENCE.length());
-            if (key.endsWith(SynchroParams.PLEASE_VERIFY_THE_SENTENCE))
-                key = key.substring(0, key.length() - SynchroParams.PLEASE_VERIFY_THE_SENTENCE.length());
-            if (!referenceDictionary.getDictionary().containsKey(key)) {
-                dictionaryStatus.nbTooMuchKeys++;
-                dictionaryStatus.tooMuchKeys.add(key);
-            }
-        }
-    }
-
     /**
      * From the language, return a standard header string
      *
@@ -115,7 +67,11 @@ public abstract class Operation {
          * Key is missing in the dictionary. A key, present in the reference dictionary, does not exist in the local
          */
         public int nbMissingKeys = 0;
-        public Set<String> missingKeys = new HashSet<>();
+        /**
+         * Missing keys, as ordinals in the key index of the reference dictionary
+         */
+        public BitSet missingOrdinals = new BitSet();
+        private transient DictionaryKeyIndex keyIndex;
 
         public Map<String, Integer> statisticPerProposer = new HashMap<>();
         public Map<String, Integer> statisticPerKeyAdditions = new HashMap<>();
@@ -124,12 +80,28 @@ public abstract class Operation {
          * Key define in the dictionary, but not exist in the reference dictionary
          */
         public int nbTooMuchKeys = 0;
-        public Set<String> tooMuchKeys = new HashSet<>();
+        public Set<String> tooMuchKeys = new LinkedHashSet<>();
         /**
          * Key may be a String or a List of Strings. Class are not identical between the reference dictionary an the local
          */
         public int nbIncorrectKeyClass = 0;
-        public Set<String> incorrectClass = new HashSet<>();
+        public List<KeyDifference> incorrectClass = new ArrayList<>();
+
+        /**
+         * The key index must be the one of the reference dictionary the status was computed with
+         *
+         * @param keyIndex key index of the reference dictionary
+         */
+        public void setKeyIndex(DictionaryKeyIndex keyIndex) {
+            this.keyIndex = keyIndex;
+        }
+
+        /**
+         * @return the missing keys, in the hierarchy order of the reference
+         */
+        public List<String> getMissingKeys() {
+            return keyIndex == null ? Collections.emptyList() : keyIndex.getKeys(missingOrdinals);
+        }
 
         public void addProposition(String proposerName) {
             int statistic = statisticPerProposer.getOrDefault(proposerName, 0);
@@ -17,15 +17,6 @@ public interface Proposal {
 
     String getName();
 
-    /**
-     * Set all parameters
-     *
-     * @param appDictionary         dictionary in progress
-     * @param referenceDictionary   reference dictionary in the same application
-     * @param encyclopediaUniversal encyclopedia
-     */
-    void setDictionaries(AppDictionary appDictionary, AppDictionary referenceDictionary, EncyclopediaUniversal encyclopediaUniversal);
-
     /**
      * Start. This method is call before the completion will start. if the object answer false, then the proposal object is invalided.
      *
@@ -40,6 +31,30 @@ public interface Proposal {
      */
     void end(ReportInt report);
 
-    String calculateProposition(String key, ReportInt report);
+    /**
+     * Calculate a proposition. Completions of different dictionaries run in parallel: the method must be thread safe,
+     * so everything related to the dictionary is given in parameters.
+     *
+     * @param key                   key to translate
+     * @param appDictionary         dictionary in progress
+     * @param referenceDictionary   reference dictionary in the same application
+     * @param encyclopediaUniversal encyclopedia
+     * @param report                to report anything
+     * @return the proposition, null if no proposition can be done
+     */
+    String calculateProposition(String key, AppDictionary appDictionary, AppDictionary referenceDictionary, EncyclopediaUniversal encyclopediaUniversal, ReportInt report);
+
+    /**
+     * Return what the proposition depends on, in addition to the language of the dictionary. Two keys with the same
+     * cache key get the same proposition, in any application: the proposition is calculated one time (see
+     * ProposalCache).
+     *
+     * @param key                 key to translate
+     * @param referenceDictionary reference dictionary in the same application
+     * @return the cache key, null if the proposition can't be cached
+     */
+    default String getCacheKey(String key, AppDictionary referenceDictionary) {
+        return null;
+    }
 
 }
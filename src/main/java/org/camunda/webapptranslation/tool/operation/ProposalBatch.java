@@ -0,0 +1,34 @@
+package org.camunda.webapptranslation.tool.operation;
+
+/* -------------------------------------------------------------------- */
+/*                                                                      */
+/* Proposition by batch                                                 */
+/*                                                                      */
+/* A proposal which calculates the propositions of all missing keys of  */
+/* a dictionary in one call: a remote service is called one time for    */
+/* many keys, instead of one round trip per key.                        */
+/*                                                                      */
+/* -------------------------------------------------------------------- */
+
+import org.camunda.webapptranslation.tool.app.AppDictionary;
+import org.camunda.webapptranslation.tool.report.ReportInt;
+
+import java.util.List;
+import java.util.Map;
+
+public interface ProposalBatch extends Proposal {
+
+    /**
+     * Calculate the propositions of a list of keys. Like calculateProposition(), the method must be thread safe.
+     *
+     * @param listKeys              keys to translate, in the order of the dictionary
+     * @param appDictionary         dictionary in progress
+     * @param referenceDictionary   reference dictionary in the same application
+     * @param encyclopediaUniversal encyclopedia
+     * @param report                to report anything
+     * @return the propositions per key. A key without proposition is not in the result. A key the proposal could
+     * not decide this time (an error, a limit, a deadline) is in the result with a null value: it is not a decision,
+     * a cache must not keep it.
+     */
+    Map<String, String> calculatePropositions(List<String> listKeys, AppDictionary appDictionary, AppDictionary referenceDictionary, EncyclopediaUniversal encyclopediaUniversal, ReportInt report);
+}
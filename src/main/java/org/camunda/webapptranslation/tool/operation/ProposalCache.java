@@ -0,0 +1,227 @@
+package org.camunda.webapptranslation.tool.operation;
+
+/* -------------------------------------------------------------------- */
+/*                                                                      */
+/* Proposal cache                                                       */
+/*                                                                      */
+/* Sit in front of a proposal: the same short key or the same reference */
+/* sentence is often missing in the same language in cockpit, admin,    */
+/* tasklist and Optimize. The proposition is calculated the first time, */
+/* then returned from the cache for the next applications.              */
+/* A key the proposal could not decide (a failed request) is not kept:  */
+/* the next dictionary asks again.                                      */
+/*                                                                      */
+/* -------------------------------------------------------------------- */
+
+import org.camunda.webapptranslation.tool.app.AppDictionary;
+import org.camunda.webapptranslation.tool.app.AppMetrics;
+import org.camunda.webapptranslation.tool.report.ReportInt;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class ProposalCache implements ProposalBatch {
+
+    private final Proposal proposal;
+    /**
+     * Completions run in parallel: when two tasks ask the same proposition at the same time, the second one waits for
+     * the calculation of the first one. A proposition may be null (no proposition).
+     */
+    private final Map<CacheKey, CompletableFuture<String>> cache = new ConcurrentHashMap<>();
+    private final AppMetrics cacheHits;
+    private final AppMetrics cacheMisses;
+
+    public ProposalCache(Proposal proposal) {
+        this.proposal = proposal;
+        this.cacheHits = AppMetrics.getCounter(AppMetrics.PROPOSAL_CACHE_HITS, AppMetrics.LABEL_PROPOSAL, proposal.getName());
+        this.cacheMisses = AppMetrics.getCounter(AppMetrics.PROPOSAL_CACHE_MISSES, AppMetrics.LABEL_PROPOSAL, proposal.getName());
+    }
+
+    /**
+     * The cache is transparent: it has the name of the proposal
+     *
+     * @return the name of the proposal
+     */
+    @Override
+    public String getName() {
+        return proposal.getName();
+    }
+
+    @Override
+    public boolean begin(ReportInt report) {
+        cache.clear();
+        return proposal.begin(report);
+    }
+
+    @Override
+    public void end(ReportInt report) {
+        proposal.end(report);
+        report.info(ProposalCache.class, getName() + " cache: " + cacheHits.getValue() + " hits, " + cacheMisses.getValue() + " calculated");
+    }
+
+    @Override
+    public String calculateProposition(String key, AppDictionary appDictionary, AppDictionary referenceDictionary, EncyclopediaUniversal encyclopediaUniversal, ReportInt report) {
+        // a batch proposal tells which keys it did not decide
+        if (proposal instanceof ProposalBatch)
+            return calculatePropositions(Collections.singletonList(key), appDictionary, referenceDictionary, encyclopediaUniversal, report).get(key);
+        String cacheKey = proposal.getCacheKey(key, referenceDictionary);
+        if (cacheKey == null)
+            return proposal.calculateProposition(key, appDictionary, referenceDictionary, encyclopediaUniversal, report);
+
+        CacheKey entryKey = new CacheKey(appDictionary.getLanguage(), cacheKey);
+        CompletableFuture<String> proposition = cache.get(entryKey);
+        if (proposition != null) {
+            cacheHits.increment();
+            return join(proposition);
+        }
+        CompletableFuture<String> calculation = new CompletableFuture<>();
+        proposition = cache.putIfAbsent(entryKey, calculation);
+        if (proposition != null) {
+            // an other task calculates it
+            cacheHits.increment();
+            return join(proposition);
+        }
+        cacheMisses.increment();
+        try {
+            calculation.complete(proposal.calculateProposition(key, appDictionary, referenceDictionary, encyclopediaUniversal, report));
+        } catch (RuntimeException e) {
+            // not cached: the next key will try again
+            cache.remove(entryKey);
+            calculation.completeExceptionally(e);
+            throw e;
+        }
+        return join(calculation);
+    }
+
+    /**
+     * Propositions in the cache are returned, the other ones are calculated in one call when the proposal works by
+     * batch, else key by key.
+     */
+    @Override
+    public Map<String, String> calculatePropositions(List<String> listKeys, AppDictionary appDictionary, AppDictionary referenceDictionary, EncyclopediaUniversal encyclopediaUniversal, ReportInt report) {
+        Map<String, String> propositions = new HashMap<>();
+        if (!(proposal instanceof ProposalBatch)) {
+            for (String key : listKeys) {
+                String proposition = calculateProposition(key, appDictionary, referenceDictionary, encyclopediaUniversal, report);
+                if (proposition != null)
+                    propositions.put(key, proposition);
+            }
+            return propositions;
+        }
+
+        // keys to calculate: one key per cache entry created here. Keys of entries in the cache are resolved after.
+        Map<String, CacheKey> entryKeys = new LinkedHashMap<>();
+        Map<CacheKey, CompletableFuture<String>> calculations = new LinkedHashMap<>();
+        List<String> listKeysToCalculate = new ArrayList<>();
+        List<String> listKeysWithoutCache = new ArrayList<>();
+        for (String key : listKeys) {
+            String cacheKey = proposal.getCacheKey(key, referenceDictionary);
+            if (cacheKey == null) {
+                listKeysWithoutCache.add(key);
+                continue;
+            }
+            CacheKey entryKey = new CacheKey(appDictionary.getLanguage(), cacheKey);
+            entryKeys.put(key, entryKey);
+            if (calculations.containsKey(entryKey) || cache.containsKey(entryKey))
+                continue;
+            CompletableFuture<String> calculation = new CompletableFuture<>();
+            if (cache.putIfAbsent(entryKey, calculation) == null) {
+                calculations.put(entryKey, calculation);
+                listKeysToCalculate.add(key);
+            }
+        }
+        listKeysToCalculate.addAll(listKeysWithoutCache);
+
+        Map<String, String> calculatedPropositions;
+        try {
+            calculatedPropositions = listKeysToCalculate.isEmpty() ? Collections.emptyMap()
+                    : ((ProposalBatch) proposal).calculatePropositions(listKeysToCalculate, appDictionary, referenceDictionary, encyclopediaUniversal, report);
+        } catch (RuntimeException e) {
+            // not cached: the next dictionary will try again
+            calculations.forEach((entryKey, calculation) -> {
+                cache.remove(entryKey);
+                calculation.completeExceptionally(e);
+            });
+            throw e;
+        }
+        for (String key : listKeysToCalculate) {
+            CacheKey entryKey = entryKeys.get(key);
+            if (entryKey == null)
+                continue;
+            // not decided: not cached, the next dictionary will try again. Tasks already waiting get no proposition.
+            if (calculatedPropositions.containsKey(key) && calculatedPropositions.get(key) == null)
+                cache.remove(entryKey);
+            calculations.get(entryKey).complete(calculatedPropositions.get(key));
+        }
+        cacheMisses.add(calculations.size());
+
+        Set<String> calculatedKeys = new HashSet<>(listKeysToCalculate);
+        for (String key : listKeys) {
+            CacheKey entryKey = entryKeys.get(key);
+            String proposition;
+            if (entryKey == null) {
+                proposition = calculatedPropositions.get(key);
+            } else {
+                if (!calculatedKeys.contains(key))
+                    cacheHits.increment();
+                CompletableFuture<String> calculation = calculations.containsKey(entryKey) ? calculations.get(entryKey) : cache.get(entryKey);
+                // null: the calculation by an other task failed, or did not decide
+                proposition = calculation == null ? null : join(calculation);
+            }
+            if (proposition != null)
+                propositions.put(key, proposition);
+        }
+        return propositions;
+    }
+
+    @Override
+    public String getCacheKey(String key, AppDictionary referenceDictionary) {
+        return proposal.getCacheKey(key, referenceDictionary);
+    }
+
+    private static String join(CompletableFuture<String> proposition) {
+        try {
+            return proposition.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+    }
+
+    /**
+     * The cache is for one proposal: the key is the language of the dictionary and the cache key of the proposal
+     */
+    private static class CacheKey {
+        private final String language;
+        private final String cacheKey;
+
+        private CacheKey(String language, String cacheKey) {
+            this.language = language;
+            this.cacheKey = cacheKey;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o)
+                return true;
+            if (!(o instanceof CacheKey))
+                return false;
+            CacheKey other = (CacheKey) o;
+            return language.equals(other.language) && cacheKey.equals(other.cacheKey);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(language, cacheKey);
+        }
+    }
+}
@@ -1,33 +1,106 @@
 package org.camunda.webapptranslation.tool.operation;
 
+import com.google.cloud.ServiceOptions;
 import com.google.cloud.translate.Translate;
 import com.google.cloud.translate.Translate.TranslateOption;
 import com.google.cloud.translate.TranslateOptions;
 import com.google.cloud.translate.Translation;
 import org.camunda.webapptranslation.tool.app.AppDictionary;
+import org.camunda.webapptranslation.tool.app.AppMetrics;
 import org.camunda.webapptranslation.tool.app.AppTimeTracker;
+import org.camunda.webapptranslation.tool.app.RunDeadline;
+import org.camunda.webapptranslation.tool.report.ReportBuffer;
 import org.camunda.webapptranslation.tool.report.ReportInt;
 
-public class ProposalGoogleTranslate implements Proposal {
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class ProposalGoogleTranslate implements ProposalBatch {
+
+    /**
+     * Size of a request: Google Translate accepts up to 128 texts per request, and recommends requests under
+     * 5000 characters
+     */
+    private static final int MAX_TEXTS_PER_REQUEST = 100;
+    private static final int MAX_CHARACTERS_PER_REQUEST = 5000;
+    private static final int DEFAULT_MAX_IN_FLIGHT = 4;
+    private static final int DEFAULT_MAX_RETRIES = 3;
 
     private final String googleAPIKey;
     private final int limitNumberOfTranslations;
+    /**
+     * Translations of the previous runs, null if there is no translation memory
+     */
+    private final TranslationMemory translationMemory;
+    private final int maximumInFlight;
+    private final int maximumRetries;
+    /**
+     * Host of the service, null for Google. A local server (FakeTranslateServer) may replace it.
+     */
+    private final String host;
+    /**
+     * Deadline of the run, null if the run has no deadline
+     */
+    private final RunDeadline runDeadline;
+    private final AtomicBoolean deadlineReported = new AtomicBoolean();
     private Translate translate;
-    private AppDictionary appDictionary;
-    private AppDictionary referenceDictionary;
-    private int numberOfTranslations;
-    private int numberOfTranslationsRequested;
+    private GoogleTranslatePipeline pipeline;
+    /**
+     * Completions run in parallel: counters are shared between threads
+     */
+    private final AtomicInteger numberOfTranslations = new AtomicInteger();
+    private final AtomicInteger numberOfTranslationsRequested = new AtomicInteger();
 
-    private long lastReportTime = 0;
+    private final AtomicLong accumulateTimeSinceLastReportInMS = new AtomicLong();
 
-    private long cumulTranslationTimeInMs = 0;
-
-    private long accumulateTimeSinceLastReportInMS = 0;
+    /**
+     * Requests already sent when the deadline abandoned them: Google bills them, so their translations are kept in
+     * the translation memory when they arrive, in a thread of the pipeline. A future is done when its translations
+     * are stored.
+     */
+    private final Set<CompletableFuture<List<String>>> lateRequests = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger numberOfLateTranslations = new AtomicInteger();
+    /**
+     * Errors of the late requests, reported at the end
+     */
+    private final ReportBuffer lateReport = new ReportBuffer();
 
 
     public ProposalGoogleTranslate(String googleAPIKey, int limitNumberOfTranslations) {
+        this(googleAPIKey, limitNumberOfTranslations, null, DEFAULT_MAX_IN_FLIGHT, DEFAULT_MAX_RETRIES, null, null);
+    }
+
+    /**
+     * @param googleAPIKey              Google API Key
+     * @param limitNumberOfTranslations maximum number of sentences sent to Google
+     * @param translationMemory         translation memory, consulted before any request. May be null.
+     * @param maximumInFlight           maximum number of requests sent to Google at the same time
+     * @param maximumRetries            maximum number of retries of a request on a quota or transient error
+     * @param host                      host of the service, like http://localhost:8099. Null for Google.
+     * @param runDeadline               deadline of the run: no request is sent in its reserve. May be null.
+     */
+    public ProposalGoogleTranslate(String googleAPIKey, int limitNumberOfTranslations, TranslationMemory translationMemory, int maximumInFlight, int maximumRetries, String host, RunDeadline runDeadline) {
         this.googleAPIKey = googleAPIKey;
         this.limitNumberOfTranslations = limitNumberOfTranslations;
+        this.translationMemory = translationMemory;
+        this.maximumInFlight = maximumInFlight;
+        this.maximumRetries = maximumRetries;
+        this.host = host;
+        this.runDeadline = runDeadline;
     }
 
     @Override
@@ -35,18 +108,25 @@ public class ProposalGoogleTranslate implements Proposal {
         return "GoogleTranslation";
     }
 
-    @Override
-    public void setDictionaries(AppDictionary appDictionary, AppDictionary referenceDictionary, EncyclopediaUniversal encyclopediaUniversal) {
-        this.appDictionary = appDictionary;
-        this.referenceDictionary = referenceDictionary;
-    }
-
     @Override
     public boolean begin(ReportInt report) {
         System.setProperty("GOOGLE_API_KEY", googleAPIKey);
-        translate = TranslateOptions.newBuilder().setApiKey(googleAPIKey).build().getService();
-        numberOfTranslations = 0;
-        numberOfTranslationsRequested = 0;
+        // the pipeline is the only retry and rate control: the client must not retry a request by itself
+        TranslateOptions.Builder translateOptions = TranslateOptions.newBuilder()
+                .setApiKey(googleAPIKey)
+                .setRetrySettings(ServiceOptions.getNoRetrySettings());
+        if (host != null)
+            translateOptions.setHost(host);
+        translate = translateOptions.build().getService();
+        pipeline = new GoogleTranslatePipeline(maximumInFlight, maximumRetries);
+        numberOfTranslations.set(0);
+        numberOfTranslationsRequested.set(0);
+        deadlineReported.set(false);
+        lateRequests.clear();
+        numberOfLateTranslations.set(0);
+        // the memory only saves requests: when its file can't be used, it is kept in memory and the translation goes on
+        if (translationMemory != null)
+            translationMemory.open(report);
         return true;
     }
 
@@ -54,42 +134,281 @@ public class ProposalGoogleTranslate implements Proposal {
     public void end(ReportInt report) {
         AppTimeTracker timeTracker = AppTimeTracker.getTimeTracker("googleTranslation");
 
-        report.info(ProposalGoogleTranslate.class, "GoogleTranslation: " + numberOfTranslationsRequested + " requested,  " + numberOfTranslations + " done in " + timeTracker.getSumOfTimeMs() + " ms ");
+        report.info(ProposalGoogleTranslate.class, "GoogleTranslation: " + numberOfTranslationsRequested.get() + " requested,  " + numberOfTranslations.get() + " done in " + timeTracker.getSumOfTimeMs() + " ms ");
+        waitForLateRequests(report);
+        if (pipeline != null) {
+            pipeline.shutdown();
+            report.info(ProposalGoogleTranslate.class, pipeline.getStatistics());
+        }
+        if (translationMemory != null) {
+            translationMemory.close(report);
+            report.info(ProposalGoogleTranslate.class, translationMemory.getStatistics());
+        }
     }
 
     @Override
-    public String calculateProposition(String key, ReportInt report) {
+    public String calculateProposition(String key, AppDictionary appDictionary, AppDictionary referenceDictionary, EncyclopediaUniversal encyclopediaUniversal, ReportInt report) {
+        return calculatePropositions(Collections.singletonList(key), appDictionary, referenceDictionary, encyclopediaUniversal, report).get(key);
+    }
+
+    /**
+     * Translate all sentences in a few requests. A sentence used by multiple keys is translated one time.
+     * Requests are sent together through the pipeline; the results are collected in this thread.
+     * In the reserve of the deadline, only the translation memory answers: requests are not sent, and a request
+     * still in progress is abandoned: it is not retried, and its translations go to the translation memory.
+     */
+    @Override
+    public Map<String, String> calculatePropositions(List<String> listKeys, AppDictionary appDictionary, AppDictionary referenceDictionary, EncyclopediaUniversal encyclopediaUniversal, ReportInt report) {
+        Map<String, String> propositions = new HashMap<>();
         if (this.googleAPIKey == null)
-            return null;
-        numberOfTranslationsRequested++;
+            return propositions;
+
+        Map<String, List<String>> keysPerText = new LinkedHashMap<>();
+        for (String key : listKeys) {
+            Object text = referenceDictionary.getDictionary().get(key);
+            if (text instanceof String)
+                keysPerText.computeIfAbsent((String) text, t -> new ArrayList<>()).add(key);
+        }
+        numberOfTranslationsRequested.addAndGet(keysPerText.size());
+
+        // sentences already translated by a previous run do not use the limit
+        String sourceLanguage = referenceDictionary.getLanguage();
+        String targetLanguage = appDictionary.getLanguage();
+        List<String> listTexts = new ArrayList<>(keysPerText.size());
+        for (Map.Entry<String, List<String>> entry : keysPerText.entrySet()) {
+            String translation = translationMemory == null ? null : translationMemory.get(sourceLanguage, targetLanguage, entry.getKey());
+            if (translation == null)
+                listTexts.add(entry.getKey());
+            else
+                entry.getValue().forEach(key -> propositions.put(key, translation));
+        }
 
-        if (numberOfTranslations >= limitNumberOfTranslations)
-            return null;
+        if (runDeadline != null && runDeadline.isShort()) {
+            skipForDeadline(listTexts.size(), report);
+            return markUndecided(propositions, keysPerText);
+        }
+        // reserve the translations: the limit is respected when threads translate at the same time
+        listTexts = listTexts.subList(0, reserveTranslations(listTexts.size()));
 
+        TranslateOption sourceLanguageOption = Translate.TranslateOption.sourceLanguage(sourceLanguage);
+        TranslateOption targetLanguageOption = Translate.TranslateOption.targetLanguage(targetLanguage);
+        List<List<String>> chunks = splitInRequests(listTexts);
+        List<GoogleTranslatePipeline.Request<List<String>>> requests = new ArrayList<>();
+        for (List<String> chunk : chunks) {
+            int nbCharacters = chunk.stream().mapToInt(String::length).sum();
+            requests.add(pipeline.submit(() -> translate(chunk, nbCharacters, sourceLanguageOption, targetLanguageOption)));
+        }
+
+        // the report and the translation memory are used by this thread only
         AppTimeTracker timeTracker = AppTimeTracker.getTimeTracker("googleTranslation");
+        for (int c = 0; c < chunks.size(); c++) {
+            List<String> chunk = chunks.get(c);
+            List<String> translations;
+            try {
+                translations = waitForRequest(requests.get(c).getResult());
+            } catch (TimeoutException e) {
+                // the pipeline does not send it, or does not retry it
+                if (requests.get(c).abandon())
+                    numberOfTranslations.addAndGet(-chunk.size());
+                else
+                    keepLateTranslations(requests.get(c).getResult(), chunk, sourceLanguage, targetLanguage);
+                skipForDeadline(chunk.size(), report);
+                continue;
+            } catch (CompletionException e) {
+                failRequest(chunk, String.valueOf(e.getCause()), report);
+                continue;
+            }
+            // a short or malformed answer: the translations can't be matched with the sentences
+            if (translations == null || translations.size() != chunk.size()) {
+                failRequest(chunk, (translations == null ? 0 : translations.size()) + " translations received", report);
+                continue;
+            }
+            for (int i = 0; i < chunk.size(); i++) {
+                String translation = translations.get(i);
+                for (String key : keysPerText.get(chunk.get(i)))
+                    propositions.put(key, translation);
+                if (translationMemory != null)
+                    translationMemory.put(sourceLanguage, targetLanguage, chunk.get(i), translation, report);
+            }
+            long accumulateTime = accumulateTimeSinceLastReportInMS.get();
+            if (accumulateTime > 30000 && accumulateTimeSinceLastReportInMS.compareAndSet(accumulateTime, 0)) {
+                report.info(ProposalGoogleTranslate.class, "       (GoogleTranslation partial result): " + numberOfTranslations.get() + " done in " + timeTracker.getSumOfTimeMs() + " ms ");
+            }
+        }
+        return markUndecided(propositions, keysPerText);
+    }
+
+    /**
+     * A request failed: its sentences are given back to the limit, and their keys stay undecided
+     */
+    private void failRequest(List<String> chunk, String cause, ReportInt report) {
+        numberOfTranslations.addAndGet(-chunk.size());
+        AppMetrics.getCounter(AppMetrics.GOOGLE_ERRORS).increment();
+        report.severe(ProposalGoogleTranslate.class, "Can't translate " + chunk.size() + " sentences: " + cause);
+    }
 
+    /**
+     * Google translates any sentence: a sentence not translated (an error, the limit, the deadline) is not decided.
+     * Its keys are in the result with a null value, so the cache does not keep them (see ProposalBatch).
+     */
+    private static Map<String, String> markUndecided(Map<String, String> propositions, Map<String, List<String>> keysPerText) {
+        for (List<String> keys : keysPerText.values()) {
+            for (String key : keys)
+                propositions.putIfAbsent(key, null);
+        }
+        return propositions;
+    }
+
+    /**
+     * Wait for a request, until the reserve of the deadline
+     *
+     * @return the translations
+     * @throws TimeoutException    the reserve of the deadline is reached
+     * @throws CompletionException the request failed
+     */
+    private List<String> waitForRequest(CompletableFuture<List<String>> request) throws TimeoutException {
+        if (runDeadline == null)
+            return request.join();
         try {
-            timeTracker.start();
-            TranslateOption sourceLanguageOption = Translate.TranslateOption.sourceLanguage(referenceDictionary.getLanguage());
-            TranslateOption targetLanguageOption = Translate.TranslateOption.targetLanguage(appDictionary.getLanguage());
+            return request.get(runDeadline.getExpensiveRemainingMs(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw new CompletionException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
+        }
+    }
+
+    /**
+     * A request abandoned at the deadline was already sent: it stays in the limit, and its translations go to the
+     * translation memory when they arrive, so the next run does not pay them again
+     */
+    private void keepLateTranslations(CompletableFuture<List<String>> request, List<String> chunk, String sourceLanguage, String targetLanguage) {
+        if (translationMemory == null)
+            return;
+        lateRequests.add(request.whenComplete((translations, error) -> {
+            if (error == null && translations != null && translations.size() == chunk.size()) {
+                synchronized (lateReport) {
+                    for (int i = 0; i < chunk.size(); i++)
+                        translationMemory.put(sourceLanguage, targetLanguage, chunk.get(i), translations.get(i), lateReport);
+                }
+                numberOfLateTranslations.addAndGet(chunk.size());
+            }
+        }));
+    }
+
+    /**
+     * Wait for the late requests, until the end of the time slot, before the translation memory is closed
+     */
+    private void waitForLateRequests(ReportInt report) {
+        if (!lateRequests.isEmpty() && runDeadline != null) {
+            try {
+                CompletableFuture.allOf(lateRequests.toArray(new CompletableFuture[0])).get(runDeadline.getRemainingMs(), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException | TimeoutException e) {
+                // a late request failed, or is still in progress at the end of the slot: its translations are lost
+            }
+        }
+        synchronized (lateReport) {
+            lateReport.flush(report);
+        }
+        long lostRequests = lateRequests.stream().filter(request -> !request.isDone()).count();
+        if (!lateRequests.isEmpty())
+            report.info(ProposalGoogleTranslate.class, "GoogleTranslation: " + numberOfLateTranslations.get() + " translations received after the deadline kept in the translation memory"
+                    + (lostRequests == 0 ? "" : ", " + lostRequests + " requests still in progress are lost"));
+    }
+
+    /**
+     * Sentences are not translated because of the deadline: their keys are marked to translate
+     */
+    private void skipForDeadline(int nbSentences, ReportInt report) {
+        AppMetrics.getCounter(AppMetrics.GOOGLE_DEADLINE_SKIPPED).add(nbSentences);
+        if (deadlineReported.compareAndSet(false, true))
+            report.info(ProposalGoogleTranslate.class, "GoogleTranslation: the deadline is near, no more requests are sent. " + runDeadline.getStatus());
+    }
 
-            Translation translation = translate.translate(
-                    (String) referenceDictionary.getDictionary().get(key),
+    /**
+     * Split texts in requests: a request is limited in number of texts and in size. A text bigger than the size is
+     * sent alone.
+     *
+     * @param listTexts texts to translate
+     * @return the texts of each request, in the order of the texts
+     */
+    static List<List<String>> splitInRequests(List<String> listTexts) {
+        List<List<String>> chunks = new ArrayList<>();
+        int chunkStart = 0;
+        while (chunkStart < listTexts.size()) {
+            int chunkEnd = chunkStart;
+            int nbCharacters = 0;
+            while (chunkEnd < listTexts.size()
+                    && chunkEnd - chunkStart < MAX_TEXTS_PER_REQUEST
+                    && (chunkEnd == chunkStart || nbCharacters + listTexts.get(chunkEnd).length() <= MAX_CHARACTERS_PER_REQUEST)) {
+                nbCharacters += listTexts.get(chunkEnd).length();
+                chunkEnd++;
+            }
+            chunks.add(listTexts.subList(chunkStart, chunkEnd));
+            chunkStart = chunkEnd;
+        }
+        return chunks;
+    }
+
+    /**
+     * Send one request. Called by a thread of the pipeline: an error is thrown, the pipeline retries it.
+     *
+     * @return the translations, in the order of the texts
+     */
+    private List<String> translate(List<String> listTexts, int nbCharacters, TranslateOption sourceLanguageOption, TranslateOption targetLanguageOption) {
+        AppTimeTracker timeTracker = AppTimeTracker.getTimeTracker("googleTranslation");
+        AppTimeTracker.Handle timer = timeTracker.startTimer();
+        AppMetrics.getCounter(AppMetrics.GOOGLE_REQUESTS).increment();
+        AppMetrics.getCounter(AppMetrics.GOOGLE_CHARACTERS).add(nbCharacters);
+        List<Translation> listTranslations;
+        try {
+            listTranslations = translate.translate(
+                    listTexts,
                     sourceLanguageOption,
                     targetLanguageOption);
-            timeTracker.stop();
+        } finally {
+            timer.close();
+            accumulateTimeSinceLastReportInMS.addAndGet(timer.getExecutionTimeMs());
+        }
+        List<String> listResult = new ArrayList<>(listTranslations.size());
+        for (Translation translation : listTranslations)
+            listResult.add(translation.getTranslatedText().replace("&#39;", "'"));
+        return listResult;
+    }
 
-            numberOfTranslations++;
-            accumulateTimeSinceLastReportInMS += timeTracker.getLastExecutionTime();
+    /**
+     * @return number of translations still possible in the limit. 0 in the reserve of the deadline.
+     */
+    public int getRemainingTranslations() {
+        if (runDeadline != null && runDeadline.isShort())
+            return 0;
+        return Math.max(0, limitNumberOfTranslations - numberOfTranslations.get());
+    }
 
-            if (accumulateTimeSinceLastReportInMS > 30000) {
-                report.info(ProposalGoogleTranslate.class, "       (GoogleTranslation partial result): " + numberOfTranslations + " done in " + timeTracker.getSumOfTimeMs() + " ms ");
-                accumulateTimeSinceLastReportInMS = 0;
-            }
-            return translation.getTranslatedText().replace("&#39;", "'");
-        } catch (Exception e) {
-            report.severe(ProposalGoogleTranslate.class, "Can't translate : " + e);
-            return null;
+    /**
+     * Reserve translations in the limit
+     *
+     * @param nbTranslations number of translations wanted
+     * @return number of translations reserved, may be lower than the number wanted
+     */
+    private int reserveTranslations(int nbTranslations) {
+        while (true) {
+            int current = numberOfTranslations.get();
+            int reserved = Math.max(0, Math.min(nbTranslations, limitNumberOfTranslations - current));
+            if (reserved == 0 || numberOfTranslations.compareAndSet(current, current + reserved))
+                return reserved;
         }
     }
+
+    /**
+     * The proposition only depends on the sentence in the reference dictionary
+     */
+    @Override
+    public String getCacheKey(String key, AppDictionary referenceDictionary) {
+        Object referenceTranslation = referenceDictionary.getDictionary().get(key);
+        return referenceTranslation instanceof String ? (String) referenceTranslation : null;
+    }
 }
@@ -4,7 +4,7 @@ import org.camunda.webapptranslation.tool.app.AppDictionary;
 import org.camunda.webapptranslation.tool.report.ReportInt;
 
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 
 /* -------------------------------------------------------------------- */
@@ -17,10 +17,7 @@ import java.util.stream.Collectors;
 
 public class ProposalSameKey implements Proposal {
 
-    private AppDictionary appDictionary;
-    private EncyclopediaUniversal encyclopediaUniversal;
-
-    private int numberOfPropositions = 0;
+    private final AtomicInteger numberOfPropositions = new AtomicInteger();
 
     /**
      * name of this proposal object
@@ -32,21 +29,15 @@ public class ProposalSameKey implements Proposal {
         return "SameKey";
     }
 
-    @Override
-    public void setDictionaries(AppDictionary appDictionary, AppDictionary referenceDictionary, EncyclopediaUniversal encyclopediaUniversal) {
-        this.appDictionary = appDictionary;
-        this.encyclopediaUniversal = encyclopediaUniversal;
-    }
-
     @Override
     public boolean begin(ReportInt report) {
-        numberOfPropositions = 0;
+        numberOfPropositions.set(0);
         return true;
     }
 
     @Override
     public void end(ReportInt report) {
-        report.info(ProposalSameKey.class, "SameKey: " + numberOfPropositions + " propositions");
+        report.info(ProposalSameKey.class, "SameKey: " + numberOfPropositions.get() + " propositions");
     }
 
     /*
@@ -58,14 +49,23 @@ public class ProposalSameKey implements Proposal {
      *
      */
     @Override
-    public String calculateProposition(String key, ReportInt report) {
+    public String calculateProposition(String key, AppDictionary appDictionary, AppDictionary referenceDictionary, EncyclopediaUniversal encyclopediaUniversal, ReportInt report) {
         Encyclopedia encyclopedia = encyclopediaUniversal.getByLanguage(appDictionary.getLanguage());
         // key is something like labels.ABORT. Just  get the real key
         if (encyclopedia == null)
             return null;
-        List<String> listPropositions = encyclopedia.getTranslationsByKey(key).stream().distinct().collect(Collectors.toList());
+        // propositions are deduplicated, the most frequent first
+        List<String> listPropositions = encyclopedia.getTranslationsByKey(key);
         if (!listPropositions.isEmpty())
-            numberOfPropositions++;
+            numberOfPropositions.incrementAndGet();
         return listPropositions.isEmpty() ? null : String.join(DELIMITER_BETWEEN_PROPOSITION, listPropositions);
     }
+
+    /**
+     * The proposition only depends on the short key (ABORT for labels.ABORT)
+     */
+    @Override
+    public String getCacheKey(String key, AppDictionary referenceDictionary) {
+        return key.substring(key.lastIndexOf('.') + 1);
+    }
 }
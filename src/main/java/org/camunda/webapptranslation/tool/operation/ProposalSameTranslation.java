@@ -3,17 +3,15 @@ package org.camunda.webapptranslation.tool.operation;
 import org.camunda.webapptranslation.tool.app.AppDictionary;
 import org.camunda.webapptranslation.tool.report.ReportInt;
 
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class ProposalSameTranslation implements Proposal {
 
 
-    private AppDictionary referenceDictionary;
-    private AppDictionary appDictionary;
-    private EncyclopediaUniversal encyclopediaUniversal;
-
-    private int numberOfPropositions = 0;
+    private final AtomicInteger numberOfPropositions = new AtomicInteger();
 
 
     /**
@@ -26,22 +24,15 @@ public class ProposalSameTranslation implements Proposal {
         return "SameTranslation";
     }
 
-    @Override
-    public void setDictionaries(AppDictionary appDictionary, AppDictionary referenceDictionary, EncyclopediaUniversal encyclopediaUniversal) {
-        this.referenceDictionary = referenceDictionary;
-        this.appDictionary = appDictionary;
-        this.encyclopediaUniversal = encyclopediaUniversal;
-    }
-
     @Override
     public boolean begin(ReportInt report) {
-        numberOfPropositions = 0;
+        numberOfPropositions.set(0);
         return true;
     }
 
     @Override
     public void end(ReportInt report) {
-        report.info(ProposalSameKey.class, "SameTranslation: " + numberOfPropositions + " propositions");
+        report.info(ProposalSameKey.class, "SameTranslation: " + numberOfPropositions.get() + " propositions");
 
     }
 
@@ -67,25 +58,33 @@ public class ProposalSameTranslation implements Proposal {
      * cockpit[fr]: "BULK_OVERRIDE_SUCCESSFUL": = "Avec succès ; opération réussie"
      */
     @Override
-    public String calculateProposition(String key, ReportInt report) {
+    public String calculateProposition(String key, AppDictionary appDictionary, AppDictionary referenceDictionary, EncyclopediaUniversal encyclopediaUniversal, ReportInt report) {
         // get the sentence in the reference dictionary
         Object referenceTranslation = referenceDictionary.getDictionary().get(key);
         if (!(referenceTranslation instanceof String))
             return null;
         // get in the reference dictionary all keys with the same content
         Encyclopedia referenceEncyclopedia = encyclopediaUniversal.getByLanguage(referenceDictionary.getLanguage());
-        List<String> listKeysSameSentence = referenceEncyclopedia.getKeysByTranslation(referenceTranslation.toString());
+        List<String> listShortKeysSameSentence = referenceEncyclopedia.getShortKeysByTranslation(referenceTranslation.toString());
         // now, search the same key in the current language
         Encyclopedia encyclopedia = encyclopediaUniversal.getByLanguage(appDictionary.getLanguage());
-        List<String> listPropositions =
-                listKeysSameSentence.stream()
-                        .map(keyFound -> encyclopedia.getTranslationsByKey(keyFound))
-                        .flatMap(List::stream)
-                        .distinct()
-                        .collect(Collectors.toList());
+        if (encyclopedia == null)
+            return null;
+        Set<String> listPropositions = new LinkedHashSet<>();
+        for (String shortKey : listShortKeysSameSentence)
+            listPropositions.addAll(encyclopedia.getTranslationsByKey(shortKey));
         if (!listPropositions.isEmpty())
-            numberOfPropositions++;
+            numberOfPropositions.incrementAndGet();
 
         return listPropositions.isEmpty() ? null : String.join(DELIMITER_BETWEEN_PROPOSITION, listPropositions);
     }
+
+    /**
+     * The proposition only depends on the sentence in the reference dictionary
+     */
+    @Override
+    public String getCacheKey(String key, AppDictionary referenceDictionary) {
+        Object referenceTranslation = referenceDictionary.getDictionary().get(key);
+        return referenceTranslation instanceof String ? (String) referenceTranslation : null;
+    }
 }
@@ -0,0 +1,265 @@
+package org.camunda.webapptranslation.tool.operation;
+
+/* -------------------------------------------------------------------- */
+/*                                                                      */
+/* Translation memory                                                   */
+/*                                                                      */
+/* Keep the machine translations on the disk, from one run to the       */
+/* next: a sentence already translated is not sent again. The file is   */
+/* a JSON document per line. Each new translation is appended when it   */
+/* is received, and the file is compacted at the end of the run.        */
+/* The memory is bounded: the least recently used translations are      */
+/* evicted first.                                                       */
+/*                                                                      */
+/* -------------------------------------------------------------------- */
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import org.camunda.webapptranslation.tool.report.ReportInt;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.text.Normalizer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+public class TranslationMemory {
+
+    private final Gson gson = new GsonBuilder().disableHtmlEscaping().create();
+    private final File memoryFile;
+    private final int maximumSize;
+    /**
+     * Access order: the first entry is the least recently used
+     */
+    private final LinkedHashMap<MemoryKey, String> translations;
+    /**
+     * Write-through: translations received during the run are appended here
+     */
+    private Writer appendWriter = null;
+    /**
+     * The file can't be read or written: translations of the run are kept in memory, the file is not touched
+     */
+    private boolean inMemoryOnly = false;
+
+    private int nbHits = 0;
+    private int nbMisses = 0;
+    private int nbAdded = 0;
+    private int nbEvicted = 0;
+
+    /**
+     * @param memoryFile  file of the memory
+     * @param maximumSize maximum number of translations kept, at least 1
+     */
+    public TranslationMemory(File memoryFile, int maximumSize) {
+        if (maximumSize < 1)
+            throw new IllegalArgumentException("maximumSize must be at least 1, " + maximumSize + " found");
+        this.memoryFile = memoryFile;
+        this.maximumSize = maximumSize;
+        this.translations = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<MemoryKey, String> eldest) {
+                if (size() <= TranslationMemory.this.maximumSize)
+                    return false;
+                nbEvicted++;
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Load the memory and open it to record new translations. If the file does not exist, the memory is empty.
+     * If the file can't be read or written, the memory is kept in memory only for this run: the file is not
+     * rewritten, so a file which can't be read is not replaced by the few translations of this run.
+     *
+     * @param report report used to report any error
+     * @return false if the file can't be used: the memory is in memory only
+     */
+    public synchronized boolean open(ReportInt report) {
+        translations.clear();
+        inMemoryOnly = false;
+        if (memoryFile.exists()) {
+            int nbIncorrectLines = 0;
+            try (BufferedReader reader = Files.newBufferedReader(memoryFile.toPath(), StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    try {
+                        MemoryEntry entry = gson.fromJson(line, MemoryEntry.class);
+                        if (entry != null && entry.source != null && entry.target != null && entry.text != null && entry.translation != null)
+                            translations.put(new MemoryKey(entry.source, entry.target, entry.text), entry.translation);
+                        else if (!line.isBlank())
+                            nbIncorrectLines++;
+                    } catch (Exception e) {
+                        // the last line may be incomplete, if the previous run stopped while writing it
+                        nbIncorrectLines++;
+                    }
+                }
+            } catch (Exception e) {
+                report.severe(TranslationMemory.class, "Error reading translation memory [" + memoryFile.getAbsolutePath() + "], translations of this run are kept in memory only", e);
+                translations.clear();
+                inMemoryOnly = true;
+                return false;
+            }
+            if (nbIncorrectLines > 0)
+                report.info(TranslationMemory.class, "Translation memory [" + memoryFile.getAbsolutePath() + "]: " + nbIncorrectLines + " incorrect lines ignored");
+        }
+        // entries evicted while loading are not in the file anymore after the compaction
+        nbEvicted = 0;
+        try {
+            appendWriter = Files.newBufferedWriter(memoryFile.toPath(), StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            report.severe(TranslationMemory.class, "Can't write translation memory [" + memoryFile.getAbsolutePath() + "], translations of this run are kept in memory only", e);
+            inMemoryOnly = true;
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Search a translation
+     *
+     * @param sourceLanguage language of the text
+     * @param targetLanguage language of the translation
+     * @param text           text to translate
+     * @return the translation, null if the memory does not know it
+     */
+    public synchronized String get(String sourceLanguage, String targetLanguage, String text) {
+        String translation = translations.get(new MemoryKey(sourceLanguage, targetLanguage, normalize(text)));
+        if (translation == null)
+            nbMisses++;
+        else
+            nbHits++;
+        return translation;
+    }
+
+    /**
+     * Record a translation. It is written to the file immediately: it is not lost if the run stops.
+     *
+     * @param sourceLanguage language of the text
+     * @param targetLanguage language of the translation
+     * @param text           text translated
+     * @param translation    translation
+     * @param report         report used to report any error
+     */
+    public synchronized void put(String sourceLanguage, String targetLanguage, String text, String translation, ReportInt report) {
+        MemoryKey memoryKey = new MemoryKey(sourceLanguage, targetLanguage, normalize(text));
+        translations.put(memoryKey, translation);
+        nbAdded++;
+        if (appendWriter == null)
+            return;
+        try {
+            appendWriter.write(gson.toJson(new MemoryEntry(memoryKey, translation)));
+            appendWriter.write("\n");
+            appendWriter.flush();
+        } catch (IOException e) {
+            report.severe(TranslationMemory.class, "Can't write translation memory [" + memoryFile.getAbsolutePath() + "], next translations are kept in memory only", e);
+            closeAppendWriter();
+        }
+    }
+
+    /**
+     * Close the memory: the file is rewritten with the translations kept, the least recently used first. A memory in
+     * memory only is not saved.
+     *
+     * @param report report used to report any error
+     * @return true if the memory is saved
+     */
+    public synchronized boolean close(ReportInt report) {
+        closeAppendWriter();
+        if (inMemoryOnly)
+            return false;
+        File temporaryFile = new File(memoryFile.getAbsolutePath() + ".tmp");
+        try {
+            try (Writer writer = Files.newBufferedWriter(temporaryFile.toPath(), StandardCharsets.UTF_8)) {
+                for (Map.Entry<MemoryKey, String> entry : translations.entrySet()) {
+                    writer.write(gson.toJson(new MemoryEntry(entry.getKey(), entry.getValue())));
+                    writer.write("\n");
+                }
+            }
+            Files.move(temporaryFile.toPath(), memoryFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            return true;
+        } catch (Exception e) {
+            report.severe(TranslationMemory.class, "Error writing translation memory [" + memoryFile.getAbsolutePath() + "]", e);
+            return false;
+        }
+    }
+
+    /**
+     * @return one line of statistics
+     */
+    public synchronized String getStatistics() {
+        return "Translation memory: " + nbHits + " hits, " + nbMisses + " misses, " + nbAdded + " added, " + nbEvicted + " evicted, " + translations.size() + " translations (maximum " + maximumSize + ")";
+    }
+
+    /**
+     * The same sentence may be written with a different Unicode form, or with spaces around it
+     */
+    private static String normalize(String text) {
+        return Normalizer.normalize(text, Normalizer.Form.NFC).strip();
+    }
+
+    private void closeAppendWriter() {
+        if (appendWriter == null)
+            return;
+        try {
+            appendWriter.close();
+        } catch (IOException e) {
+            // nothing more to do: the content is rewritten by close()
+        }
+        appendWriter = null;
+    }
+
+    private static class MemoryKey {
+        private final String source;
+        private final String target;
+        private final String text;
+
+        private MemoryKey(String source, String target, String text) {
+            this.source = source;
+            this.target = target;
+            this.text = text;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o)
+                return true;
+            if (!(o instanceof MemoryKey))
+                return false;
+            MemoryKey other = (MemoryKey) o;
+            return source.equals(other.source) && target.equals(other.target) && text.equals(other.text);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(source, target, text);
+        }
+    }
+
+    /**
+     * One line of the file
+     */
+    private static class MemoryEntry {
+        String source;
+        String target;
+        String text;
+        String translation;
+
+        private MemoryEntry() {
+        }
+
+        private MemoryEntry(MemoryKey memoryKey, String translation) {
+            this.source = memoryKey.source;
+            this.target = memoryKey.target;
+            this.text = memoryKey.text;
+            this.translation = translation;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package org.camunda.webapptranslation.tool.report;
+
+/* -------------------------------------------------------------------- */
+/*                                                                      */
+/* Report buffer                                                        */
+/*                                                                      */
+/* Keep all messages of one task, to send them later to the real       */
+/* report. Tasks running in parallel do not mix their messages: each    */
+/* buffer is flushed in the order the tasks were submitted.             */
+/* A buffer is used by one task, then by one thread at a time.          */
+/*                                                                      */
+/* -------------------------------------------------------------------- */
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ReportBuffer implements ReportInt {
+
+    private final List<Message> listMessages = new ArrayList<>();
+
+    public void severe(Class<?> header, String msg, Exception e) {
+        listMessages.add(new Message(true, header, msg, e));
+    }
+
+    public void severe(Class<?> header, String msg) {
+        listMessages.add(new Message(true, header, msg, null));
+    }
+
+    public void info(Class<?> header, String msg) {
+        listMessages.add(new Message(false, header, msg, null));
+    }
+
+    /**
+     * Send all messages to the report, in the order they were produced, then clear the buffer
+     *
+     * @param report report to send messages
+     */
+    public void flush(ReportInt report) {
+        for (Message message : listMessages) {
+            if (!message.severe)
+                report.info(message.header, message.msg);
+            else if (message.exception != null)
+                report.severe(message.header, message.msg, message.exception);
+            else
+                report.severe(message.header, message.msg);
+        }
+        listMessages.clear();
+    }
+
+    private static class Message {
+        private final boolean severe;
+        private final Class<?> header;
+        private final String msg;
+        private final Exception exception;
+
+        private Message(boolean severe, Class<?> header, String msg, Exception exception) {
+            this.severe = severe;
+            this.header = header;
+            this.msg = msg;
+            this.exception = exception;
+        }
+    }
+}
@@ -1,18 +1,21 @@
 package org.camunda.webapptranslation.tool.report;
 
 
+/**
+ * Report on the console. Methods are synchronized: a message is not mixed with another thread.
+ */
 public class ReportStdout implements ReportInt {
 
-    public void severe(Class<?> header, String msg, Exception e) {
+    public synchronized void severe(Class<?> header, String msg, Exception e) {
         System.err.println("ERROR: " + msg + " " + e.toString());
     }
 
-    public void severe(Class<?> header, String msg) {
+    public synchronized void severe(Class<?> header, String msg) {
         System.err.println("ERROR: " + msg);
     }
 
 
-    public void info(Class<?> header, String msg) {
+    public synchronized void info(Class<?> header, String msg) {
         System.out.println(msg);
 
     }
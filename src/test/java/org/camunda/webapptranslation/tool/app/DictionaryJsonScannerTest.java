@@ -0,0 +1,198 @@
+package org.camunda.webapptranslation.tool.app;
+
+import org.camunda.webapptranslation.tool.report.ReportInt;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DictionaryJsonScannerTest {
+
+    @Test
+    public void nestedObjectsAreFlattened() throws IOException {
+        Map<String, Object> keys = scan("{\"labels\": {\"ABORT\": \"Abort\", \"sub\": {\"KEY\": \"value\"}}, \"week\": {}, \"title\": \"Title\"}");
+        assertEquals(Arrays.asList("labels.ABORT", "labels.sub.KEY", "title"), new ArrayList<>(keys.keySet()));
+        assertEquals("Abort", keys.get("labels.ABORT"));
+        assertEquals("value", keys.get("labels.sub.KEY"));
+    }
+
+    @Test
+    public void escapesAreDecoded() throws IOException {
+        Map<String, Object> keys = scan("{\"k\\u00e9y\": \"a\\\"b\\\\c\\/d\\b\\f\\n\\r\\t\\u00E9\\u20ac\"}");
+        assertEquals("a\"b\\c/d\b\f\n\r\t\u00e9\u20ac", keys.get("k\u00e9y"));
+    }
+
+    @Test
+    public void utf8IsDecoded() throws IOException {
+        Map<String, Object> keys = scan("{\"cl\u00e9\": \"\u00e9t\u00e9 \u4e2d\u6587\"}");
+        assertEquals("\u00e9t\u00e9 \u4e2d\u6587", keys.get("cl\u00e9"));
+    }
+
+    @Test
+    public void invalidEscapeIsAParseError() {
+        assertThrows(IOException.class, () -> scan("{\"key\": \"a\\xb\"}"));
+        assertThrows(IOException.class, () -> scan("{\"key\": \"a\\uZZZZ\"}"));
+        assertThrows(IOException.class, () -> scan("{\"key\": \"a\\u12\"}"));
+        assertThrows(IOException.class, () -> scan("{\"key\": \"a\\u12"));
+        assertThrows(IOException.class, () -> scan("{\"k\\x\": \"value\"}"));
+        assertThrows(IOException.class, () -> scan("{\"key\": [\"a\\q\"]}"));
+    }
+
+    @Test
+    public void numbersAreRead() throws IOException {
+        Map<String, Object> keys = scan("{\"a\": 12, \"b\": -3, \"c\": 0, \"d\": 3.5, \"e\": 1e3, \"f\": -0.5E-2, \"g\": 1234567890123456789012, \"h\": [1, 2.5]}");
+        assertEquals(12L, keys.get("a"));
+        assertEquals(-3L, keys.get("b"));
+        assertEquals(0L, keys.get("c"));
+        assertEquals(3.5, keys.get("d"));
+        assertEquals(1000.0, keys.get("e"));
+        assertEquals(-0.005, keys.get("f"));
+        assertEquals(1.234567890123456789012e21, keys.get("g"));
+        assertEquals(Arrays.asList(1L, 2.5), keys.get("h"));
+    }
+
+    @Test
+    public void numberWithoutDigitIsAParseError() {
+        assertThrows(IOException.class, () -> scan("{\"a\": -}"));
+        assertThrows(IOException.class, () -> scan("{\"a\": -, \"b\": 1}"));
+        assertThrows(IOException.class, () -> scan("{\"a\": 1.}"));
+        assertThrows(IOException.class, () -> scan("{\"a\": 1e}"));
+        assertThrows(IOException.class, () -> scan("{\"a\": 1e+}"));
+        assertThrows(IOException.class, () -> scan("{\"a\": +1}"));
+        assertThrows(IOException.class, () -> scan("{\"a\": .5}"));
+        assertThrows(IOException.class, () -> scan("{\"a\": [-]}"));
+    }
+
+    @Test
+    public void literalsAndLists() throws IOException {
+        Map<String, Object> keys = scan("{\"t\": true, \"f\": false, \"n\": null, \"months\": [\"Jan\", \"Feb\"], \"objects\": [{\"a\": \"b\"}], \"empty\": []}");
+        assertEquals(Boolean.TRUE, keys.get("t"));
+        assertEquals(Boolean.FALSE, keys.get("f"));
+        assertTrue(keys.containsKey("n"));
+        assertNull(keys.get("n"));
+        assertEquals(Arrays.asList("Jan", "Feb"), keys.get("months"));
+        Map<String, Object> object = new LinkedHashMap<>();
+        object.put("a", "b");
+        assertEquals(List.of(object), keys.get("objects"));
+        assertEquals(List.of(), keys.get("empty"));
+    }
+
+    @Test
+    public void malformedJsonIsAParseError() {
+        assertThrows(IOException.class, () -> scan("{\"key\": \"value\""));
+        assertThrows(IOException.class, () -> scan("{\"key\" \"value\"}"));
+        assertThrows(IOException.class, () -> scan("{\"key\": \"value\" \"other\": 1}"));
+        assertThrows(IOException.class, () -> scan("{\"key\": tru}"));
+        assertThrows(IOException.class, () -> scan("{\"key\": }"));
+        assertThrows(IOException.class, () -> scan("{\"key\": \"unterminated}"));
+    }
+
+    @Test
+    public void emptyContentHasNoKey() throws IOException {
+        assertTrue(scan("").isEmpty());
+        assertTrue(scan(" \n\t ").isEmpty());
+        assertTrue(scan("{}").isEmpty());
+    }
+
+    @Test
+    public void topLevelWhichIsNotAnObjectIsAParseError() {
+        assertThrows(IOException.class, () -> scan("[\"a\"]"));
+        assertThrows(IOException.class, () -> scan("\"x\""));
+        assertThrows(IOException.class, () -> scan("12"));
+        assertThrows(IOException.class, () -> scan("null"));
+    }
+
+    @Test
+    public void contentAfterTheObjectIsAParseError() {
+        assertThrows(IOException.class, () -> scan("{\"a\": \"b\"} x"));
+        assertThrows(IOException.class, () -> scan("{\"a\": \"b\"}{\"c\": \"d\"}"));
+        assertThrows(IOException.class, () -> scan("{\"a\": \"b\"}}"));
+    }
+
+    @Test
+    public void whitespaceAfterTheObjectIsAccepted() throws IOException {
+        assertEquals("b", scan("{\"a\": \"b\"}\r\n  ").get("a"));
+    }
+
+    @Test
+    public void duplicateKeyKeepsTheLastValue() {
+        AppDictionary dictionary = read("{\"labels\": {\"A\": \"first\"}, \"labels.A\": \"second\", \"B\": 1, \"B\": 2}".getBytes(StandardCharsets.UTF_8));
+        assertEquals(2, dictionary.getDictionary().size());
+        assertEquals("second", dictionary.getDictionary().get("labels.A"));
+        assertEquals(2L, dictionary.getDictionary().get("B"));
+    }
+
+    @Test
+    public void byteOrderMarkIsSkipped() {
+        byte[] json = "{\"labels\": {\"A\": \"\u00e9\"}}".getBytes(StandardCharsets.UTF_8);
+        byte[] content = new byte[json.length + 3];
+        content[0] = (byte) 0xEF;
+        content[1] = (byte) 0xBB;
+        content[2] = (byte) 0xBF;
+        System.arraycopy(json, 0, content, 3, json.length);
+        AppDictionary dictionary = read(content);
+        assertEquals("\u00e9", dictionary.getDictionary().get("labels.A"));
+    }
+
+    @Test
+    public void parseErrorIsReported() {
+        List<String> errors = new ArrayList<>();
+        AppDictionary dictionary = new AppDictionary(new File("."), "fr");
+        assertFalse(dictionary.read(ByteBuffer.wrap("{\"a\": \"\\u00\"}".getBytes(StandardCharsets.UTF_8)), new ReportInt() {
+            @Override
+            public void severe(Class<?> header, String msg, Exception e) {
+                errors.add(msg);
+            }
+
+            @Override
+            public void severe(Class<?> header, String msg) {
+                errors.add(msg);
+            }
+
+            @Override
+            public void info(Class<?> header, String msg) {
+            }
+        }));
+        assertEquals(1, errors.size());
+    }
+
+    /**
+     * Scan the JSON, and materialize all values
+     */
+    private static Map<String, Object> scan(String json) throws IOException {
+        byte[] content = json.getBytes(StandardCharsets.UTF_8);
+        Map<String, Object> keys = new LinkedHashMap<>();
+        new DictionaryJsonScanner(content, 0, content.length).scan((key, value) ->
+                keys.put(key, value instanceof DictionaryValue ? ((DictionaryValue) value).materialize() : value));
+        return keys;
+    }
+
+    private static AppDictionary read(byte[] content) {
+        AppDictionary dictionary = new AppDictionary(new File("."), "fr");
+        assertTrue(dictionary.read(ByteBuffer.wrap(content), new ReportInt() {
+            @Override
+            public void severe(Class<?> header, String msg, Exception e) {
+                fail(msg, e);
+            }
+
+            @Override
+            public void severe(Class<?> header, String msg) {
+                fail(msg);
+            }
+
+            @Override
+            public void info(Class<?> header, String msg) {
+            }
+        }));
+        return dictionary;
+    }
+}
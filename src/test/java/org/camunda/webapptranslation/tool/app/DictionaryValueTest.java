@@ -0,0 +1,61 @@
+package org.camunda.webapptranslation.tool.app;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DictionaryValueTest {
+
+    @Test
+    public void typeIsKnownWithoutMaterialization() {
+        byte[] content = "\"hello\"".getBytes(StandardCharsets.UTF_8);
+        assertEquals(DictionaryValue.ValueType.STRING, DictionaryValue.getType(DictionaryValue.ofUtf8(content, 1, 5, false)));
+        assertEquals(DictionaryValue.ValueType.NUMBER, DictionaryValue.getType(DictionaryValue.ofLong(3)));
+        assertEquals(DictionaryValue.ValueType.NUMBER, DictionaryValue.getType(DictionaryValue.ofDouble(3.5)));
+        assertEquals(DictionaryValue.ValueType.LIST, DictionaryValue.getType(DictionaryValue.ofStringArray(new String[]{"a"})));
+    }
+
+    @Test
+    public void typeOfMaterializedValues() {
+        assertEquals(DictionaryValue.ValueType.NULL, DictionaryValue.getType(null));
+        assertEquals(DictionaryValue.ValueType.STRING, DictionaryValue.getType("a"));
+        assertEquals(DictionaryValue.ValueType.NUMBER, DictionaryValue.getType(3L));
+        assertEquals(DictionaryValue.ValueType.BOOLEAN, DictionaryValue.getType(Boolean.TRUE));
+        assertEquals(DictionaryValue.ValueType.LIST, DictionaryValue.getType(List.of("a")));
+        assertEquals(DictionaryValue.ValueType.OBJECT, DictionaryValue.getType(Map.of("a", "b")));
+    }
+
+    @Test
+    public void stringIsASliceOfTheContent() {
+        byte[] content = "{\"a\": \"\u00e9t\u00e9\"}".getBytes(StandardCharsets.UTF_8);
+        // "été" is 5 bytes in UTF-8, after {"a": "
+        assertEquals("\u00e9t\u00e9", DictionaryValue.ofUtf8(content, 7, 5, false).materialize());
+    }
+
+    @Test
+    public void escapesAreDecoded() {
+        byte[] content = "a\\\"b\\\\c\\/d\\n\\t\\u00e9\\u0041".getBytes(StandardCharsets.UTF_8);
+        assertEquals("a\"b\\c/d\n\t\u00e9A", DictionaryValue.decodeString(content, 0, content.length, true));
+        // without escape, the backslash is not interpreted
+        assertEquals("a\\\"b", DictionaryValue.decodeString(content, 0, 4, false));
+    }
+
+    @Test
+    public void numbersAreMaterialized() {
+        assertEquals(42L, DictionaryValue.ofLong(42).materialize());
+        assertEquals(-1.5, DictionaryValue.ofDouble(-1.5).materialize());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void listOfStringsIsImmutable() {
+        Object list = DictionaryValue.ofStringArray(new String[]{"Jan", "Feb"}).materialize();
+        assertEquals(Arrays.asList("Jan", "Feb"), list);
+        assertThrows(UnsupportedOperationException.class, () -> ((List<Object>) list).add("Mar"));
+    }
+}
@@ -0,0 +1,87 @@
+package org.camunda.webapptranslation.tool.generator;
+
+import org.camunda.webapptranslation.tool.app.AppDictionary;
+import org.camunda.webapptranslation.tool.operation.ProposalGoogleTranslate;
+import org.camunda.webapptranslation.tool.report.ReportBuffer;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Smoke check of the Google client against the FakeTranslateServer: the requests go through the real client and
+ * the pipeline, on localhost.
+ */
+public class FakeTranslateServerTest {
+
+    private static final int NB_SENTENCES = 250;
+
+    @Test
+    public void throttledRequestsAreRetried() {
+        // with this seed, the first attempt of a request is throttled
+        FakeTranslateServer server = startServer(50, 1);
+        try {
+            AppDictionary referenceDictionary = getReferenceDictionary();
+            List<String> listKeys = new ArrayList<>(referenceDictionary.getDictionary().keySet());
+            Map<String, String> propositions = translate(server, Integer.MAX_VALUE, listKeys, referenceDictionary);
+
+            assertTrue(server.getNbThrottled() > 0, "no request throttled: " + server.getStatistics());
+            for (String key : listKeys) {
+                String text = (String) referenceDictionary.getDictionary().get(key);
+                assertEquals(FakeTranslateServer.pseudoTranslate(text, "fr").replace("&#39;", "'"), propositions.get(key));
+            }
+            assertEquals(NB_SENTENCES, server.getNbTexts());
+        } finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    public void limitIsRespected() {
+        FakeTranslateServer server = startServer(0, 1);
+        try {
+            AppDictionary referenceDictionary = getReferenceDictionary();
+            List<String> listKeys = new ArrayList<>(referenceDictionary.getDictionary().keySet());
+            Map<String, String> propositions = translate(server, 10, listKeys, referenceDictionary);
+
+            assertEquals(10, propositions.values().stream().filter(proposition -> proposition != null).count());
+            // the other keys are not decided: the cache asks them again
+            assertEquals(NB_SENTENCES, propositions.size());
+            assertEquals(10, server.getNbTexts());
+        } finally {
+            server.stop();
+        }
+    }
+
+    private static FakeTranslateServer startServer(int throttleRatio, long seed) {
+        FakeTranslateServer server = new FakeTranslateServer(new TranslateServerParams()
+                .set(0, 0, TranslateServerParams.LATENCY.CONSTANT, 0, throttleRatio, 0, seed));
+        assertTrue(server.start(new ReportBuffer()));
+        return server;
+    }
+
+    private static Map<String, String> translate(FakeTranslateServer server, int limit, List<String> listKeys, AppDictionary referenceDictionary) {
+        ReportBuffer report = new ReportBuffer();
+        ProposalGoogleTranslate proposal = new ProposalGoogleTranslate("TEST", limit, null, 2, 10, server.getHost(), null);
+        assertTrue(proposal.begin(report));
+        try {
+            return proposal.calculatePropositions(listKeys, new AppDictionary(new File("."), "fr"), referenceDictionary, null, report);
+        } finally {
+            proposal.end(report);
+        }
+    }
+
+    /**
+     * Sentences are all different: each one is sent one time. 250 sentences are 3 requests.
+     */
+    private static AppDictionary getReferenceDictionary() {
+        AppDictionary referenceDictionary = new AppDictionary(new File("."), "en");
+        for (int i = 0; i < NB_SENTENCES; i++)
+            referenceDictionary.addKey("labels.KEY_" + i, "Sentence number " + i + ", don't translate it");
+        return referenceDictionary;
+    }
+}